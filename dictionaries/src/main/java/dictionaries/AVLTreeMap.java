@@ -16,7 +16,7 @@ import java.util.NoSuchElementException;
  * @param <V> The data type of the value.
  */
 
-public class AVLTreeMap<K extends Comparable<? super K>, V> extends AbstractIterableMap<K, V> {
+public class AVLTreeMap<K extends Comparable<? super K>, V> extends AbstractInstrumentedMap<K, V> {
     private AVLNode<K, V> overallRoot;              // The node that roots the tree.
     private int size;                               // The size of the tree.
 
@@ -28,6 +28,23 @@ public class AVLTreeMap<K extends Comparable<? super K>, V> extends AbstractIter
         size = 0;
     }
 
+    /**
+     * Builds an AVLTreeMap from the given keys, which must be in ascending order
+     * with no duplicates, and the values they map to. The middle key of every range
+     * becomes the root of its subtree, so the tree is balanced from the start and
+     * is built in linear time.
+     *
+     * @param keys the keys of the map, in ascending order.
+     * @param values the value of each key.
+     * @return a map with the given keys and values.
+     */
+    static <K extends Comparable<? super K>, V> AVLTreeMap<K, V> fromSorted(K[] keys, V[] values) {
+        AVLTreeMap<K, V> map = new AVLTreeMap<>();
+        map.overallRoot = map.build(keys, values, 0, keys.length - 1);
+        map.size = keys.length;
+        return map;
+    }
+
     /**
      * Returns the value to which the specified key is mapped,
      * or {@code null} if this map contains no mapping for the key.
@@ -167,6 +184,15 @@ public class AVLTreeMap<K extends Comparable<? super K>, V> extends AbstractIter
         return new AVLTreeMapIterator<>();
     }
 
+    /**
+     * Returns the height of the tree, or -1 if the tree is empty. Every node
+     * keeps its own height, so this takes constant time.
+     */
+    @Override
+    public int height() {
+        return getHeight(overallRoot);
+    }
+
     /**
      * Helper method that gets the node in tree that has the given key. Returns
      * the node that has the same given key or {@code null} if there is no
@@ -222,6 +248,29 @@ public class AVLTreeMap<K extends Comparable<? super K>, V> extends AbstractIter
         return balanceTree(current);
     }
 
+    /**
+     * Helper method which builds a balanced tree out of the given range of sorted
+     * keys and their values. Returns the node that roots the tree, or {@code null}
+     * if the range is empty.
+     *
+     * @param keys   The sorted keys.
+     * @param values The value of each key.
+     * @param low    The index of the first key of the range.
+     * @param high   The index of the last key of the range.
+     * @return the node that roots the tree.
+     */
+    private AVLNode<K, V> build(K[] keys, V[] values, int low, int high) {
+        if (low > high) {
+            return null;
+        }
+        int middle = (low + high) >>> 1;
+        AVLNode<K, V> node = new AVLNode<>(keys[middle], values[middle]);
+        node.left = build(keys, values, low, middle - 1);
+        node.right = build(keys, values, middle + 1, high);
+        updateHeight(node);
+        return node;
+    }
+
     /**
      * Helper method which balances the tree to follow the AVL invariant of a
      * valid BST and the height of the left subtree and right subtree can differ
@@ -259,6 +308,9 @@ public class AVLTreeMap<K extends Comparable<? super K>, V> extends AbstractIter
      * @return the node that roots the tree.
      */
     private AVLNode<K, V> rightRotation(AVLNode<K, V> node) {
+        if (statsCounter != null) {
+            statsCounter.recordRotation();
+        }
         AVLNode<K, V> subtreeToSave = node.left.right;
         node.left.right = node;
         node = node.left;
@@ -276,6 +328,9 @@ public class AVLTreeMap<K extends Comparable<? super K>, V> extends AbstractIter
      * @return
      */
     private AVLNode<K, V> leftRotation(AVLNode<K, V> node) {
+        if (statsCounter != null) {
+            statsCounter.recordRotation();
+        }
         AVLNode<K, V> subtreeToSave = node.right.left;
         node.right.left = node;
         node = node.right;
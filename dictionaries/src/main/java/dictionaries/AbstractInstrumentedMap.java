@@ -0,0 +1,115 @@
+package dictionaries;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.function.Function;
+
+/**
+ * An {@link AbstractIterableMap} that can record statistics about itself. It holds
+ * the {@link StatsCounter} of the map, which is {@code null} while stats are disabled,
+ * and builds the {@link MapStats} snapshots. Maps that have hash chains or a tree
+ * override {@link #chainLengthHistogram()} or {@link #height()} to report their shape.
+ *
+ * For more documentation, see {@link InstrumentedMap}.
+ * @param <K> The data type of the key.
+ * @param <V> The data type of the value.
+ */
+public abstract class AbstractInstrumentedMap<K, V> extends AbstractIterableMap<K, V> implements InstrumentedMap {
+    StatsCounter statsCounter;                      // Null unless stats are enabled.
+
+    /**
+     * Starts or stops recording statistics about this map.
+     *
+     * @param enabled true to start recording, false to stop and forget the counts.
+     */
+    @Override
+    public void setStatsEnabled(boolean enabled) {
+        if (!enabled) {
+            statsCounter = null;
+        } else if (statsCounter == null) {
+            statsCounter = new StatsCounter();
+        }
+    }
+
+    /**
+     * Returns true if this map is recording statistics, false otherwise.
+     */
+    @Override
+    public boolean isStatsEnabled() {
+        return statsCounter != null;
+    }
+
+    /**
+     * Returns a snapshot of the statistics recorded so far, along with the
+     * current shape of the map.
+     */
+    @Override
+    public MapStats stats() {
+        return counter().snapshot(size(), chainLengthHistogram(), height());
+    }
+
+    /**
+     * Returns a snapshot of the statistics recorded so far, without the shape
+     * of the map.
+     */
+    @Override
+    public MapStats counts() {
+        return counter().snapshot(size(), new long[0], -1);
+    }
+
+    /**
+     * Returns an empty histogram, since this map has no hash chains.
+     */
+    @Override
+    public long[] chainLengthHistogram() {
+        return new long[0];
+    }
+
+    /**
+     * Returns -1, since this map is not a tree.
+     */
+    @Override
+    public int height() {
+        return -1;
+    }
+
+    /**
+     * Returns the counter of this map, or an empty one if stats are disabled.
+     */
+    private StatsCounter counter() {
+        return statsCounter == null ? new StatsCounter() : statsCounter;
+    }
+
+    /**
+     * Returns the height of the binary tree with the given root, or -1 if the tree
+     * is empty. The tree is traversed one level at a time, so its depth doesn't matter.
+     *
+     * @param root the node that roots the tree, or {@code null}.
+     * @param left returns the left child of a node.
+     * @param right returns the right child of a node.
+     * @param <N> the data type of the nodes.
+     * @return the height of the tree.
+     */
+    static <N> int treeHeight(N root, Function<N, N> left, Function<N, N> right) {
+        int height = -1;
+        Queue<N> level = new ArrayDeque<>();
+        if (root != null) {
+            level.add(root);
+        }
+        while (!level.isEmpty()) {
+            height++;
+            for (int remaining = level.size(); remaining > 0; remaining--) {
+                N node = level.remove();
+                N leftChild = left.apply(node);
+                N rightChild = right.apply(node);
+                if (leftChild != null) {
+                    level.add(leftChild);
+                }
+                if (rightChild != null) {
+                    level.add(rightChild);
+                }
+            }
+        }
+        return height;
+    }
+}
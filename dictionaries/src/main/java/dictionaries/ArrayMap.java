@@ -155,6 +155,22 @@ public class ArrayMap<K extends Comparable<? super K>, V> extends AbstractIterab
         return this.get(key) != null;
     }
 
+    /**
+     * Returns the number of keys that {@link #get(Object)} compares the given key
+     * with before finding it, or the size of the map if the key is not in it.
+     *
+     * @param key the key to look for.
+     * @return the number of keys compared while looking for the given key.
+     */
+    int probeLength(Object key) {
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(entries[i].getKey(), key)) {
+                return i + 1;
+            }
+        }
+        return size;
+    }
+
     /**
      * Returns the number of key-value mappings in this map.
      *
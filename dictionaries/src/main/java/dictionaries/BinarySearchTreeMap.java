@@ -11,7 +11,7 @@ import java.util.*;
  * @param <K> The data type of the key.
  * @param <V> The data type of the value.
  */
-public class BinarySearchTreeMap<K extends Comparable<? super K>, V> extends AbstractIterableMap<K, V> {
+public class BinarySearchTreeMap<K extends Comparable<? super K>, V> extends AbstractInstrumentedMap<K, V> {
     private TreeNode<K, V> overallRoot;         // The node that roots the tree.
     private int size;                           // The size of the tree.
 
@@ -156,6 +156,14 @@ public class BinarySearchTreeMap<K extends Comparable<? super K>, V> extends Abs
         return new BinarySearchTreeMapIterator<>();
     }
 
+    /**
+     * Returns the height of the tree, or -1 if the tree is empty. Visits every node.
+     */
+    @Override
+    public int height() {
+        return treeHeight(overallRoot, node -> node.left, node -> node.right);
+    }
+
     /**
      * Helper method that gets the node in tree that has the given key. Returns
      * the node that has the same given key or {@code null} if there is no
@@ -1,6 +1,5 @@
 package dictionaries;
 
-import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -14,7 +13,7 @@ import java.util.NoSuchElementException;
  * @param <K> The data type of the key.
  * @param <V> The data type of the value.
  */
-public class ChainedHashMap<K extends Comparable<? super K>, V> extends AbstractIterableMap<K, V> {
+public class ChainedHashMap<K extends Comparable<? super K>, V> extends AbstractInstrumentedMap<K, V> {
     private static final double DEFAULT_RESIZING_LOAD_FACTOR_THRESHOLD = 1;
     private static final int DEFAULT_INITIAL_CHAIN_COUNT = 10;
     private static final int DEFAULT_INITIAL_CHAIN_CAPACITY = 10;
@@ -59,6 +58,9 @@ public class ChainedHashMap<K extends Comparable<? super K>, V> extends Abstract
             return null;
         } else {
             int index = getIndex(key);
+            if (statsCounter != null) {
+                statsCounter.recordGet(chains[index] == null ? 0 : ((ArrayMap<K, V>) chains[index]).probeLength(key));
+            }
             if (chains[index] == null || !chains[index].containsKey(key)) {
                 return null;
             } else {
@@ -85,7 +87,7 @@ public class ChainedHashMap<K extends Comparable<? super K>, V> extends Abstract
      */
     @Override
     public V put(K key, V value) {
-        if ((double) totalBuckets / chains.length == loadingFactor) {
+        if ((double) totalBuckets / chains.length >= loadingFactor) {
             resize();
         }
         int index = getIndex(key);
@@ -143,6 +145,26 @@ public class ChainedHashMap<K extends Comparable<? super K>, V> extends Abstract
         chains = new AbstractIterableMap[chains.length];
     }
 
+    /**
+     * Returns {@code true} if this map contains a mapping for the specified
+     * key.  More formally, returns {@code true} if and only if
+     * this map contains a mapping for a key {@code k} such that
+     * {@code Objects.equals(key, k)}.  (There can be
+     * at most one such mapping.)
+     *
+     * @param key key whose presence in this map is to be tested
+     * @return {@code true} if this map contains a mapping for the specified
+     * key
+     */
+    @Override
+    public boolean containsKey(Object key) {
+        if (key == null) {
+            return false;
+        }
+        int index = getIndex(key);
+        return chains[index] != null && chains[index].containsKey(key);
+    }
+
     /**
      * Returns the number of key-value mappings in this map.
      *
@@ -163,10 +185,45 @@ public class ChainedHashMap<K extends Comparable<? super K>, V> extends Abstract
     }
 
     /**
-     * Resizes the hash table with doubled the capacity.
+     * Returns the number of chains of each length. Visits every chain.
+     */
+    @Override
+    public long[] chainLengthHistogram() {
+        int longestChain = 0;
+        for (AbstractIterableMap<K, V> chain : chains) {
+            if (chain != null) {
+                longestChain = Math.max(longestChain, chain.size());
+            }
+        }
+        long[] chainLengthHistogram = new long[longestChain + 1];
+        for (AbstractIterableMap<K, V> chain : chains) {
+            chainLengthHistogram[chain == null ? 0 : chain.size()]++;
+        }
+        return chainLengthHistogram;
+    }
+
+    /**
+     * Resizes the hash table with doubled the capacity. Every entry is hashed again
+     * since its location depends on the number of chains.
      */
     private void resize() {
-        chains = Arrays.copyOf(chains, chains.length * 2);
+        long startTime = statsCounter != null ? System.nanoTime() : 0;
+        AbstractIterableMap<K, V>[] oldChains = chains;
+        chains = new AbstractIterableMap[oldChains.length * 2];
+        for (AbstractIterableMap<K, V> chain : oldChains) {
+            if (chain != null) {
+                for (Map.Entry<K, V> entry : chain) {
+                    int index = getIndex(entry.getKey());
+                    if (chains[index] == null) {
+                        chains[index] = new ArrayMap<>(arrayMapSize);
+                    }
+                    chains[index].put(entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        if (statsCounter != null) {
+            statsCounter.recordResize(System.nanoTime() - startTime);
+        }
     }
 
     /**
@@ -203,21 +260,19 @@ public class ChainedHashMap<K extends Comparable<? super K>, V> extends Abstract
 
         @Override
         public boolean hasNext() {
-            if (iterator == null) {
-                return false;
+            if (iterator != null && !iterator.hasNext()) {     // Current chain is done. Move on to the next one.
+                iterator = null;
+                trackIndex++;
+                arrayMap();
             }
-            return iterator.hasNext();
+            return iterator != null;
         }
 
         @Override
         public Entry<K, V> next() {
-            if (iterator == null && trackIndex == chains.length) {
+            if (!hasNext()) {
                 throw new NoSuchElementException();
             }
-            if (!iterator.hasNext()) {
-                trackIndex++;
-                arrayMap();
-            }
             return iterator.next();
         }
 
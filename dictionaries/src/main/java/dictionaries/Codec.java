@@ -0,0 +1,25 @@
+package dictionaries;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Interface Codec turns keys or values into bytes for a {@link MapSnapshot} and
+ * back. Common codecs can be found in {@link Codecs}.
+ *
+ * @param <T> The data type that is encoded.
+ */
+public interface Codec<T> {
+
+    /**
+     * Writes the given value to the given output.
+     */
+    void write(T value, DataOutput out) throws IOException;
+
+    /**
+     * Reads a value starting at the position of the given buffer and leaves the
+     * position right after it.
+     */
+    T read(ByteBuffer buffer);
+}
@@ -0,0 +1,83 @@
+package dictionaries;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Class Codecs holds the {@link Codec}s of the common key and value types.
+ */
+public class Codecs {
+
+    /**
+     * Writes an Integer as 4 bytes.
+     */
+    public static final Codec<Integer> INTEGER = new Codec<>() {
+        @Override
+        public void write(Integer value, DataOutput out) throws IOException {
+            out.writeInt(value);
+        }
+
+        @Override
+        public Integer read(ByteBuffer buffer) {
+            return buffer.getInt();
+        }
+    };
+
+    /**
+     * Writes a Long as 8 bytes.
+     */
+    public static final Codec<Long> LONG = new Codec<>() {
+        @Override
+        public void write(Long value, DataOutput out) throws IOException {
+            out.writeLong(value);
+        }
+
+        @Override
+        public Long read(ByteBuffer buffer) {
+            return buffer.getLong();
+        }
+    };
+
+    /**
+     * Writes a Double as 8 bytes.
+     */
+    public static final Codec<Double> DOUBLE = new Codec<>() {
+        @Override
+        public void write(Double value, DataOutput out) throws IOException {
+            out.writeDouble(value);
+        }
+
+        @Override
+        public Double read(ByteBuffer buffer) {
+            return buffer.getDouble();
+        }
+    };
+
+    /**
+     * Writes a String as its length in bytes followed by its UTF-8 bytes.
+     */
+    public static final Codec<String> STRING = new Codec<>() {
+        @Override
+        public void write(String value, DataOutput out) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        @Override
+        public String read(ByteBuffer buffer) {
+            int length = buffer.getInt();
+            if (length < 0 || length > buffer.remaining()) {
+                throw new IllegalArgumentException("Invalid string length: " + length);
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    };
+
+    private Codecs() {
+    }
+}
@@ -0,0 +1,49 @@
+package dictionaries;
+
+/**
+ * Interface InstrumentedMap is implemented by the maps that can record statistics
+ * about how well their structure is working, such as the length of hash chains or
+ * the height of trees. Stats are disabled by default and cost close to nothing
+ * until they are enabled.
+ *
+ * The recorded counts are read in constant time with {@link #counts()}. The shape
+ * of the map is computed on demand by {@link #chainLengthHistogram()} and
+ * {@link #height()}, which visit every chain or every node.
+ */
+public interface InstrumentedMap {
+
+    /**
+     * Starts or stops recording statistics. Enabling stats that are already enabled
+     * keeps the counts recorded so far; disabling them forgets every count.
+     */
+    void setStatsEnabled(boolean enabled);
+
+    /**
+     * Returns true if the map is recording statistics, false otherwise.
+     */
+    boolean isStatsEnabled();
+
+    /**
+     * Returns a snapshot of the statistics recorded so far along with the current
+     * shape of the map. The counts are all 0 if stats are disabled.
+     */
+    MapStats stats();
+
+    /**
+     * Returns a snapshot of the statistics recorded so far, in constant time. The
+     * chain length histogram of the snapshot is empty and its height is -1.
+     */
+    MapStats counts();
+
+    /**
+     * Returns the number of hash chains of each length, or an empty array if the
+     * map has no chains. See {@link MapStats#getChainLengthHistogram()}.
+     */
+    long[] chainLengthHistogram();
+
+    /**
+     * Returns the height of the tree, or -1 if the map is not a tree or is empty.
+     * See {@link MapStats#getHeight()}.
+     */
+    int height();
+}
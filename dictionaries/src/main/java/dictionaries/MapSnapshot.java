@@ -0,0 +1,286 @@
+package dictionaries;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Class MapSnapshot saves the maps in this package to a compact binary file and
+ * loads them back. Keys and values are turned into bytes by the given {@link Codec}s.
+ *
+ * A snapshot is laid out as follows, with every number in big-endian order:
+ *
+ * header:  magic (int), version (int)
+ * entries: key and value of every entry, as written by the codecs
+ * offsets: the position of every entry in the file (long each)
+ * footer:  flags (int), entry count (int), position of the offsets (long), magic (int)
+ *
+ * Writing streams the entries straight from the iterator of the map into a temporary
+ * file, which then atomically replaces the target, so a failed write never leaves a
+ * truncated snapshot behind. If the keys come out in ascending order, as they do from
+ * the tree maps, the snapshot is marked as sorted. Loading maps the file into memory
+ * with {@link FileChannel#map}; sorted snapshots are loaded into an {@link AVLTreeMap}
+ * in linear time, and can also be read in place through a {@link MappedSortedMap}
+ * without building any structure at all. The footer and the offsets are checked
+ * against the size of the file before anything is decoded, and a snapshot that turns
+ * out to be corrupt makes loading fail with an IOException.
+ *
+ * A single mapped buffer can't hold more than 2 GB, so bigger snapshots are mapped in
+ * several segments that never cut an entry in two; see {@link MappedSnapshot}. Only a
+ * single entry is limited to 2 GB.
+ */
+public class MapSnapshot {
+    public static final int MAGIC = 0x44534e50;     // "DSNP"
+    public static final int VERSION = 2;
+    static final int HEADER_SIZE = 8;
+    static final int FOOTER_SIZE = 20;
+    static final int OFFSET_SIZE = 8;
+    static final int SORTED_FLAG = 1;
+    static final long MAX_SEGMENT_SIZE = Integer.MAX_VALUE;     // The most a mapped buffer can hold.
+
+    private MapSnapshot() {
+    }
+
+    /**
+     * Writes every entry of the given map to the file at the given path, replacing it
+     * if it exists. The snapshot is written to a temporary file in the same directory
+     * first, so the file at the given path is either the old one or the complete new one.
+     *
+     * @param map the map to save.
+     * @param path the file to write.
+     * @param keyCodec writes the keys.
+     * @param valueCodec writes the values.
+     * @throws IOException if the file can't be written or an entry is bigger than 2 GB.
+     */
+    public static <K extends Comparable<? super K>, V> void write(Map<K, V> map, Path path, Codec<? super K> keyCodec,
+                                                                Codec<? super V> valueCodec) throws IOException {
+        Path directory = path.toAbsolutePath().getParent();
+        Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+        try {
+            writeEntries(map, temporary, keyCodec, valueCodec);
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Writes every entry of the given map to the file at the given path.
+     */
+    private static <K extends Comparable<? super K>, V> void writeEntries(Map<K, V> map, Path path,
+                                                                        Codec<? super K> keyCodec,
+                                                                        Codec<? super V> valueCodec)
+            throws IOException {
+        long[] offsets = new long[map.size()];
+        int count = 0;
+        boolean sorted = true;
+        K previousKey = null;
+        CountingOutputStream counter = new CountingOutputStream(new BufferedOutputStream(
+                Files.newOutputStream(path), 1 << 16));
+        try (DataOutputStream out = new DataOutputStream(counter)) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            for (Map.Entry<K, V> entry : map.entrySet()) {
+                if (count == offsets.length) {
+                    throw new IllegalStateException("The map was modified while writing its snapshot");
+                }
+                offsets[count++] = counter.count;
+                keyCodec.write(entry.getKey(), out);
+                valueCodec.write(entry.getValue(), out);
+                if (counter.count - offsets[count - 1] > MAX_SEGMENT_SIZE) {
+                    throw new IOException("Snapshot entry " + (count - 1) + " is bigger than 2 GB");
+                }
+                if (previousKey != null && previousKey.compareTo(entry.getKey()) >= 0) {
+                    sorted = false;
+                }
+                previousKey = entry.getKey();
+            }
+            long offsetsPosition = counter.count;
+            for (int i = 0; i < count; i++) {
+                out.writeLong(offsets[i]);
+            }
+            out.writeInt(sorted ? SORTED_FLAG : 0);
+            out.writeInt(count);
+            out.writeLong(offsetsPosition);
+            out.writeInt(MAGIC);
+        }
+    }
+
+    /**
+     * Loads the snapshot at the given path into a new {@link AVLTreeMap}. A sorted
+     * snapshot is built into a balanced tree in linear time, without any rotation,
+     * once every key has been checked to be greater than the one before it.
+     *
+     * @param path the snapshot to load.
+     * @param keyCodec reads the keys.
+     * @param valueCodec reads the values.
+     * @throws IOException if the file can't be read or is not a valid snapshot.
+     */
+    public static <K extends Comparable<? super K>, V> AVLTreeMap<K, V> readAVLTreeMap(
+            Path path, Codec<? extends K> keyCodec, Codec<? extends V> valueCodec) throws IOException {
+        return readAVLTreeMap(path, keyCodec, valueCodec, MAX_SEGMENT_SIZE);
+    }
+
+    /**
+     * Loads the snapshot at the given path into a new {@link AVLTreeMap}, mapping it
+     * in segments of at most the given size.
+     */
+    static <K extends Comparable<? super K>, V> AVLTreeMap<K, V> readAVLTreeMap(
+            Path path, Codec<? extends K> keyCodec, Codec<? extends V> valueCodec, long maxSegmentSize)
+            throws IOException {
+        MappedSnapshot snapshot = MappedSnapshot.open(path, maxSegmentSize);
+        if (!snapshot.isSorted()) {
+            return read(snapshot, keyCodec, valueCodec, new AVLTreeMap<>());
+        }
+        K[] keys = (K[]) new Comparable[snapshot.count()];
+        V[] values = (V[]) new Object[snapshot.count()];
+        snapshot.forEach(keyCodec, valueCodec, (i, key, value) -> {
+            if (i > 0 && keys[i - 1].compareTo(key) >= 0) {
+                throw snapshot.unsorted(i);
+            }
+            keys[i] = key;
+            values[i] = value;
+        });
+        return AVLTreeMap.fromSorted(keys, values);
+    }
+
+    /**
+     * Loads the snapshot at the given path into a new {@link ChainedHashMap} that
+     * already has one chain per entry, so it never resizes while loading.
+     *
+     * @param path the snapshot to load.
+     * @param keyCodec reads the keys.
+     * @param valueCodec reads the values.
+     * @throws IOException if the file can't be read or is not a valid snapshot.
+     */
+    public static <K extends Comparable<? super K>, V> ChainedHashMap<K, V> readChainedHashMap(
+            Path path, Codec<? extends K> keyCodec, Codec<? extends V> valueCodec) throws IOException {
+        return readChainedHashMap(path, keyCodec, valueCodec, MAX_SEGMENT_SIZE);
+    }
+
+    /**
+     * Loads the snapshot at the given path into a new {@link ChainedHashMap}, mapping
+     * it in segments of at most the given size.
+     */
+    static <K extends Comparable<? super K>, V> ChainedHashMap<K, V> readChainedHashMap(
+            Path path, Codec<? extends K> keyCodec, Codec<? extends V> valueCodec, long maxSegmentSize)
+            throws IOException {
+        MappedSnapshot snapshot = MappedSnapshot.open(path, maxSegmentSize);
+        ChainedHashMap<K, V> result = new ChainedHashMap<>(1, Math.max(snapshot.count() + 1, 10), 2);
+        return read(snapshot, keyCodec, valueCodec, result);
+    }
+
+    /**
+     * Loads the snapshot at the given path into the map given by the supplier, one
+     * entry at a time.
+     *
+     * @param path the snapshot to load.
+     * @param keyCodec reads the keys.
+     * @param valueCodec reads the values.
+     * @param mapSupplier creates the map to load the entries into.
+     * @throws IOException if the file can't be read or is not a valid snapshot.
+     */
+    public static <K, V, M extends Map<K, V>> M read(Path path, Codec<? extends K> keyCodec,
+                                                   Codec<? extends V> valueCodec, Supplier<M> mapSupplier)
+            throws IOException {
+        return read(MappedSnapshot.open(path, MAX_SEGMENT_SIZE), keyCodec, valueCodec, mapSupplier.get());
+    }
+
+    /**
+     * Opens the sorted snapshot at the given path as a read-only map that looks up
+     * keys directly in the mapped file.
+     *
+     * @param path the snapshot to open.
+     * @param keyCodec reads the keys.
+     * @param valueCodec reads the values.
+     * @throws IOException if the file can't be read, is not a valid snapshot or
+     *         is not sorted. Every offset is checked and every key is decoded once to
+     *         check that the keys ascend, but the values are only decoded once they
+     *         are looked up.
+     */
+    public static <K extends Comparable<? super K>, V> MappedSortedMap<K, V> openSorted(
+            Path path, Codec<? extends K> keyCodec, Codec<? extends V> valueCodec) throws IOException {
+        return openSorted(path, keyCodec, valueCodec, MAX_SEGMENT_SIZE);
+    }
+
+    /**
+     * Opens the sorted snapshot at the given path as a read-only map, mapping it in
+     * segments of at most the given size.
+     */
+    static <K extends Comparable<? super K>, V> MappedSortedMap<K, V> openSorted(
+            Path path, Codec<? extends K> keyCodec, Codec<? extends V> valueCodec, long maxSegmentSize)
+            throws IOException {
+        MappedSnapshot snapshot = MappedSnapshot.open(path, maxSegmentSize);
+        if (!snapshot.isSorted()) {
+            throw new IOException("Snapshot is not sorted: " + path);
+        }
+        checkSorted(snapshot, keyCodec);
+        return new MappedSortedMap<>(snapshot, keyCodec, valueCodec);
+    }
+
+    /**
+     * Decodes every key of the given snapshot and checks that they ascend, since the
+     * sorted flag of a corrupt snapshot, or keys decoded by a codec whose type orders
+     * differently from the one they were written with, can't be trusted.
+     */
+    private static <K extends Comparable<? super K>> void checkSorted(MappedSnapshot snapshot,
+                                                                    Codec<? extends K> keyCodec)
+            throws IOException {
+        ByteBuffer[] readers = snapshot.readers();
+        K previousKey = null;
+        for (int i = 0; i < snapshot.count(); i++) {
+            K key;
+            try {
+                key = keyCodec.read(snapshot.seek(readers, i));
+            } catch (RuntimeException e) {
+                throw snapshot.corrupt(i, e);
+            }
+            if (previousKey != null && previousKey.compareTo(key) >= 0) {
+                throw snapshot.unsorted(i);
+            }
+            previousKey = key;
+        }
+    }
+
+    /**
+     * Reads every entry of the given snapshot into the given map.
+     */
+    private static <K, V, M extends Map<K, V>> M read(MappedSnapshot snapshot, Codec<? extends K> keyCodec,
+                                                     Codec<? extends V> valueCodec, M result) throws IOException {
+        snapshot.forEach(keyCodec, valueCodec, (i, key, value) -> result.put(key, value));
+        return result;
+    }
+
+    /**
+     * Class CountingOutputStream counts the bytes written through it, past the 2 GB
+     * at which {@link DataOutputStream#size()} stops counting.
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package dictionaries;
+
+import java.util.Arrays;
+
+/**
+ * Class MapStats is an immutable snapshot of the statistics of an
+ * {@link InstrumentedMap}. Statistics that don't apply to a kind of map are 0,
+ * the chain length histogram is empty for trees and the height is -1 for hash maps.
+ */
+public class MapStats {
+    private final int size;
+    private final long getCount;
+    private final double averageGetComparisons;
+    private final int maxGetComparisons;
+    private final long[] chainLengthHistogram;
+    private final long resizeCount;
+    private final long resizeNanos;
+    private final long maxResizeNanos;
+    private final int height;
+    private final long rotationCount;
+
+    MapStats(int size, long getCount, double averageGetComparisons, int maxGetComparisons,
+             long[] chainLengthHistogram, long resizeCount, long resizeNanos, long maxResizeNanos,
+             int height, long rotationCount) {
+        this.size = size;
+        this.getCount = getCount;
+        this.averageGetComparisons = averageGetComparisons;
+        this.maxGetComparisons = maxGetComparisons;
+        this.chainLengthHistogram = chainLengthHistogram;
+        this.resizeCount = resizeCount;
+        this.resizeNanos = resizeNanos;
+        this.maxResizeNanos = maxResizeNanos;
+        this.height = height;
+        this.rotationCount = rotationCount;
+    }
+
+    /**
+     * Returns the number of entries in the map when the snapshot was taken.
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of calls to get.
+     */
+    public long getGetCount() {
+        return getCount;
+    }
+
+    /**
+     * Returns the average number of keys compared by a call to get.
+     */
+    public double getAverageGetComparisons() {
+        return averageGetComparisons;
+    }
+
+    /**
+     * Returns the most keys compared by a single call to get.
+     */
+    public int getMaxGetComparisons() {
+        return maxGetComparisons;
+    }
+
+    /**
+     * Returns the number of hash chains of each length: the element at index i is
+     * the number of chains that hold i entries.
+     */
+    public long[] getChainLengthHistogram() {
+        return Arrays.copyOf(chainLengthHistogram, chainLengthHistogram.length);
+    }
+
+    /**
+     * Returns the number of times the map resized.
+     */
+    public long getResizeCount() {
+        return resizeCount;
+    }
+
+    /**
+     * Returns the total time spent resizing, in nanoseconds.
+     */
+    public long getResizeNanos() {
+        return resizeNanos;
+    }
+
+    /**
+     * Returns the longest time spent in a single resize, in nanoseconds.
+     */
+    public long getMaxResizeNanos() {
+        return maxResizeNanos;
+    }
+
+    /**
+     * Returns the height of the tree, where a tree with a single node has height 0.
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns the number of rotations done to keep the tree balanced.
+     */
+    public long getRotationCount() {
+        return rotationCount;
+    }
+
+    @Override
+    public String toString() {
+        return "MapStats{size=" + size
+                + ", getCount=" + getCount
+                + ", averageGetComparisons=" + averageGetComparisons
+                + ", maxGetComparisons=" + maxGetComparisons
+                + ", chainLengthHistogram=" + Arrays.toString(chainLengthHistogram)
+                + ", resizeCount=" + resizeCount
+                + ", resizeNanos=" + resizeNanos
+                + ", maxResizeNanos=" + maxResizeNanos
+                + ", height=" + height
+                + ", rotationCount=" + rotationCount + "}";
+    }
+}
@@ -0,0 +1,34 @@
+package dictionaries;
+
+/**
+ * Interface MapStatsMXBean exposes the statistics of an {@link InstrumentedMap}
+ * through JMX. Every attribute is read from the map when it is polled.
+ * Register a map with {@link MapStatsRegistry#register(String, InstrumentedMap)}.
+ *
+ * For the meaning of each attribute, see {@link MapStats}.
+ */
+public interface MapStatsMXBean {
+    int getSize();
+
+    long getGetCount();
+
+    double getAverageGetComparisons();
+
+    int getMaxGetComparisons();
+
+    long[] getChainLengthHistogram();
+
+    long getResizeCount();
+
+    long getResizeNanos();
+
+    long getMaxResizeNanos();
+
+    int getHeight();
+
+    long getRotationCount();
+
+    boolean isStatsEnabled();
+
+    void setStatsEnabled(boolean enabled);
+}
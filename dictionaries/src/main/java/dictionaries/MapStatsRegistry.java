@@ -0,0 +1,119 @@
+package dictionaries;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+/**
+ * Class MapStatsRegistry registers {@link InstrumentedMap}s with the platform
+ * MBean server so their statistics can be watched with any JMX console.
+ *
+ * The maps are not thread safe, so the values read through JMX while the map is
+ * being modified are only approximate. Every attribute is read in constant time,
+ * except the chain length histogram and the height, which visit the whole map.
+ */
+public class MapStatsRegistry {
+
+    private MapStatsRegistry() {
+    }
+
+    /**
+     * Enables the stats of the given map and registers it under
+     * {@code dictionaries:type=MapStats,name=<name>}.
+     *
+     * @param name the name the map is registered under.
+     * @param map the map to register.
+     * @return the name of the registered MBean.
+     * @throws JMException if the MBean could not be registered, for example if
+     *         the name is already taken.
+     */
+    public static ObjectName register(String name, InstrumentedMap map) throws JMException {
+        ObjectName objectName = new ObjectName("dictionaries:type=MapStats,name=" + ObjectName.quote(name));
+        map.setStatsEnabled(true);
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        server.registerMBean(new MapStatsBean(map), objectName);
+        return objectName;
+    }
+
+    /**
+     * Unregisters the MBean with the given name.
+     *
+     * @param objectName the name returned by {@link #register(String, InstrumentedMap)}.
+     * @throws JMException if there is no MBean with the given name.
+     */
+    public static void unregister(ObjectName objectName) throws JMException {
+        ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+    }
+
+    /**
+     * Class MapStatsBean implements the MXBean of a single map.
+     */
+    private static class MapStatsBean implements MapStatsMXBean {
+        private final InstrumentedMap map;
+
+        MapStatsBean(InstrumentedMap map) {
+            this.map = map;
+        }
+
+        @Override
+        public int getSize() {
+            return map.counts().getSize();
+        }
+
+        @Override
+        public long getGetCount() {
+            return map.counts().getGetCount();
+        }
+
+        @Override
+        public double getAverageGetComparisons() {
+            return map.counts().getAverageGetComparisons();
+        }
+
+        @Override
+        public int getMaxGetComparisons() {
+            return map.counts().getMaxGetComparisons();
+        }
+
+        @Override
+        public long[] getChainLengthHistogram() {
+            return map.chainLengthHistogram();
+        }
+
+        @Override
+        public long getResizeCount() {
+            return map.counts().getResizeCount();
+        }
+
+        @Override
+        public long getResizeNanos() {
+            return map.counts().getResizeNanos();
+        }
+
+        @Override
+        public long getMaxResizeNanos() {
+            return map.counts().getMaxResizeNanos();
+        }
+
+        @Override
+        public int getHeight() {
+            return map.height();
+        }
+
+        @Override
+        public long getRotationCount() {
+            return map.counts().getRotationCount();
+        }
+
+        @Override
+        public boolean isStatsEnabled() {
+            return map.isStatsEnabled();
+        }
+
+        @Override
+        public void setStatsEnabled(boolean enabled) {
+            map.setStatsEnabled(enabled);
+        }
+    }
+}
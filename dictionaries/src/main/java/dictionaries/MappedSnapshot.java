@@ -0,0 +1,237 @@
+package dictionaries;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Class MappedSnapshot is a {@link MapSnapshot} mapped into memory, whose footer and
+ * offsets table have been checked against the size of the file.
+ *
+ * A mapped buffer can't hold more than 2 GB, so the file is mapped in segments of at
+ * most that size. The offsets table is cut between two offsets and the entries are cut
+ * between two entries, so every offset, key and value is read from a single buffer.
+ * The segment of an entry is found with a binary search over the first entry of every
+ * segment, which takes a step or two since a snapshot has few segments. Only a single
+ * entry bigger than a segment can't be mapped.
+ */
+class MappedSnapshot {
+    private final Path path;
+    private final boolean sorted;
+    private final int count;                        // The number of entries.
+    private final long offsetsPosition;             // Where the offsets table starts, right after the entries.
+    private final ByteBuffer[] offsets;             // The offsets table, offsetsPerSegment offsets per segment.
+    private final int offsetsPerSegment;
+    private final ByteBuffer[] segments;            // The entries.
+    private final long[] segmentPositions;          // Where every segment starts in the file.
+    private final int[] firstEntries;               // The index of the first entry of every segment.
+
+    /**
+     * Maps the snapshot at the given path into memory, in segments of at most the
+     * given size, and checks its footer and every offset.
+     *
+     * @param path the snapshot to map.
+     * @param maxSegmentSize the most bytes a segment can hold, at most 2 GB.
+     * @throws IOException if the file can't be read or is not a valid snapshot.
+     */
+    static MappedSnapshot open(Path path, long maxSegmentSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return new MappedSnapshot(path, channel, maxSegmentSize);
+        }
+    }
+
+    private MappedSnapshot(Path path, FileChannel channel, long maxSegmentSize) throws IOException {
+        long size = channel.size();
+        if (size < MapSnapshot.HEADER_SIZE + MapSnapshot.FOOTER_SIZE) {
+            throw new IOException("Not a snapshot: " + path);
+        }
+        long footerPosition = size - MapSnapshot.FOOTER_SIZE;
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, MapSnapshot.HEADER_SIZE);
+        ByteBuffer footer = channel.map(FileChannel.MapMode.READ_ONLY, footerPosition, MapSnapshot.FOOTER_SIZE);
+        if (header.getInt(0) != MapSnapshot.MAGIC
+                || footer.getInt(MapSnapshot.FOOTER_SIZE - 4) != MapSnapshot.MAGIC) {
+            throw new IOException("Not a snapshot: " + path);
+        }
+        int version = header.getInt(4);
+        if (version != MapSnapshot.VERSION) {
+            throw new IOException("Unsupported snapshot version " + version + ": " + path);
+        }
+        this.path = path;
+        this.sorted = (footer.getInt(0) & MapSnapshot.SORTED_FLAG) != 0;
+        this.count = footer.getInt(4);
+        this.offsetsPosition = footer.getLong(8);
+        if (count < 0 || offsetsPosition < MapSnapshot.HEADER_SIZE
+                || offsetsPosition + (long) MapSnapshot.OFFSET_SIZE * count != footerPosition
+                || (count == 0) != (offsetsPosition == MapSnapshot.HEADER_SIZE)) {
+            throw new IOException("Corrupt snapshot, the footer does not match the file size: " + path);
+        }
+        this.offsetsPerSegment = (int) (maxSegmentSize / MapSnapshot.OFFSET_SIZE);
+        this.offsets = new ByteBuffer[(int) ((count + (long) offsetsPerSegment - 1) / offsetsPerSegment)];
+        for (int i = 0; i < offsets.length; i++) {
+            long first = (long) i * offsetsPerSegment;
+            long length = Math.min(offsetsPerSegment, count - first) * MapSnapshot.OFFSET_SIZE;
+            offsets[i] = channel.map(FileChannel.MapMode.READ_ONLY,
+                    offsetsPosition + first * MapSnapshot.OFFSET_SIZE, length);
+        }
+        this.firstEntries = cutIntoSegments(maxSegmentSize);
+        this.segmentPositions = new long[firstEntries.length];
+        this.segments = new ByteBuffer[firstEntries.length];
+        for (int s = 0; s < firstEntries.length; s++) {
+            segmentPositions[s] = offset(firstEntries[s]);
+        }
+        for (int s = 0; s < firstEntries.length; s++) {
+            long segmentEnd = s + 1 < firstEntries.length ? segmentPositions[s + 1] : offsetsPosition;
+            segments[s] = channel.map(FileChannel.MapMode.READ_ONLY, segmentPositions[s],
+                    segmentEnd - segmentPositions[s]);
+        }
+    }
+
+    /**
+     * Checks that the entries follow each other from the header up to the offsets
+     * table, and returns the first entry of every segment so that no segment holds
+     * more than the given number of bytes.
+     */
+    private int[] cutIntoSegments(long maxSegmentSize) throws IOException {
+        List<Integer> firstEntries = new ArrayList<>();
+        long segmentPosition = MapSnapshot.HEADER_SIZE;
+        long end = MapSnapshot.HEADER_SIZE;                 // Where the previous entry ends.
+        for (int i = 0; i < count; i++) {
+            long start = end;
+            end = end(i);
+            if ((i == 0 && offset(0) != MapSnapshot.HEADER_SIZE) || end <= start) {
+                throw new IOException("Corrupt snapshot, entry " + i + " is out of place: " + path);
+            }
+            if (i == 0 || (end - segmentPosition > maxSegmentSize && start > segmentPosition)) {
+                segmentPosition = start;
+                firstEntries.add(i);
+            }
+            if (end - segmentPosition > maxSegmentSize) {
+                throw new IOException("Snapshot entry " + i + " is bigger than " + maxSegmentSize
+                        + " bytes, the most that can be mapped at once: " + path);
+            }
+        }
+        return firstEntries.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Returns the number of entries of the snapshot.
+     */
+    int count() {
+        return count;
+    }
+
+    /**
+     * Returns true if the snapshot is marked as sorted, false otherwise.
+     */
+    boolean isSorted() {
+        return sorted;
+    }
+
+    /**
+     * Returns a view of every segment, whose positions can be moved around by one
+     * thread with {@link #seek(ByteBuffer[], int)}.
+     */
+    ByteBuffer[] readers() {
+        ByteBuffer[] readers = new ByteBuffer[segments.length];
+        for (int s = 0; s < segments.length; s++) {
+            readers[s] = segments[s].duplicate();
+        }
+        return readers;
+    }
+
+    /**
+     * Returns the reader of the segment that holds the given entry, positioned at the
+     * start of the entry.
+     *
+     * @param readers views of the segments, from {@link #readers()}.
+     * @param entry the index of the entry, between 0 and the count of entries.
+     */
+    ByteBuffer seek(ByteBuffer[] readers, int entry) {
+        int segment = segmentOf(entry);
+        ByteBuffer reader = readers[segment];
+        reader.position((int) (offset(entry) - segmentPositions[segment]));
+        return reader;
+    }
+
+    /**
+     * Decodes every entry in order and hands it to the given consumer.
+     *
+     * @throws IOException if an entry can't be decoded or doesn't end where the next
+     *         one starts, or if the consumer throws one.
+     */
+    <K, V> void forEach(Codec<? extends K> keyCodec, Codec<? extends V> valueCodec,
+                        EntryConsumer<? super K, ? super V> consumer) throws IOException {
+        for (int s = 0; s < segments.length; s++) {
+            ByteBuffer reader = segments[s].duplicate();
+            int last = s + 1 < segments.length ? firstEntries[s + 1] : count;
+            for (int i = firstEntries[s]; i < last; i++) {
+                K key;
+                V value;
+                try {
+                    key = keyCodec.read(reader);
+                    value = valueCodec.read(reader);
+                } catch (RuntimeException e) {
+                    throw corrupt(i, e);
+                }
+                if (reader.position() != end(i) - segmentPositions[s]) {
+                    throw new IOException("Corrupt snapshot, entry " + i
+                            + " does not end where the next one starts: " + path);
+                }
+                consumer.accept(i, key, value);
+            }
+        }
+    }
+
+    /**
+     * Returns the exception to throw when the given entry could not be decoded.
+     */
+    IOException corrupt(int entry, RuntimeException cause) {
+        return new IOException("Corrupt snapshot, entry " + entry + " could not be decoded: " + path, cause);
+    }
+
+    /**
+     * Returns the exception to throw when the given entry is out of order in a
+     * snapshot marked as sorted.
+     */
+    IOException unsorted(int entry) {
+        return new IOException("Corrupt snapshot, entry " + entry + " is not in ascending order: " + path);
+    }
+
+    /**
+     * Returns the position of the given entry in the file.
+     */
+    private long offset(int entry) {
+        return offsets[entry / offsetsPerSegment].getLong((entry % offsetsPerSegment) * MapSnapshot.OFFSET_SIZE);
+    }
+
+    /**
+     * Returns the position in the file right after the given entry.
+     */
+    private long end(int entry) {
+        return entry + 1 < count ? offset(entry + 1) : offsetsPosition;
+    }
+
+    /**
+     * Returns the index of the segment that holds the given entry.
+     */
+    private int segmentOf(int entry) {
+        int index = Arrays.binarySearch(firstEntries, entry);
+        return index >= 0 ? index : -index - 2;
+    }
+
+    /**
+     * Interface EntryConsumer is handed every entry of a snapshot along with its index.
+     */
+    interface EntryConsumer<K, V> {
+
+        /**
+         * Consumes the entry at the given index.
+         */
+        void accept(int index, K key, V value) throws IOException;
+    }
+}
@@ -0,0 +1,171 @@
+package dictionaries;
+
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Class MappedSortedMap is a read-only Map that serves its entries straight from a
+ * sorted {@link MapSnapshot} mapped into memory. Keys are looked up with a binary
+ * search over the offsets table of the snapshot, decoding only the keys that are
+ * compared. Each offset is resolved to the mapped segment that holds its entry, so
+ * the snapshot can be bigger than 2 GB. Opening the map checks the offsets table and
+ * that the keys ascend, without decoding any value.
+ *
+ * It can be shared between threads. It does not allow for null keys and
+ * every method that would modify it throws an {@link UnsupportedOperationException}.
+ * Get one with {@link MapSnapshot#openSorted}.
+ *
+ * For more documentation, see {@link AbstractIterableMap}.
+ * @param <K> The data type of the key.
+ * @param <V> The data type of the value.
+ */
+public class MappedSortedMap<K extends Comparable<? super K>, V> extends AbstractIterableMap<K, V> {
+    private final MappedSnapshot snapshot;
+    private final Codec<? extends K> keyCodec;
+    private final Codec<? extends V> valueCodec;
+
+    MappedSortedMap(MappedSnapshot snapshot, Codec<? extends K> keyCodec, Codec<? extends V> valueCodec) {
+        this.snapshot = snapshot;
+        this.keyCodec = keyCodec;
+        this.valueCodec = valueCodec;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped,
+     * or {@code null} if this map contains no mapping for the key.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or
+     * {@code null} if this map contains no mapping for the key
+     * @throws ClassCastException   if the given key can't be compared with the keys of this map.
+     * @throws NullPointerException if the given key is {@code null}
+     */
+    @Override
+    public V get(Object key) {
+        ByteBuffer reader = find(key);
+        if (reader == null) {
+            return null;
+        }
+        return valueCodec.read(reader);
+    }
+
+    /**
+     * Returns {@code true} if this map contains a mapping for the specified
+     * key.
+     *
+     * @param key key whose presence in this map is to be tested
+     * @return {@code true} if this map contains a mapping for the specified
+     * key
+     * @throws ClassCastException   if the given key can't be compared with the keys of this map.
+     * @throws NullPointerException if the given key is {@code null}
+     */
+    @Override
+    public boolean containsKey(Object key) {
+        return find(key) != null;
+    }
+
+    /**
+     * Always throws an {@link UnsupportedOperationException} since this map is read-only.
+     */
+    @Override
+    public V put(K key, V value) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Always throws an {@link UnsupportedOperationException} since this map is read-only.
+     */
+    @Override
+    public V remove(Object key) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Always throws an {@link UnsupportedOperationException} since this map is read-only.
+     */
+    @Override
+    public void clear() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    @Override
+    public int size() {
+        return snapshot.count();
+    }
+
+    /**
+     * Returns an iterator that, when used, will yield all key-value
+     * mappings contained within this map in ascending order of keys.
+     */
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return new MappedSortedMapIterator();
+    }
+
+    /**
+     * Binary searches the snapshot for the given key.
+     *
+     * @param key the key to look for.
+     * @return a view of the segment that holds the key, positioned at the start of
+     *         its value, or {@code null} if the key was not found.
+     */
+    private ByteBuffer find(Object key) {
+        if (key == null) {
+            throw new NullPointerException();
+        }
+        K target = (K) key;
+        ByteBuffer[] readers = snapshot.readers();
+        int low = 0;
+        int high = snapshot.count() - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            ByteBuffer reader = snapshot.seek(readers, middle);
+            int compare = target.compareTo(keyCodec.read(reader));
+            if (compare == 0) {
+                return reader;
+            } else if (compare < 0) {
+                high = middle - 1;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Class MappedSortedMapIterator is used to represent the iterator that
+     * decodes the entries of the snapshot one after the other.
+     */
+    private class MappedSortedMapIterator implements Iterator<Map.Entry<K, V>> {
+        private final ByteBuffer[] readers;
+        private int current;
+
+        public MappedSortedMapIterator() {
+            readers = snapshot.readers();
+            current = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current < snapshot.count();
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ByteBuffer reader = snapshot.seek(readers, current++);
+            K key = keyCodec.read(reader);
+            V value = valueCodec.read(reader);
+            return new SimpleEntry<>(key, value);
+        }
+    }
+}
@@ -0,0 +1,391 @@
+package dictionaries;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Class SplayTreeMap is a Map that uses a Splay Tree as its
+ * implementation. It extends all the methods from {@link AbstractIterableMap} and
+ * overrides them with the correct implementation in here.
+ *
+ * Every access (get, put, remove or containsKey) splays the accessed key to the
+ * root of the tree, so keys that are looked up often stay close to the root and
+ * are found in very few comparisons. All operations run in O(log n) amortized time.
+ * Splaying is done top-down, so no operation recurses on the height of the tree.
+ *
+ * It does not allow for null keys.
+ *
+ * For more documentation, see {@link AbstractIterableMap}.
+ * @param <K> The data type of the key.
+ * @param <V> The data type of the value.
+ */
+public class SplayTreeMap<K extends Comparable<? super K>, V> extends AbstractInstrumentedMap<K, V> {
+    private SplayNode<K, V> overallRoot;            // The node that roots the tree.
+    private int size;                               // The size of the tree.
+    private final SplayNode<K, V> header;           // Reused while splaying to hold the left and right trees.
+
+    /**
+     * Constructs an empty SplayTreeMap.
+     */
+    public SplayTreeMap() {
+        overallRoot = null;
+        size = 0;
+        header = new SplayNode<>(null, null);
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped,
+     * or {@code null} if this map contains no mapping for the key.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or
+     * {@code null} if this map contains no mapping for the key
+     * @throws ClassCastException   if the class of the given key is not the
+     *                              same as the class of the current keys in this map.
+     * @throws NullPointerException if the given key is {@code null}
+     */
+    @Override
+    public V get(Object key) {
+        checkKey(key);
+        if (size == 0) {
+            return null;
+        }
+        overallRoot = splay(overallRoot, (K) key);
+        if (((K) key).compareTo(overallRoot.key) != 0) {
+            return null;
+        }
+        return overallRoot.value;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map
+     * (optional operation).  If the map previously contained a mapping for
+     * the key, the old value is replaced by the specified value.  (A map
+     * {@code m} is said to contain a mapping for a key {@code k} if and only
+     * if {@link #containsKey(Object) m.containsKey(k)} would return
+     * {@code true}.)
+     *
+     * @param key key with which the specified value is to be associated
+     * @param value value to be associated with the specified key
+     * @return the previous value associated with {@code key}, or
+     *         {@code null} if there was no mapping for {@code key}.
+     *         (A {@code null} return can also indicate that the map
+     *         previously associated {@code null} with {@code key},
+     *         if the implementation supports {@code null} values.)
+     * @throws NullPointerException if the given key is {@code null}
+     */
+    @Override
+    public V put(K key, V value) {
+        if (key == null) {
+            throw new NullPointerException();
+        }
+        if (overallRoot == null) {
+            overallRoot = new SplayNode<>(key, value);
+            size++;
+            return null;
+        }
+        overallRoot = splay(overallRoot, key);
+        int compare = key.compareTo(overallRoot.key);
+        if (compare == 0) {
+            V oldValue = overallRoot.value;
+            overallRoot.value = value;
+            return oldValue;
+        }
+        SplayNode<K, V> newRoot = new SplayNode<>(key, value);
+        if (compare < 0) {      // The old root and its right subtree are bigger than the new key.
+            newRoot.left = overallRoot.left;
+            newRoot.right = overallRoot;
+            overallRoot.left = null;
+        } else {                // The old root and its left subtree are smaller than the new key.
+            newRoot.right = overallRoot.right;
+            newRoot.left = overallRoot;
+            overallRoot.right = null;
+        }
+        overallRoot = newRoot;
+        size++;
+        return null;
+    }
+
+    /**
+     * Removes the mapping for a key from this map if it is present
+     * (optional operation). More formally, if this map contains a mapping
+     * from key {@code k} to value {@code v} such that
+     * {@code Objects.equals(key, k)}, that mapping
+     * is removed.  (The map can contain at most one such mapping.)
+     *
+     * Returns the value to which this map previously associated the key,
+     * or {@code null} if the map contained no mapping for the key.
+     *
+     * A return value of {@code null} does not necessarily indicate that the map
+     * contained no mapping for the key; it's also possible that the map
+     * explicitly mapped the key to {@code null}.
+     *
+     * The map will not contain a mapping for the specified key once the
+     * call returns.
+     *
+     * @throws ClassCastException if the given key class doesn't match the class
+     *         of the keys in the map.
+     *
+     * @param key key whose mapping is to be removed from the map
+     * @return the previous value associated with {@code key}, or
+     *         {@code null} if there was no mapping for {@code key}.
+     */
+    @Override
+    public V remove(Object key) {
+        if (size == 0) {
+            return null;
+        }
+        checkKey(key);
+        overallRoot = splay(overallRoot, (K) key);
+        if (((K) key).compareTo(overallRoot.key) != 0) {
+            return null;
+        }
+        V oldValue = overallRoot.value;
+        if (overallRoot.left == null) {
+            overallRoot = overallRoot.right;
+        } else {
+            // Every key in the left subtree is smaller than the given key, so splaying
+            // for it brings the biggest one up, leaving its right child empty.
+            SplayNode<K, V> right = overallRoot.right;
+            overallRoot = splay(overallRoot.left, (K) key);
+            overallRoot.right = right;
+        }
+        size--;
+        return oldValue;
+    }
+
+    /**
+     * Removes all the mappings from this map.
+     * The map will be empty after this call returns.
+     */
+    @Override
+    public void clear() {
+        overallRoot = null;
+        size = 0;
+    }
+
+    /**
+     * Returns {@code true} if this map contains a mapping for the specified
+     * key.  More formally, returns {@code true} if and only if
+     * this map contains a mapping for a key {@code k} such that
+     * {@code Objects.equals(key, k)}.  (There can be
+     * at most one such mapping.)
+     *
+     * @param key key whose presence in this map is to be tested
+     * @return {@code true} if this map contains a mapping for the specified
+     * key
+     * @throws ClassCastException   if the given key class is not the same as the
+     *                              class of the keys in the map.
+     * @throws NullPointerException if the given key is {@code null}.
+     */
+    @Override
+    public boolean containsKey(Object key) {
+        checkKey(key);
+        if (size == 0) {
+            return false;
+        }
+        overallRoot = splay(overallRoot, (K) key);
+        return ((K) key).compareTo(overallRoot.key) == 0;
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns an iterator that, when used, will yield all key-value
+     * mappings contained within this map.
+     */
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return new SplayTreeMapIterator<>();
+    }
+
+    /**
+     * Returns the height of the tree, or -1 if the tree is empty. Visits every node.
+     */
+    @Override
+    public int height() {
+        return treeHeight(overallRoot, node -> node.left, node -> node.right);
+    }
+
+    /**
+     * Throws the exceptions documented by get and containsKey if the given key
+     * can not be looked up in this map.
+     *
+     * @param key the key to be examined.
+     */
+    private void checkKey(Object key) {
+        if (key == null) {
+            throw new NullPointerException();
+        }
+        if (size > 0 && key.getClass() != overallRoot.key.getClass()) {
+            throw new ClassCastException();
+        }
+    }
+
+    /**
+     * Helper method which performs a top-down splay for the given key on the
+     * tree rooted at the given node. Returns the new root of the tree, which is
+     * the node with the given key, or the last node visited while searching for
+     * it if the tree has no mapping for the key.
+     *
+     * @param root The node that roots the tree to be splayed.
+     * @param key  The key to splay for.
+     * @return the node that roots the tree after splaying.
+     */
+    private SplayNode<K, V> splay(SplayNode<K, V> root, K key) {
+        header.left = null;
+        header.right = null;
+        SplayNode<K, V> leftTreeMax = header;       // Nodes smaller than the key hang off here.
+        SplayNode<K, V> rightTreeMin = header;      // Nodes bigger than the key hang off here.
+        SplayNode<K, V> current = root;
+        while (true) {
+            int compare = key.compareTo(current.key);
+            if (compare < 0) {
+                if (current.left == null) {
+                    break;
+                }
+                if (key.compareTo(current.left.key) < 0) {      // Zig-Zig case. Rotate right first.
+                    current = rightRotation(current);
+                    if (current.left == null) {
+                        break;
+                    }
+                }
+                rightTreeMin.left = current;
+                rightTreeMin = current;
+                current = current.left;
+            } else if (compare > 0) {
+                if (current.right == null) {
+                    break;
+                }
+                if (key.compareTo(current.right.key) > 0) {     // Zag-Zag case. Rotate left first.
+                    current = leftRotation(current);
+                    if (current.right == null) {
+                        break;
+                    }
+                }
+                leftTreeMax.right = current;
+                leftTreeMax = current;
+                current = current.right;
+            } else {
+                break;
+            }
+        }
+        leftTreeMax.right = current.left;
+        rightTreeMin.left = current.right;
+        current.left = header.right;
+        current.right = header.left;
+        return current;
+    }
+
+    /**
+     * Helper method which performs a right rotation. Returns the node that
+     * roots the tree after performing a right rotation.
+     *
+     * @param node The node that roots the tree to be applied right rotation.
+     * @return the node that roots the tree.
+     */
+    private SplayNode<K, V> rightRotation(SplayNode<K, V> node) {
+        if (statsCounter != null) {
+            statsCounter.recordRotation();
+        }
+        SplayNode<K, V> newRoot = node.left;
+        node.left = newRoot.right;
+        newRoot.right = node;
+        return newRoot;
+    }
+
+    /**
+     * Helper method which performs a left rotation. Returns the node that
+     * roots the tree after performing a left rotation.
+     *
+     * @param node The node that roots the tree to be applied left rotation.
+     * @return the node that roots the tree.
+     */
+    private SplayNode<K, V> leftRotation(SplayNode<K, V> node) {
+        if (statsCounter != null) {
+            statsCounter.recordRotation();
+        }
+        SplayNode<K, V> newRoot = node.right;
+        node.right = newRoot.left;
+        newRoot.left = node;
+        return newRoot;
+    }
+
+    /**
+     * Class SplayTreeMapIterator is used to represent the iterator that
+     * traverses the map contents. The traversal is done with an explicit stack
+     * since a splay tree can temporarily be as deep as it is large.
+     *
+     * @param <K> The data type of the key.
+     * @param <V> The data type of the value.
+     */
+    private class SplayTreeMapIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+        private SimpleEntry<K, V>[] entries;
+        private int current;
+
+        public SplayTreeMapIterator() {
+            entries = new SimpleEntry[SplayTreeMap.this.size()];
+            current = 0;
+            inorder((SplayNode<K, V>) SplayTreeMap.this.overallRoot);
+            current = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current < entries.length;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return entries[current++];
+        }
+
+        private void inorder(SplayNode<K, V> root) {
+            Deque<SplayNode<K, V>> stack = new ArrayDeque<>();
+            SplayNode<K, V> currentNode = root;
+            while (currentNode != null || !stack.isEmpty()) {
+                while (currentNode != null) {
+                    stack.push(currentNode);
+                    currentNode = currentNode.left;
+                }
+                currentNode = stack.pop();
+                entries[current++] = new SimpleEntry<>(currentNode.key, currentNode.value);
+                currentNode = currentNode.right;
+            }
+        }
+    }
+
+    /**
+     * Represents a node suitable for a splay tree.
+     *
+     * @param <K> the data type of the key.
+     * @param <V> the data type of the value.
+     */
+    private static class SplayNode<K, V> {
+        SplayNode<K, V> left;
+        SplayNode<K, V> right;
+        K key;
+        V value;
+
+        SplayNode(K key, V value) {
+            this.key = key;
+            this.value = value;
+            this.left = null;
+            this.right = null;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package dictionaries;
+
+/**
+ * Class StatsCounter accumulates the statistics of an {@link InstrumentedMap}
+ * while its stats are enabled. Maps keep a {@code null} counter while their stats
+ * are disabled, so recording costs a single null check.
+ */
+class StatsCounter {
+    private long getCount;              // The number of calls to get.
+    private long getComparisons;        // The total number of keys compared by those calls.
+    private int maxGetComparisons;      // The most keys compared by a single call.
+    private long resizeCount;           // The number of times the map resized.
+    private long resizeNanos;           // The total time spent resizing.
+    private long maxResizeNanos;        // The longest time spent in a single resize.
+    private long rotationCount;         // The number of tree rotations.
+
+    /**
+     * Records a call to get that compared the given number of keys.
+     */
+    void recordGet(int comparisons) {
+        getCount++;
+        getComparisons += comparisons;
+        maxGetComparisons = Math.max(maxGetComparisons, comparisons);
+    }
+
+    /**
+     * Records a resize that took the given number of nanoseconds.
+     */
+    void recordResize(long nanos) {
+        resizeCount++;
+        resizeNanos += nanos;
+        maxResizeNanos = Math.max(maxResizeNanos, nanos);
+    }
+
+    /**
+     * Records a single tree rotation.
+     */
+    void recordRotation() {
+        rotationCount++;
+    }
+
+    /**
+     * Returns a snapshot of the recorded statistics along with the given shape of the map.
+     *
+     * @param size the number of entries in the map.
+     * @param chainLengthHistogram the number of chains of each length, or an empty array.
+     * @param height the height of the tree, or -1 if the map is not a tree.
+     */
+    MapStats snapshot(int size, long[] chainLengthHistogram, int height) {
+        double averageGetComparisons = getCount == 0 ? 0 : (double) getComparisons / getCount;
+        return new MapStats(size, getCount, averageGetComparisons, maxGetComparisons, chainLengthHistogram,
+                resizeCount, resizeNanos, maxResizeNanos, height, rotationCount);
+    }
+}
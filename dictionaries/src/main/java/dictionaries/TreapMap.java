@@ -0,0 +1,395 @@
+package dictionaries;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+/**
+ * Class TreapMap is a Map that uses a Treap as its implementation. It extends
+ * all the methods from {@link AbstractIterableMap} and overrides them with the
+ * correct implementation in here.
+ *
+ * Every node is given a random priority when it is inserted and the tree is kept
+ * as a binary search tree on the keys and a max heap on the priorities. This keeps
+ * the expected height of the tree logarithmic no matter the order in which the keys
+ * are inserted, so sorted inserts don't degrade it like they do a plain
+ * {@link BinarySearchTreeMap}.
+ *
+ * It does not allow for null keys.
+ *
+ * For more documentation, see {@link AbstractIterableMap}.
+ * @param <K> The data type of the key.
+ * @param <V> The data type of the value.
+ */
+public class TreapMap<K extends Comparable<? super K>, V> extends AbstractInstrumentedMap<K, V> {
+    private TreapNode<K, V> overallRoot;            // The node that roots the tree.
+    private int size;                               // The size of the tree.
+    private final Random random;                    // Used to pick the priority of new nodes.
+
+    /**
+     * Constructs an empty TreapMap.
+     */
+    public TreapMap() {
+        this(new Random());
+    }
+
+    /**
+     * Constructs an empty TreapMap that takes the priority of its nodes from the
+     * given random number generator. Useful to get the same tree shape on every run.
+     *
+     * @param random the generator used to pick the priority of new nodes.
+     */
+    public TreapMap(Random random) {
+        overallRoot = null;
+        size = 0;
+        this.random = random;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped,
+     * or {@code null} if this map contains no mapping for the key.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or
+     * {@code null} if this map contains no mapping for the key
+     * @throws ClassCastException   if the class of the given key is not the
+     *                              same as the class of the current keys in this map.
+     * @throws NullPointerException if the given key is {@code null}
+     */
+    @Override
+    public V get(Object key) {
+        if (key == null) {
+            throw new NullPointerException();
+        }
+        if (size > 0 && key.getClass() != overallRoot.key.getClass()) {
+            throw new ClassCastException();
+        }
+        TreapNode<K, V> nodeToGet = getNode(overallRoot, (K) key);
+        if (nodeToGet == null) {
+            return null;
+        }
+        return nodeToGet.value;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map
+     * (optional operation).  If the map previously contained a mapping for
+     * the key, the old value is replaced by the specified value.  (A map
+     * {@code m} is said to contain a mapping for a key {@code k} if and only
+     * if {@link #containsKey(Object) m.containsKey(k)} would return
+     * {@code true}.)
+     *
+     * @param key key with which the specified value is to be associated
+     * @param value value to be associated with the specified key
+     * @return the previous value associated with {@code key}, or
+     *         {@code null} if there was no mapping for {@code key}.
+     *         (A {@code null} return can also indicate that the map
+     *         previously associated {@code null} with {@code key},
+     *         if the implementation supports {@code null} values.)
+     */
+    @Override
+    public V put(K key, V value) {
+        TreapNode<K, V> oldNode = new TreapNode<>(null, null, 0);
+        overallRoot = put(overallRoot, oldNode, key, value);
+        return oldNode.value;
+    }
+
+    /**
+     * Removes the mapping for a key from this map if it is present
+     * (optional operation). More formally, if this map contains a mapping
+     * from key {@code k} to value {@code v} such that
+     * {@code Objects.equals(key, k)}, that mapping
+     * is removed.  (The map can contain at most one such mapping.)
+     *
+     * Returns the value to which this map previously associated the key,
+     * or {@code null} if the map contained no mapping for the key.
+     *
+     * A return value of {@code null} does not necessarily indicate that the map
+     * contained no mapping for the key; it's also possible that the map
+     * explicitly mapped the key to {@code null}.
+     *
+     * The map will not contain a mapping for the specified key once the
+     * call returns.
+     *
+     * @throws ClassCastException if the given key class doesn't match the class
+     *         of the keys in the map.
+     *
+     * @param key key whose mapping is to be removed from the map
+     * @return the previous value associated with {@code key}, or
+     *         {@code null} if there was no mapping for {@code key}.
+     */
+    @Override
+    public V remove(Object key) {
+        if (size == 0) {
+            return null;
+        }
+        if (size > 0 && key.getClass() != overallRoot.key.getClass()) {
+            throw new ClassCastException();
+        }
+        TreapNode<K, V> oldNode = new TreapNode<>(null, null, 0);
+        overallRoot = remove(overallRoot, oldNode, (K) key);
+        return oldNode.value;
+    }
+
+    /**
+     * Removes all the mappings from this map.
+     * The map will be empty after this call returns.
+     */
+    @Override
+    public void clear() {
+        overallRoot = null;
+        size = 0;
+    }
+
+    /**
+     * Returns {@code true} if this map contains a mapping for the specified
+     * key.  More formally, returns {@code true} if and only if
+     * this map contains a mapping for a key {@code k} such that
+     * {@code Objects.equals(key, k)}.  (There can be
+     * at most one such mapping.)
+     *
+     * @param key key whose presence in this map is to be tested
+     * @return {@code true} if this map contains a mapping for the specified
+     * key
+     * @throws ClassCastException   if the given key class is not the same as the
+     *                              class of the keys in the map.
+     * @throws NullPointerException if the given key is {@code null}.
+     */
+    @Override
+    public boolean containsKey(Object key) {
+        if (key == null) {
+            throw new NullPointerException();
+        }
+        if (size > 0 && key.getClass() != overallRoot.key.getClass()) {
+            throw new ClassCastException();
+        }
+        return getNode(overallRoot, (K) key) != null;
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns an iterator that, when used, will yield all key-value
+     * mappings contained within this map.
+     */
+    @Override
+    public Iterator<Entry<K, V>> iterator() {
+        return new TreapMapIterator<>();
+    }
+
+    /**
+     * Returns the height of the tree, or -1 if the tree is empty. Visits every node.
+     */
+    @Override
+    public int height() {
+        return treeHeight(overallRoot, node -> node.left, node -> node.right);
+    }
+
+    /**
+     * Helper method that gets the node in tree that has the given key. Returns
+     * the node that has the same given key or {@code null} if there is no
+     * mapping with this key.
+     *
+     * @param current The current node in the tree.
+     * @param key     The key of the node that we are looking for.
+     * @return the node with the mapping of the given key, or {@code null} if
+     * this map contains no mapping for the key.
+     */
+    private TreapNode<K, V> getNode(TreapNode<K, V> current, K key) {
+        while (current != null) {
+            int compare = key.compareTo(current.key);
+            if (compare == 0) {
+                return current;
+            } else if (compare < 0) {
+                current = current.left;
+            } else {
+                current = current.right;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Helper method which inserts the given key as a leaf like a binary search
+     * tree would and then rotates it up while its priority is bigger than the
+     * priority of its parent. Updates the value of the node that has an existing
+     * key with the given key instead. The given oldNode is used to carry information
+     * of the value mapped by the specified key, or {@code null} if the given key
+     * has no mapping.
+     *
+     * @param current  The current node in the tree.
+     * @param oldNode  The node which holds information of the node to be updated.
+     * @param key      The key to put in the tree.
+     * @param newValue The value to put in the tree.
+     * @return the node that roots the subtree after the insertion.
+     */
+    private TreapNode<K, V> put(TreapNode<K, V> current, TreapNode<K, V> oldNode, K key, V newValue) {
+        if (current == null) {
+            size++;
+            return new TreapNode<>(key, newValue, random.nextInt());
+        }
+        int compare = key.compareTo(current.key);
+        if (compare == 0) {
+            oldNode.value = current.value;
+            current.value = newValue;
+        } else if (compare < 0) {
+            current.left = put(current.left, oldNode, key, newValue);
+            if (current.left.priority > current.priority) {
+                current = rightRotation(current);
+            }
+        } else {
+            current.right = put(current.right, oldNode, key, newValue);
+            if (current.right.priority > current.priority) {
+                current = leftRotation(current);
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Helper method which removes the node that has the given key. Once found,
+     * the node is rotated down towards the child with the highest priority until
+     * it has at most one child, at which point that child takes its place.
+     *
+     * @param current The current node in the tree.
+     * @param oldNode The node that will hold the information of the node that
+     *                was removed.
+     * @param key     The key of the node we are looking to remove.
+     * @return the node that roots the subtree after the removal.
+     */
+    private TreapNode<K, V> remove(TreapNode<K, V> current, TreapNode<K, V> oldNode, K key) {
+        if (current == null) {
+            return null;
+        }
+        int compare = key.compareTo(current.key);
+        if (compare < 0) {
+            current.left = remove(current.left, oldNode, key);
+        } else if (compare > 0) {
+            current.right = remove(current.right, oldNode, key);
+        } else if (current.left == null) {
+            size--;
+            oldNode.key = current.key;
+            oldNode.value = current.value;
+            return current.right;
+        } else if (current.right == null) {
+            size--;
+            oldNode.key = current.key;
+            oldNode.value = current.value;
+            return current.left;
+        } else if (current.left.priority > current.right.priority) {
+            current = rightRotation(current);
+            current.right = remove(current.right, oldNode, key);
+        } else {
+            current = leftRotation(current);
+            current.left = remove(current.left, oldNode, key);
+        }
+        return current;
+    }
+
+    /**
+     * Helper method which performs a right rotation. Returns the node that
+     * roots the tree after performing a right rotation.
+     *
+     * @param node The node that roots the tree to be applied right rotation.
+     * @return the node that roots the tree.
+     */
+    private TreapNode<K, V> rightRotation(TreapNode<K, V> node) {
+        if (statsCounter != null) {
+            statsCounter.recordRotation();
+        }
+        TreapNode<K, V> newRoot = node.left;
+        node.left = newRoot.right;
+        newRoot.right = node;
+        return newRoot;
+    }
+
+    /**
+     * Helper method which performs a left rotation. Returns the node that
+     * roots the tree after performing a left rotation.
+     *
+     * @param node The node that roots the tree to be applied left rotation.
+     * @return the node that roots the tree.
+     */
+    private TreapNode<K, V> leftRotation(TreapNode<K, V> node) {
+        if (statsCounter != null) {
+            statsCounter.recordRotation();
+        }
+        TreapNode<K, V> newRoot = node.right;
+        node.right = newRoot.left;
+        newRoot.left = node;
+        return newRoot;
+    }
+
+    /**
+     * Class TreapMapIterator is used to represent the iterator that
+     * traverses the map contents.
+     *
+     * @param <K> The data type of the key.
+     * @param <V> The data type of the value.
+     */
+    private class TreapMapIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+        private SimpleEntry<K, V>[] entries;
+        private int current;
+
+        public TreapMapIterator() {
+            entries = new SimpleEntry[TreapMap.this.size()];
+            current = 0;
+            inorder((TreapNode<K, V>) TreapMap.this.overallRoot);
+            current = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current < entries.length;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return entries[current++];
+        }
+
+        private void inorder(TreapNode<K, V> currentNode) {
+            if (currentNode == null) {
+                // Do nothing
+            } else {
+                inorder(currentNode.left);
+                entries[current++] = new SimpleEntry<>(currentNode.key, currentNode.value);
+                inorder(currentNode.right);
+            }
+        }
+    }
+
+    /**
+     * Represents a node suitable for a treap.
+     *
+     * @param <K> the data type of the key.
+     * @param <V> the data type of the value.
+     */
+    private static class TreapNode<K, V> {
+        TreapNode<K, V> left;
+        TreapNode<K, V> right;
+        int priority;
+        K key;
+        V value;
+
+        TreapNode(K key, V value, int priority) {
+            this.priority = priority;
+            this.key = key;
+            this.value = value;
+            this.left = null;
+            this.right = null;
+        }
+    }
+}
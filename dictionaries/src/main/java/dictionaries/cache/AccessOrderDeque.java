@@ -0,0 +1,101 @@
+package dictionaries.cache;
+
+/**
+ * Class AccessOrderDeque keeps {@link CacheNode}s in the order they were last
+ * accessed, from the least recently used at the front to the most recently used
+ * at the back. It links the nodes themselves, so moving a node to the back or
+ * removing it from the middle is done in constant time.
+ *
+ * @param <K> The data type of the key.
+ * @param <V> The data type of the value.
+ */
+class AccessOrderDeque<K, V> {
+    private final CacheNode<K, V> front;        // Sentinel before the least recently used node.
+    private final CacheNode<K, V> back;         // Sentinel after the most recently used node.
+    private long weight;                        // The total weight of the nodes in the deque.
+
+    AccessOrderDeque() {
+        front = new CacheNode<>(null, null, 0);
+        back = new CacheNode<>(null, null, 0);
+        front.next = back;
+        back.prev = front;
+        weight = 0;
+    }
+
+    /**
+     * Adds the given node as the most recently used one.
+     */
+    void addLast(CacheNode<K, V> node) {
+        node.prev = back.prev;
+        node.next = back;
+        back.prev.next = node;
+        back.prev = node;
+        weight += node.weight;
+    }
+
+    /**
+     * Unlinks the given node, which must be in this deque.
+     */
+    void remove(CacheNode<K, V> node) {
+        node.prev.next = node.next;
+        node.next.prev = node.prev;
+        node.prev = null;
+        node.next = null;
+        weight -= node.weight;
+    }
+
+    /**
+     * Marks the given node, which must be in this deque, as the most recently used one.
+     */
+    void moveToBack(CacheNode<K, V> node) {
+        if (node.next != back) {
+            remove(node);
+            addLast(node);
+        }
+    }
+
+    /**
+     * Returns the least recently used node, or {@code null} if the deque is empty.
+     */
+    CacheNode<K, V> peekFirst() {
+        if (front.next == back) {
+            return null;
+        }
+        return front.next;
+    }
+
+    /**
+     * Returns the node that was used right after the given one, or {@code null}
+     * if the given node is the most recently used one.
+     */
+    CacheNode<K, V> successor(CacheNode<K, V> node) {
+        if (node.next == back) {
+            return null;
+        }
+        return node.next;
+    }
+
+    /**
+     * Adds the given difference to the weight of the deque. Used when a node
+     * that is in this deque changes its weight.
+     */
+    void addWeight(long difference) {
+        weight += difference;
+    }
+
+    /**
+     * Returns the total weight of the nodes in the deque.
+     */
+    long weight() {
+        return weight;
+    }
+
+    /**
+     * Unlinks every node of the deque.
+     */
+    void clear() {
+        front.next = back;
+        back.prev = front;
+        weight = 0;
+    }
+}
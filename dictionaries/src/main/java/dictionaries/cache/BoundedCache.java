@@ -0,0 +1,407 @@
+package dictionaries.cache;
+
+import dictionaries.AbstractIterableMap;
+import dictionaries.ChainedHashMap;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Class BoundedCache is a Map that never holds more than a maximum total weight
+ * of entries. It uses my implementation {@link ChainedHashMap} to find entries and
+ * links the entries themselves in access order, so get, put and remove run in
+ * constant time. Once the cache is full, putting a new entry evicts older ones,
+ * following one of two policies:
+ *
+ * {@link Policy#LRU} evicts the least recently used entry.
+ *
+ * {@link Policy#W_TINY_LFU} lets new entries in through a small LRU window. When an
+ * entry falls off the window, a {@link FrequencySketch} decides whether it has been
+ * used more often than the entry the main space would evict for it, and only the
+ * more popular one stays. The main space is a segmented LRU, where entries used
+ * a second time are moved from probation to a protected segment.
+ *
+ * The weight of every entry is given by a {@link Weigher} and each evicted entry is
+ * handed to an {@link EvictionListener}. The cache keeps count of its hits, misses
+ * and evictions. It does not allow for null keys or null values and is not thread safe.
+ *
+ * For more documentation, see {@link AbstractIterableMap}.
+ * @param <K> The data type of the key.
+ * @param <V> The data type of the value.
+ */
+public class BoundedCache<K extends Comparable<? super K>, V> extends AbstractIterableMap<K, V> {
+    private static final double WINDOW_PERCENTAGE = 0.01;       // Part of the capacity used by the window.
+    private static final double PROTECTED_PERCENTAGE = 0.8;     // Part of the main space used by protected.
+
+    private final ChainedHashMap<K, CacheNode<K, V>> index;     // Finds the node of every key.
+    private final AccessOrderDeque<K, V> window;                // New entries, in access order.
+    private final AccessOrderDeque<K, V> probation;             // Main space entries used once since admitted.
+    private final AccessOrderDeque<K, V> protectedSegment;      // Main space entries used more than once.
+    private final FrequencySketch sketch;                       // Only used by W_TINY_LFU.
+    private final Weigher<? super K, ? super V> weigher;
+    private final EvictionListener<? super K, ? super V> evictionListener;
+    private final long maximumWeight;
+    private final long windowMaximum;
+    private final long mainMaximum;
+    private final long protectedMaximum;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    /**
+     * The policy used to pick which entries to evict.
+     */
+    public enum Policy {
+        LRU,
+        W_TINY_LFU
+    }
+
+    /**
+     * Constructs a BoundedCache that holds at most the given number of entries.
+     *
+     * @param maximumSize the maximum number of entries in the cache.
+     * @param policy the policy used to pick which entries to evict.
+     */
+    public BoundedCache(long maximumSize, Policy policy) {
+        this(maximumSize, policy, (key, value) -> 1, (key, value) -> { });
+    }
+
+    /**
+     * Constructs a BoundedCache whose entries weigh at most the given maximum weight in total.
+     *
+     * @param maximumWeight the maximum total weight of the entries in the cache.
+     * @param policy the policy used to pick which entries to evict.
+     * @param weigher computes the weight of every entry.
+     * @param evictionListener is notified of every evicted entry.
+     * @throws IllegalArgumentException if the given maximumWeight is negative.
+     */
+    public BoundedCache(long maximumWeight, Policy policy, Weigher<? super K, ? super V> weigher,
+                        EvictionListener<? super K, ? super V> evictionListener) {
+        if (maximumWeight < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.index = new ChainedHashMap<>();
+        this.window = new AccessOrderDeque<>();
+        this.probation = new AccessOrderDeque<>();
+        this.protectedSegment = new AccessOrderDeque<>();
+        this.weigher = weigher;
+        this.evictionListener = evictionListener;
+        this.maximumWeight = maximumWeight;
+        if (policy == Policy.LRU) {
+            this.sketch = null;
+            this.windowMaximum = maximumWeight;
+        } else {
+            this.sketch = new FrequencySketch(Math.min(maximumWeight, 1024));
+            this.windowMaximum = Math.min(maximumWeight, Math.max(1, (long) (maximumWeight * WINDOW_PERCENTAGE)));
+        }
+        this.mainMaximum = Math.max(0, maximumWeight - windowMaximum);
+        this.protectedMaximum = (long) (mainMaximum * PROTECTED_PERCENTAGE);
+        this.hitCount = 0;
+        this.missCount = 0;
+        this.evictionCount = 0;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped,
+     * or {@code null} if this map contains no mapping for the key.
+     * Counts as a use of the entry and as a hit or a miss.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or
+     * {@code null} if this map contains no mapping for the key
+     * @throws NullPointerException if the given key is {@code null}
+     */
+    @Override
+    public V get(Object key) {
+        if (key == null) {
+            throw new NullPointerException();
+        }
+        if (sketch != null) {
+            sketch.increment(key);
+        }
+        CacheNode<K, V> node = index.get(key);
+        if (node == null) {
+            missCount++;
+            return null;
+        }
+        hitCount++;
+        onAccess(node);
+        return node.value;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map.
+     * If the map previously contained a mapping for the key, the old value
+     * is replaced by the specified value. Other entries may be evicted so the
+     * cache stays within its maximum weight, including the given one.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param value value to be associated with the specified key
+     * @return the previous value associated with {@code key}, or
+     *         {@code null} if there was no mapping for {@code key}.
+     * @throws NullPointerException if the given key or value is {@code null}
+     * @throws IllegalArgumentException if the weigher returns a negative weight
+     */
+    @Override
+    public V put(K key, V value) {
+        if (key == null || value == null) {
+            throw new NullPointerException();
+        }
+        int weight = weigher.weigh(key, value);
+        if (weight < 0) {
+            throw new IllegalArgumentException();
+        }
+        if (sketch != null) {
+            sketch.increment(key);
+        }
+        CacheNode<K, V> node = index.get(key);
+        V oldValue = null;
+        if (node == null) {
+            node = new CacheNode<>(key, value, weight);
+            node.region = CacheNode.Region.WINDOW;
+            index.put(key, node);
+            window.addLast(node);
+            if (sketch != null) {
+                sketch.ensureCapacity(Math.min(index.size(), maximumWeight));
+            }
+        } else {
+            oldValue = node.value;
+            node.value = value;
+            dequeOf(node).addWeight(weight - node.weight);
+            node.weight = weight;
+            onAccess(node);
+        }
+        evict();
+        return oldValue;
+    }
+
+    /**
+     * Removes the mapping for a key from this map if it is present. The
+     * eviction listener is not notified of removed entries.
+     *
+     * @param key key whose mapping is to be removed from the map
+     * @return the previous value associated with {@code key}, or
+     *         {@code null} if there was no mapping for {@code key}.
+     */
+    @Override
+    public V remove(Object key) {
+        if (key == null) {
+            return null;
+        }
+        CacheNode<K, V> node = index.remove(key);
+        if (node == null) {
+            return null;
+        }
+        dequeOf(node).remove(node);
+        return node.value;
+    }
+
+    /**
+     * Removes all the mappings from this map.
+     * The map will be empty after this call returns.
+     */
+    @Override
+    public void clear() {
+        index.clear();
+        window.clear();
+        probation.clear();
+        protectedSegment.clear();
+    }
+
+    /**
+     * Returns {@code true} if this map contains a mapping for the specified
+     * key. Does not count as a use of the entry.
+     *
+     * @param key key whose presence in this map is to be tested
+     * @return {@code true} if this map contains a mapping for the specified
+     * key
+     */
+    @Override
+    public boolean containsKey(Object key) {
+        return key != null && index.containsKey(key);
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    @Override
+    public int size() {
+        return index.size();
+    }
+
+    /**
+     * Returns the total weight of the entries in the cache.
+     */
+    public long weightedSize() {
+        return window.weight() + probation.weight() + protectedSegment.weight();
+    }
+
+    /**
+     * Returns the number of times {@link #get(Object)} found the given key.
+     */
+    public long hitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of times {@link #get(Object)} did not find the given key.
+     */
+    public long missCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of entries evicted to stay within the maximum weight.
+     */
+    public long evictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Returns an iterator that, when used, will yield all key-value
+     * mappings contained within this map. Iterating does not count as a use
+     * of the entries.
+     */
+    @Override
+    public Iterator<Map.Entry<K, V>> iterator() {
+        return new BoundedCacheIterator();
+    }
+
+    /**
+     * Returns the deque that holds the given node.
+     */
+    private AccessOrderDeque<K, V> dequeOf(CacheNode<K, V> node) {
+        if (node.region == CacheNode.Region.WINDOW) {
+            return window;
+        } else if (node.region == CacheNode.Region.PROBATION) {
+            return probation;
+        } else {
+            return protectedSegment;
+        }
+    }
+
+    /**
+     * Updates the access order after the given node was used. A node used while on
+     * probation is promoted to the protected segment, which in turn demotes its
+     * least recently used nodes back to probation if it grew too heavy.
+     */
+    private void onAccess(CacheNode<K, V> node) {
+        if (node.region == CacheNode.Region.PROBATION) {
+            probation.remove(node);
+            node.region = CacheNode.Region.PROTECTED;
+            protectedSegment.addLast(node);
+            while (protectedSegment.weight() > protectedMaximum) {
+                CacheNode<K, V> demoted = protectedSegment.peekFirst();
+                protectedSegment.remove(demoted);
+                demoted.region = CacheNode.Region.PROBATION;
+                probation.addLast(demoted);
+            }
+        } else {
+            dequeOf(node).moveToBack(node);
+        }
+    }
+
+    /**
+     * Evicts entries until the cache is within its maximum weight. Every node that
+     * overflows the window is a candidate for the main space. The main space can
+     * still be too heavy afterwards if one of its entries was replaced by a heavier
+     * value, in which case its least recently used entries are evicted.
+     */
+    private void evict() {
+        while (window.weight() > windowMaximum) {
+            CacheNode<K, V> candidate = window.peekFirst();
+            window.remove(candidate);
+            admit(candidate);
+        }
+        while (weightedSize() > maximumWeight) {
+            CacheNode<K, V> victim = probation.peekFirst();
+            if (victim == null) {
+                victim = protectedSegment.peekFirst();
+            }
+            if (victim == null) {
+                victim = window.peekFirst();
+            }
+            dequeOf(victim).remove(victim);
+            evictNode(victim);
+        }
+    }
+
+    /**
+     * Moves the given candidate into probation if it is more popular than every
+     * victim that has to be evicted to make room for it; otherwise evicts the candidate.
+     * When the main space has no capacity, as with the LRU policy, the candidate is
+     * always evicted.
+     */
+    private void admit(CacheNode<K, V> candidate) {
+        if (candidate.weight > mainMaximum) {
+            evictNode(candidate);
+            return;
+        }
+        while (probation.weight() + protectedSegment.weight() + candidate.weight > mainMaximum) {
+            CacheNode<K, V> victim = probation.peekFirst();
+            if (victim == null) {
+                victim = protectedSegment.peekFirst();
+            }
+            if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+                dequeOf(victim).remove(victim);
+                evictNode(victim);
+            } else {
+                evictNode(candidate);
+                return;
+            }
+        }
+        candidate.region = CacheNode.Region.PROBATION;
+        probation.addLast(candidate);
+    }
+
+    /**
+     * Removes the given node, which is not in any deque anymore, from the
+     * index and notifies the eviction listener.
+     */
+    private void evictNode(CacheNode<K, V> node) {
+        index.remove(node.key);
+        evictionCount++;
+        evictionListener.onEviction(node.key, node.value);
+    }
+
+    /**
+     * Class BoundedCacheIterator is used to represent the iterator that traverses
+     * the cache contents: the window first, then probation, then the protected segment,
+     * each from the least to the most recently used entry.
+     */
+    private class BoundedCacheIterator implements Iterator<Map.Entry<K, V>> {
+        private final SimpleEntry<K, V>[] entries;
+        private int current;
+
+        public BoundedCacheIterator() {
+            entries = new SimpleEntry[BoundedCache.this.size()];
+            current = 0;
+            addAll(window);
+            addAll(probation);
+            addAll(protectedSegment);
+            current = 0;
+        }
+
+        private void addAll(AccessOrderDeque<K, V> deque) {
+            for (CacheNode<K, V> node = deque.peekFirst(); node != null; node = deque.successor(node)) {
+                entries[current++] = new SimpleEntry<>(node.key, node.value);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current < entries.length;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return entries[current++];
+        }
+    }
+}
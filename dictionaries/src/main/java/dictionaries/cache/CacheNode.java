@@ -0,0 +1,36 @@
+package dictionaries.cache;
+
+/**
+ * Class CacheNode represents an entry of a {@link BoundedCache}. It is also a
+ * doubly-linked node so the entry can be unlinked from the access order of the
+ * cache in constant time without searching for it.
+ *
+ * @param <K> The data type of the key.
+ * @param <V> The data type of the value.
+ */
+class CacheNode<K, V> {
+    K key;
+    V value;
+    int weight;
+    Region region;
+    CacheNode<K, V> prev;
+    CacheNode<K, V> next;
+
+    CacheNode(K key, V value, int weight) {
+        this.key = key;
+        this.value = value;
+        this.weight = weight;
+        this.region = null;
+        this.prev = null;
+        this.next = null;
+    }
+
+    /**
+     * The part of the cache that a node currently lives in.
+     */
+    enum Region {
+        WINDOW,
+        PROBATION,
+        PROTECTED
+    }
+}
@@ -0,0 +1,18 @@
+package dictionaries.cache;
+
+/**
+ * Interface EvictionListener is notified every time a {@link BoundedCache}
+ * evicts an entry to stay within its maximum weight. It is not notified for
+ * entries that are removed explicitly.
+ *
+ * @param <K> The data type of the key.
+ * @param <V> The data type of the value.
+ */
+@FunctionalInterface
+public interface EvictionListener<K, V> {
+
+    /**
+     * Called after the entry with the given key and value was evicted from the cache.
+     */
+    void onEviction(K key, V value);
+}
@@ -0,0 +1,348 @@
+package dictionaries.cache;
+
+import dictionaries.AbstractIterableMap;
+import dictionaries.ChainedHashMap;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Class ExpiringMap is a Map whose entries are removed once their time to live
+ * has passed. It uses my implementation {@link ChainedHashMap} to find entries and
+ * a {@link TimerWheel} to expire them, so scheduling and expiring an entry are done
+ * in constant time and the map is never swept as a whole.
+ *
+ * Expired entries are removed a little at a time as part of every operation on the
+ * map. An entry that has expired is never returned, even if it was not removed yet.
+ * For maps that can go idle for a long time, {@link #startReaper(long, TimeUnit)}
+ * starts a background thread that removes expired entries periodically. All the
+ * operations are synchronized so they are safe to use alongside the reaper.
+ *
+ * Each expired entry is handed to an {@link EvictionListener}. It does not allow
+ * for null keys.
+ *
+ * For more documentation, see {@link AbstractIterableMap}.
+ * @param <K> The data type of the key.
+ * @param <V> The data type of the value.
+ */
+public class ExpiringMap<K extends Comparable<? super K>, V> extends AbstractIterableMap<K, V> {
+    private final ChainedHashMap<K, ExpiringNode<K, V>> index;      // Finds the node of every key.
+    private final TimerWheel<K, V> timerWheel;                      // Expires the nodes.
+    private final Ticker ticker;
+    private final long defaultTimeToLive;                           // In nanoseconds.
+    private final EvictionListener<? super K, ? super V> evictionListener;
+    private ScheduledExecutorService reaper;
+
+    /**
+     * Constructs an ExpiringMap whose entries live for the given duration unless
+     * another one is given when putting them.
+     *
+     * @param defaultTimeToLive how long entries live by default.
+     * @param unit the unit of the given defaultTimeToLive.
+     */
+    public ExpiringMap(long defaultTimeToLive, TimeUnit unit) {
+        this(defaultTimeToLive, unit, Ticker.systemTicker(), (key, value) -> { });
+    }
+
+    /**
+     * Constructs an ExpiringMap with the given parameters.
+     *
+     * @param defaultTimeToLive how long entries live by default.
+     * @param unit the unit of the given defaultTimeToLive.
+     * @param ticker the time source of the map.
+     * @param evictionListener is notified of every expired entry.
+     * @throws IllegalArgumentException if the given defaultTimeToLive is negative.
+     */
+    public ExpiringMap(long defaultTimeToLive, TimeUnit unit, Ticker ticker,
+                       EvictionListener<? super K, ? super V> evictionListener) {
+        if (defaultTimeToLive < 0) {
+            throw new IllegalArgumentException();
+        }
+        this.index = new ChainedHashMap<>();
+        this.ticker = ticker;
+        this.timerWheel = new TimerWheel<>(ticker.read(), this::expire);
+        this.defaultTimeToLive = unit.toNanos(defaultTimeToLive);
+        this.evictionListener = evictionListener;
+        this.reaper = null;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped,
+     * or {@code null} if this map contains no mapping for the key
+     * or if its mapping has expired.
+     *
+     * @param key the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or
+     * {@code null} if this map contains no mapping for the key
+     */
+    @Override
+    public synchronized V get(Object key) {
+        long currentTime = expireEntries();
+        ExpiringNode<K, V> node = getNode(key, currentTime);
+        if (node == null) {
+            return null;
+        }
+        return node.value;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map, living
+     * for the default time to live. If the map previously contained a mapping for
+     * the key, the old value is replaced by the specified value and its time to
+     * live starts over.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param value value to be associated with the specified key
+     * @return the previous value associated with {@code key}, or
+     *         {@code null} if there was no mapping for {@code key}.
+     * @throws NullPointerException if the given key is {@code null}
+     */
+    @Override
+    public V put(K key, V value) {
+        return put(key, value, defaultTimeToLive, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map, living
+     * for the given duration. If the map previously contained a mapping for
+     * the key, the old value is replaced by the specified value.
+     *
+     * @param key key with which the specified value is to be associated
+     * @param value value to be associated with the specified key
+     * @param timeToLive how long the entry lives.
+     * @param unit the unit of the given timeToLive.
+     * @return the previous value associated with {@code key}, or
+     *         {@code null} if there was no mapping for {@code key}.
+     * @throws NullPointerException if the given key is {@code null}
+     * @throws IllegalArgumentException if the given timeToLive is negative
+     */
+    public synchronized V put(K key, V value, long timeToLive, TimeUnit unit) {
+        if (key == null) {
+            throw new NullPointerException();
+        }
+        if (timeToLive < 0) {
+            throw new IllegalArgumentException();
+        }
+        long currentTime = expireEntries();
+        long expirationTime = expirationTime(currentTime, unit.toNanos(timeToLive));
+        ExpiringNode<K, V> node = index.get(key);
+        V oldValue = null;
+        if (node == null) {
+            node = new ExpiringNode<>(key, value, expirationTime);
+            index.put(key, node);
+        } else {        // Reuse the node, even if it expired and was not removed yet.
+            if (node.expirationTime - currentTime > 0) {
+                oldValue = node.value;
+            } else {
+                evictionListener.onEviction(node.key, node.value);
+            }
+            node.value = value;
+            node.expirationTime = expirationTime;
+            timerWheel.deschedule(node);
+        }
+        timerWheel.schedule(node);
+        return oldValue;
+    }
+
+    /**
+     * Removes the mapping for a key from this map if it is present. The
+     * eviction listener is not notified of removed entries.
+     *
+     * @param key key whose mapping is to be removed from the map
+     * @return the previous value associated with {@code key}, or
+     *         {@code null} if there was no mapping for {@code key}
+     *         or if its mapping has expired.
+     */
+    @Override
+    public synchronized V remove(Object key) {
+        long currentTime = expireEntries();
+        ExpiringNode<K, V> node = getNode(key, currentTime);
+        if (node == null) {
+            return null;
+        }
+        index.remove(key);
+        timerWheel.deschedule(node);
+        return node.value;
+    }
+
+    /**
+     * Removes all the mappings from this map.
+     * The map will be empty after this call returns.
+     */
+    @Override
+    public synchronized void clear() {
+        for (Map.Entry<K, ExpiringNode<K, V>> entry : index) {
+            timerWheel.deschedule(entry.getValue());
+        }
+        index.clear();
+    }
+
+    /**
+     * Returns {@code true} if this map contains a mapping for the specified
+     * key that has not expired.
+     *
+     * @param key key whose presence in this map is to be tested
+     * @return {@code true} if this map contains a mapping for the specified
+     * key
+     */
+    @Override
+    public synchronized boolean containsKey(Object key) {
+        long currentTime = expireEntries();
+        return getNode(key, currentTime) != null;
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map. Entries that expired
+     * within the last tick of the timer wheel (about a second) can still be counted.
+     *
+     * @return the number of key-value mappings in this map
+     */
+    @Override
+    public synchronized int size() {
+        expireEntries();
+        return index.size();
+    }
+
+    /**
+     * Returns an iterator that, when used, will yield all key-value
+     * mappings contained within this map that have not expired.
+     */
+    @Override
+    public synchronized Iterator<Map.Entry<K, V>> iterator() {
+        return new ExpiringMapIterator(expireEntries());
+    }
+
+    /**
+     * Starts a daemon thread that removes expired entries every given period, so
+     * they don't stay in memory while the map is not being used. Does nothing if
+     * the reaper is already running.
+     *
+     * @param period the time between two runs of the reaper.
+     * @param unit the unit of the given period.
+     */
+    public synchronized void startReaper(long period, TimeUnit unit) {
+        if (reaper != null) {
+            return;
+        }
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ExpiringMap-reaper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        reaper = executor;
+        executor.scheduleAtFixedRate(() -> reap(executor), period, period, unit);
+    }
+
+    /**
+     * Stops the reaper started by {@link #startReaper(long, TimeUnit)}, if any. The
+     * reaper does not remove any entry once this returns.
+     */
+    public synchronized void stopReaper() {
+        if (reaper != null) {
+            reaper.shutdownNow();
+            reaper = null;
+        }
+    }
+
+    /**
+     * Removes every entry whose time to live has passed.
+     */
+    public synchronized void cleanUp() {
+        expireEntries();
+    }
+
+    /**
+     * Removes every entry whose time to live has passed, unless the given reaper was
+     * stopped while this run was waiting for the lock.
+     */
+    private synchronized void reap(ScheduledExecutorService executor) {
+        if (reaper == executor) {
+            expireEntries();
+        }
+    }
+
+    /**
+     * Advances the timer wheel to the current time and returns that time.
+     */
+    private long expireEntries() {
+        long currentTime = ticker.read();
+        timerWheel.advance(currentTime);
+        return currentTime;
+    }
+
+    /**
+     * Returns the time at which an entry put at the given time expires. A time to live
+     * that reaches past the latest representable time is cut short to that time, instead
+     * of wrapping around into the past.
+     */
+    private static long expirationTime(long currentTime, long timeToLive) {
+        try {
+            return Math.addExact(currentTime, timeToLive);
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Returns the node of the given key, or {@code null} if there is none or if it
+     * has expired at the given time.
+     */
+    private ExpiringNode<K, V> getNode(Object key, long currentTime) {
+        if (key == null) {
+            return null;
+        }
+        ExpiringNode<K, V> node = index.get(key);
+        if (node == null || node.expirationTime - currentTime <= 0) {
+            return null;
+        }
+        return node;
+    }
+
+    /**
+     * Removes the given node, which was expired by the timer wheel, from the
+     * index and notifies the eviction listener.
+     */
+    private void expire(ExpiringNode<K, V> node) {
+        index.remove(node.key);
+        evictionListener.onEviction(node.key, node.value);
+    }
+
+    /**
+     * Class ExpiringMapIterator is used to represent the iterator that traverses
+     * the contents of the map that had not expired when it was created.
+     */
+    private class ExpiringMapIterator implements Iterator<Map.Entry<K, V>> {
+        private final SimpleEntry<K, V>[] entries;
+        private int current;
+        private int size;
+
+        public ExpiringMapIterator(long currentTime) {
+            entries = new SimpleEntry[index.size()];
+            size = 0;
+            for (Map.Entry<K, ExpiringNode<K, V>> entry : index) {
+                ExpiringNode<K, V> node = entry.getValue();
+                if (node.expirationTime - currentTime > 0) {
+                    entries[size++] = new SimpleEntry<>(node.key, node.value);
+                }
+            }
+            current = 0;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return current < size;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return entries[current++];
+        }
+    }
+}
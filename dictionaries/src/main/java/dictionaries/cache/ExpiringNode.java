@@ -0,0 +1,25 @@
+package dictionaries.cache;
+
+/**
+ * Class ExpiringNode represents an entry of an {@link ExpiringMap}. It is also a
+ * doubly-linked node so the entry can be unlinked from the bucket of the
+ * {@link TimerWheel} it is scheduled in without searching for it.
+ *
+ * @param <K> The data type of the key.
+ * @param <V> The data type of the value.
+ */
+class ExpiringNode<K, V> {
+    K key;
+    V value;
+    long expirationTime;
+    ExpiringNode<K, V> prev;
+    ExpiringNode<K, V> next;
+
+    ExpiringNode(K key, V value, long expirationTime) {
+        this.key = key;
+        this.value = value;
+        this.expirationTime = expirationTime;
+        this.prev = null;
+        this.next = null;
+    }
+}
@@ -0,0 +1,127 @@
+package dictionaries.cache;
+
+/**
+ * Class FrequencySketch is a Count-Min Sketch that estimates how often each key
+ * was seen recently. It is used by {@link BoundedCache} to decide whether a new
+ * entry is worth keeping over the entry that would be evicted for it.
+ *
+ * Each key maps to one 4-bit counter in each of four rows, and its frequency is the
+ * smallest of those counters, so the estimate can be too high but never too low.
+ * Sixteen counters are packed in every long. Once the number of increments reaches
+ * ten times the width of the sketch, every counter is halved so old popularity fades.
+ */
+class FrequencySketch {
+    private static final long RESET_MASK = 0x7777777777777777L;     // Clears the top bit of every counter.
+    private static final long[] SEEDS = {                           // One seed for each row.
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final int MAXIMUM_COUNT = 15;
+
+    private long[] table;               // Contains the counters.
+    private int sampleSize;             // The number of increments after which the counters are halved.
+    private int additions;              // The number of increments since the last halving.
+
+    /**
+     * Constructs a FrequencySketch wide enough to tell apart about the given number of keys.
+     *
+     * @param maximumSize the number of keys the sketch is expected to track.
+     */
+    FrequencySketch(long maximumSize) {
+        ensureCapacity(maximumSize);
+    }
+
+    /**
+     * Grows the sketch so it can track the given number of keys. The width of the
+     * sketch only ever doubles, and since a counter is found from the low bits of a
+     * hash, both halves of the new table start as copies of the old one, so every
+     * frequency seen so far is kept.
+     *
+     * @param maximumSize the number of keys the sketch is expected to track.
+     */
+    void ensureCapacity(long maximumSize) {
+        int capacity = (int) Math.min(Math.max(maximumSize, 16), 1 << 24);
+        if (table != null && table.length >= capacity) {
+            return;
+        }
+        long[] oldTable = table;
+        table = new long[Integer.highestOneBit(capacity - 1) << 1];
+        sampleSize = (int) Math.min(10L * table.length, Integer.MAX_VALUE);
+        if (oldTable == null) {
+            additions = 0;
+            return;
+        }
+        for (int i = 0; i < table.length; i += oldTable.length) {
+            System.arraycopy(oldTable, 0, table, i, oldTable.length);
+        }
+    }
+
+    /**
+     * Returns the estimated number of times the given key was seen, up to 15.
+     */
+    int frequency(Object key) {
+        int hash = spread(key.hashCode());
+        int frequency = MAXIMUM_COUNT;
+        for (int row = 0; row < SEEDS.length; row++) {
+            int index = indexOf(hash, row);
+            int offset = offsetOf(hash, row);
+            int count = (int) ((table[index] >>> offset) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Records that the given key was seen once more.
+     */
+    void increment(Object key) {
+        int hash = spread(key.hashCode());
+        boolean added = false;
+        for (int row = 0; row < SEEDS.length; row++) {
+            int index = indexOf(hash, row);
+            int offset = offsetOf(hash, row);
+            if (((table[index] >>> offset) & 0xfL) != MAXIMUM_COUNT) {
+                table[index] += 1L << offset;
+                added = true;
+            }
+        }
+        if (added && ++additions == sampleSize) {
+            reset();
+        }
+    }
+
+    /**
+     * Halves every counter of the sketch.
+     */
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions = additions / 2;
+    }
+
+    /**
+     * Returns the index of the long that holds the counter of the given row.
+     */
+    private int indexOf(int hash, int row) {
+        long h = (hash + SEEDS[row]) * SEEDS[row];
+        h += h >>> 32;
+        return ((int) h) & (table.length - 1);
+    }
+
+    /**
+     * Returns the bit offset of the counter of the given row. Every row uses its own
+     * group of four counters within a long.
+     */
+    private int offsetOf(int hash, int row) {
+        int counter = (row << 2) + ((hash >>> (row << 3)) & 3);
+        return counter << 2;
+    }
+
+    /**
+     * Mixes the bits of the given hash code so poor hash codes are spread out.
+     */
+    private static int spread(int hash) {
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        hash = ((hash >>> 16) ^ hash) * 0x45d9f3b;
+        return (hash >>> 16) ^ hash;
+    }
+}
@@ -0,0 +1,21 @@
+package dictionaries.cache;
+
+/**
+ * Interface Ticker is the time source of an {@link ExpiringMap}. It can be replaced
+ * to control the passing of time, for example in tests.
+ */
+@FunctionalInterface
+public interface Ticker {
+
+    /**
+     * Returns the number of nanoseconds elapsed since some fixed but arbitrary point in time.
+     */
+    long read();
+
+    /**
+     * Returns a ticker that reads {@link System#nanoTime()}.
+     */
+    static Ticker systemTicker() {
+        return System::nanoTime;
+    }
+}
@@ -0,0 +1,149 @@
+package dictionaries.cache;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Class TimerWheel is a hierarchical timing wheel used by {@link ExpiringMap} to
+ * expire its entries. Each wheel is an array of buckets that covers a range of time,
+ * and the buckets are doubly-linked lists of the nodes that expire in that slice of
+ * time. Near deadlines go in the fine-grained wheels and far deadlines in the coarse
+ * ones, so scheduling and cancelling a node are done in constant time.
+ *
+ * When time advances, only the buckets whose slice of time has passed are visited.
+ * Their nodes are either expired or scheduled again in a finer wheel, so every node
+ * is moved at most once per wheel during its lifetime.
+ *
+ * @param <K> The data type of the key.
+ * @param <V> The data type of the value.
+ */
+class TimerWheel<K, V> {
+    private static final int[] BUCKETS = {64, 64, 32, 4, 1};
+    private static final long[] SPANS = {
+            Long.highestOneBit(TimeUnit.SECONDS.toNanos(1)) << 1,           // 1.07 seconds
+            Long.highestOneBit(TimeUnit.MINUTES.toNanos(1)) << 1,           // 1.14 minutes
+            Long.highestOneBit(TimeUnit.HOURS.toNanos(1)) << 1,             // 1.22 hours
+            Long.highestOneBit(TimeUnit.DAYS.toNanos(1)) << 1,              // 1.63 days
+            BUCKETS[3] * (Long.highestOneBit(TimeUnit.DAYS.toNanos(1)) << 1),  // 6.5 days
+            BUCKETS[3] * (Long.highestOneBit(TimeUnit.DAYS.toNanos(1)) << 1)   // 6.5 days
+    };
+    private static final long[] SHIFT = {
+            Long.numberOfTrailingZeros(SPANS[0]),
+            Long.numberOfTrailingZeros(SPANS[1]),
+            Long.numberOfTrailingZeros(SPANS[2]),
+            Long.numberOfTrailingZeros(SPANS[3]),
+            Long.numberOfTrailingZeros(SPANS[4])
+    };
+
+    private final ExpiringNode<K, V>[][] wheel;     // Contains a sentinel for every bucket.
+    private final Consumer<ExpiringNode<K, V>> onExpiration;
+    private long nanos;                             // The time the wheel was last advanced to.
+
+    /**
+     * Constructs a TimerWheel that starts at the given time.
+     *
+     * @param currentTime the current time, in nanoseconds.
+     * @param onExpiration called with every node that expires while advancing.
+     */
+    TimerWheel(long currentTime, Consumer<ExpiringNode<K, V>> onExpiration) {
+        this.wheel = new ExpiringNode[BUCKETS.length][];
+        for (int i = 0; i < BUCKETS.length; i++) {
+            wheel[i] = new ExpiringNode[BUCKETS[i]];
+            for (int j = 0; j < BUCKETS[i]; j++) {
+                ExpiringNode<K, V> sentinel = new ExpiringNode<>(null, null, 0);
+                sentinel.prev = sentinel;
+                sentinel.next = sentinel;
+                wheel[i][j] = sentinel;
+            }
+        }
+        this.onExpiration = onExpiration;
+        this.nanos = currentTime;
+    }
+
+    /**
+     * Adds the given node, which must not be scheduled, to the bucket that covers
+     * its expiration time.
+     */
+    void schedule(ExpiringNode<K, V> node) {
+        ExpiringNode<K, V> sentinel = findBucket(node.expirationTime);
+        node.prev = sentinel.prev;
+        node.next = sentinel;
+        sentinel.prev.next = node;
+        sentinel.prev = node;
+    }
+
+    /**
+     * Removes the given node from the bucket it is scheduled in.
+     */
+    void deschedule(ExpiringNode<K, V> node) {
+        if (node.next != null) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+            node.prev = null;
+            node.next = null;
+        }
+    }
+
+    /**
+     * Advances the wheel to the given time, expiring every node whose expiration time
+     * has been reached and moving the rest of the visited nodes to finer buckets.
+     */
+    void advance(long currentTime) {
+        long previousTime = nanos;
+        nanos = currentTime;
+        for (int i = 0; i < SHIFT.length; i++) {
+            long previousTicks = previousTime >>> SHIFT[i];
+            long currentTicks = currentTime >>> SHIFT[i];
+            long delta = currentTicks - previousTicks;
+            if (delta <= 0) {       // Coarser wheels can't have moved either.
+                break;
+            }
+            expire(i, previousTicks, delta);
+        }
+    }
+
+    /**
+     * Empties the buckets of the given wheel that were passed over by the given
+     * number of ticks, expiring or rescheduling each of their nodes.
+     */
+    private void expire(int index, long previousTicks, long delta) {
+        ExpiringNode<K, V>[] timerWheel = wheel[index];
+        int mask = timerWheel.length - 1;
+        int steps = (int) Math.min(1 + delta, timerWheel.length);
+        int start = (int) (previousTicks & mask);
+        int end = start + steps;
+        for (int i = start; i < end; i++) {
+            ExpiringNode<K, V> sentinel = timerWheel[i & mask];
+            ExpiringNode<K, V> node = sentinel.next;
+            sentinel.prev = sentinel;
+            sentinel.next = sentinel;
+            while (node != sentinel) {
+                ExpiringNode<K, V> next = node.next;
+                node.prev = null;
+                node.next = null;
+                if (node.expirationTime - nanos <= 0) {
+                    onExpiration.accept(node);
+                } else {
+                    schedule(node);
+                }
+                node = next;
+            }
+        }
+    }
+
+    /**
+     * Returns the sentinel of the bucket that covers the given expiration time.
+     */
+    private ExpiringNode<K, V> findBucket(long time) {
+        long duration = time - nanos;
+        int length = wheel.length - 1;
+        for (int i = 0; i < length; i++) {
+            if (duration < SPANS[i + 1]) {
+                long ticks = time >>> SHIFT[i];
+                int index = (int) (ticks & (wheel[i].length - 1));
+                return wheel[i][index];
+            }
+        }
+        return wheel[length][0];
+    }
+}
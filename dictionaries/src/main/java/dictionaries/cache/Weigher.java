@@ -0,0 +1,18 @@
+package dictionaries.cache;
+
+/**
+ * Interface Weigher computes how much of the capacity of a {@link BoundedCache}
+ * an entry takes. The weight of an entry is computed when it is put in the cache.
+ *
+ * @param <K> The data type of the key.
+ * @param <V> The data type of the value.
+ */
+@FunctionalInterface
+public interface Weigher<K, V> {
+
+    /**
+     * Returns the weight of the entry with the given key and value.
+     * The weight must not be negative.
+     */
+    int weigh(K key, V value);
+}
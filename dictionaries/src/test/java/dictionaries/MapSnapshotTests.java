@@ -0,0 +1,215 @@
+package dictionaries;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MapSnapshotTests {
+    @TempDir
+    Path directory;
+
+    private AVLTreeMap<Integer, String> createTreeMap() {
+        AVLTreeMap<Integer, String> map = new AVLTreeMap<>();
+        for (int i = 0; i < 1000; i++) {
+            map.put(i * 2, "value" + i);
+        }
+        return map;
+    }
+
+    @Test
+    void readAVLTreeMap_returnsSameEntries() throws IOException {
+        AVLTreeMap<Integer, String> map = createTreeMap();
+        Path path = directory.resolve("tree.snapshot");
+        MapSnapshot.write(map, path, Codecs.INTEGER, Codecs.STRING);
+        AVLTreeMap<Integer, String> output = MapSnapshot.readAVLTreeMap(path, Codecs.INTEGER, Codecs.STRING);
+        assertThat((Map<Integer, String>) output).containsExactlyEntriesOf(map);
+    }
+
+    @Test
+    void readChainedHashMap_returnsSameEntries() throws IOException {
+        ChainedHashMap<Integer, String> map = new ChainedHashMap<>();
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, "value" + i);
+        }
+        Path path = directory.resolve("hash.snapshot");
+        MapSnapshot.write(map, path, Codecs.INTEGER, Codecs.STRING);
+        Map<Integer, String> output = MapSnapshot.readChainedHashMap(path, Codecs.INTEGER, Codecs.STRING);
+        assertThat(output).containsExactlyInAnyOrderEntriesOf(map);
+    }
+
+    @Test
+    void openSorted_getsEveryKey() throws IOException {
+        AVLTreeMap<Integer, String> map = createTreeMap();
+        Path path = directory.resolve("tree.snapshot");
+        MapSnapshot.write(map, path, Codecs.INTEGER, Codecs.STRING);
+        MappedSortedMap<Integer, String> output = MapSnapshot.openSorted(path, Codecs.INTEGER, Codecs.STRING);
+        for (int i = 0; i < 2000; i++) {
+            assertThat(output.get(i)).isEqualTo(map.get(i));
+        }
+        assertThat((Map<Integer, String>) output).containsExactlyEntriesOf(map);
+    }
+
+    @Test
+    void openSorted_unsortedSnapshot_throwsIOException() throws IOException {
+        ChainedHashMap<Integer, String> map = new ChainedHashMap<>();
+        map.put(2, "two");
+        map.put(1, "one");
+        map.put(11, "eleven");
+        Path path = directory.resolve("hash.snapshot");
+        MapSnapshot.write(map, path, Codecs.INTEGER, Codecs.STRING);
+        assertThatThrownBy(() -> MapSnapshot.openSorted(path, Codecs.INTEGER, Codecs.STRING))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void write_failingCodec_keepsPreviousSnapshot() throws IOException {
+        AVLTreeMap<Integer, String> map = createTreeMap();
+        Path path = directory.resolve("tree.snapshot");
+        MapSnapshot.write(map, path, Codecs.INTEGER, Codecs.STRING);
+        byte[] previous = Files.readAllBytes(path);
+        Codec<String> failingCodec = new Codec<String>() {
+            @Override
+            public void write(String value, DataOutput out) throws IOException {
+                if (value.equals("value500")) {
+                    throw new IOException("Disk full");
+                }
+                Codecs.STRING.write(value, out);
+            }
+
+            @Override
+            public String read(ByteBuffer buffer) {
+                return Codecs.STRING.read(buffer);
+            }
+        };
+        assertThatThrownBy(() -> MapSnapshot.write(map, path, Codecs.INTEGER, failingCodec))
+                .isInstanceOf(IOException.class);
+        assertThat(Files.readAllBytes(path)).isEqualTo(previous);
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).containsExactly(path);
+        }
+    }
+
+    @Test
+    void read_footerCountBeyondFile_throwsIOException() throws IOException {
+        Path path = directory.resolve("tree.snapshot");
+        MapSnapshot.write(createTreeMap(), path, Codecs.INTEGER, Codecs.STRING);
+        byte[] bytes = Files.readAllBytes(path);
+        ByteBuffer.wrap(bytes).putInt(bytes.length - MapSnapshot.FOOTER_SIZE + 4, 1_000_000);
+        Files.write(path, bytes);
+        assertThatThrownBy(() -> MapSnapshot.readAVLTreeMap(path, Codecs.INTEGER, Codecs.STRING))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> MapSnapshot.readChainedHashMap(path, Codecs.INTEGER, Codecs.STRING))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> MapSnapshot.openSorted(path, Codecs.INTEGER, Codecs.STRING))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void read_corruptEntry_throwsIOException() throws IOException {
+        Path path = directory.resolve("tree.snapshot");
+        MapSnapshot.write(createTreeMap(), path, Codecs.INTEGER, Codecs.STRING);
+        byte[] bytes = Files.readAllBytes(path);
+        ByteBuffer.wrap(bytes).putInt(MapSnapshot.HEADER_SIZE + 4, Integer.MAX_VALUE);   // Length of the first value.
+        Files.write(path, bytes);
+        assertThatThrownBy(() -> MapSnapshot.readAVLTreeMap(path, Codecs.INTEGER, Codecs.STRING))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> MapSnapshot.read(path, Codecs.INTEGER, Codecs.STRING, ChainedHashMap::new))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void openSorted_offsetOutOfPlace_throwsIOException() throws IOException {
+        Path path = directory.resolve("tree.snapshot");
+        MapSnapshot.write(createTreeMap(), path, Codecs.INTEGER, Codecs.STRING);
+        byte[] bytes = Files.readAllBytes(path);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int offsetsPosition = (int) buffer.getLong(bytes.length - MapSnapshot.FOOTER_SIZE + 8);
+        buffer.putLong(offsetsPosition + MapSnapshot.OFFSET_SIZE * 10, bytes.length);
+        Files.write(path, bytes);
+        assertThatThrownBy(() -> MapSnapshot.openSorted(path, Codecs.INTEGER, Codecs.STRING))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void read_smallSegments_returnsSameEntries() throws IOException {
+        AVLTreeMap<Integer, String> map = createTreeMap();
+        Path path = directory.resolve("tree.snapshot");
+        MapSnapshot.write(map, path, Codecs.INTEGER, Codecs.STRING);
+        assertThat(Files.size(path)).isGreaterThan(10 * 1000);
+        AVLTreeMap<Integer, String> tree = MapSnapshot.readAVLTreeMap(path, Codecs.INTEGER, Codecs.STRING, 1000);
+        assertThat((Map<Integer, String>) tree).containsExactlyEntriesOf(map);
+        Map<Integer, String> hash = MapSnapshot.readChainedHashMap(path, Codecs.INTEGER, Codecs.STRING, 1000);
+        assertThat(hash).containsExactlyInAnyOrderEntriesOf(map);
+        MappedSortedMap<Integer, String> output = MapSnapshot.openSorted(path, Codecs.INTEGER, Codecs.STRING, 1000);
+        for (int i = 0; i < 2000; i++) {
+            assertThat(output.get(i)).isEqualTo(map.get(i));
+        }
+        assertThat((Map<Integer, String>) output).containsExactlyEntriesOf(map);
+    }
+
+    @Test
+    void read_entryBiggerThanSegment_throwsIOException() throws IOException {
+        AVLTreeMap<Integer, String> map = createTreeMap();
+        StringBuilder value = new StringBuilder();
+        for (int i = 0; i < 2000; i++) {
+            value.append('x');
+        }
+        map.put(-1, value.toString());
+        Path path = directory.resolve("tree.snapshot");
+        MapSnapshot.write(map, path, Codecs.INTEGER, Codecs.STRING);
+        assertThatThrownBy(() -> MapSnapshot.readAVLTreeMap(path, Codecs.INTEGER, Codecs.STRING, 1000))
+                .isInstanceOf(IOException.class);
+        assertThat(MapSnapshot.openSorted(path, Codecs.INTEGER, Codecs.STRING, 4000).get(-1))
+                .isEqualTo(value.toString());
+    }
+
+    @Test
+    void readSorted_keyOutOfOrder_throwsIOException() throws IOException {
+        AVLTreeMap<Integer, Integer> map = new AVLTreeMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        Path path = directory.resolve("tree.snapshot");
+        MapSnapshot.write(map, path, Codecs.INTEGER, Codecs.INTEGER);
+        byte[] bytes = Files.readAllBytes(path);
+        ByteBuffer.wrap(bytes).putInt(MapSnapshot.HEADER_SIZE + 8 * 50, 1_000_000);    // Key of entry 50.
+        Files.write(path, bytes);
+        assertThatThrownBy(() -> MapSnapshot.readAVLTreeMap(path, Codecs.INTEGER, Codecs.INTEGER))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> MapSnapshot.openSorted(path, Codecs.INTEGER, Codecs.INTEGER))
+                .isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void readSorted_codecOrderingDifferently_throwsIOException() throws IOException {
+        Path path = directory.resolve("tree.snapshot");
+        MapSnapshot.write(createTreeMap(), path, Codecs.INTEGER, Codecs.STRING);
+        Codec<Integer> negatingCodec = new Codec<Integer>() {
+            @Override
+            public void write(Integer value, DataOutput out) throws IOException {
+                out.writeInt(-value);
+            }
+
+            @Override
+            public Integer read(ByteBuffer buffer) {
+                return -buffer.getInt();
+            }
+        };
+        assertThatThrownBy(() -> MapSnapshot.readAVLTreeMap(path, negatingCodec, Codecs.STRING))
+                .isInstanceOf(IOException.class);
+        assertThatThrownBy(() -> MapSnapshot.openSorted(path, negatingCodec, Codecs.STRING))
+                .isInstanceOf(IOException.class);
+        assertThat((Map<Integer, String>) MapSnapshot.readChainedHashMap(path, negatingCodec, Codecs.STRING))
+                .hasSize(1000);
+    }
+}
@@ -0,0 +1,78 @@
+package dictionaries;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MapStatsTests {
+
+    @Test
+    void chainedHashMap_statsDisabled_recordsNothing() {
+        ChainedHashMap<Integer, Integer> map = new ChainedHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+            map.get(i);
+        }
+        MapStats stats = map.stats();
+        assertThat(stats.getGetCount()).isEqualTo(0);
+        assertThat(stats.getResizeCount()).isEqualTo(0);
+        assertThat(stats.getSize()).isEqualTo(100);
+    }
+
+    @Test
+    void chainedHashMap_statsEnabled_recordsGetsAndResizes() {
+        ChainedHashMap<Integer, Integer> map = new ChainedHashMap<>();
+        map.setStatsEnabled(true);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        for (int i = 0; i < 100; i++) {
+            map.get(i);
+        }
+        MapStats stats = map.stats();
+        assertThat(stats.getGetCount()).isEqualTo(100);
+        assertThat(stats.getAverageGetComparisons()).isGreaterThanOrEqualTo(1);
+        assertThat(stats.getResizeCount()).isEqualTo(4);
+        long entries = 0;
+        long[] histogram = stats.getChainLengthHistogram();
+        for (int length = 0; length < histogram.length; length++) {
+            entries += length * histogram[length];
+        }
+        assertThat(entries).isEqualTo(100);
+    }
+
+    @Test
+    void avlTreeMap_statsEnabled_recordsRotationsAndHeight() {
+        AVLTreeMap<Integer, Integer> map = new AVLTreeMap<>();
+        map.setStatsEnabled(true);
+        for (int i = 0; i < 1023; i++) {
+            map.put(i, i);
+        }
+        MapStats stats = map.stats();
+        assertThat(stats.getRotationCount()).isGreaterThan(0);
+        assertThat(stats.getHeight()).isEqualTo(9);
+    }
+
+    @Test
+    void binarySearchTreeMap_sortedInserts_reportsDegenerateHeight() {
+        BinarySearchTreeMap<Integer, Integer> map = new BinarySearchTreeMap<>();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        assertThat(map.stats().getHeight()).isEqualTo(99);
+    }
+
+    @Test
+    void counts_omitsShape() {
+        SplayTreeMap<Integer, Integer> map = new SplayTreeMap<>();
+        map.setStatsEnabled(true);
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i);
+        }
+        MapStats counts = map.counts();
+        assertThat(counts.getSize()).isEqualTo(100);
+        assertThat(counts.getHeight()).isEqualTo(-1);
+        assertThat(counts.getChainLengthHistogram()).isEmpty();
+        assertThat(map.height()).isEqualTo(map.stats().getHeight()).isGreaterThanOrEqualTo(6);
+    }
+}
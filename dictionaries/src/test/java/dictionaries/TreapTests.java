@@ -0,0 +1,10 @@
+package dictionaries;
+
+import java.util.Map;
+
+public class TreapTests extends BaseTreeTests {
+    @Override
+    protected <K extends Comparable<? super K>, V> Map<K, V> createTreeMap() {
+        return new TreapMap<>();
+    }
+}
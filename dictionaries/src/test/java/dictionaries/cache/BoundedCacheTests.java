@@ -0,0 +1,72 @@
+package dictionaries.cache;
+
+import dictionaries.BaseTreeTests;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BoundedCacheTests extends BaseTreeTests {
+    @Override
+    protected <K extends Comparable<? super K>, V> Map<K, V> createTreeMap() {
+        return new BoundedCache<>(100, BoundedCache.Policy.W_TINY_LFU);
+    }
+
+    @Test
+    void lru_evictsLeastRecentlyUsed() {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(3, BoundedCache.Policy.LRU);
+        cache.put(1, 1);
+        cache.put(2, 2);
+        cache.put(3, 3);
+        cache.get(1);
+        cache.put(4, 4);
+        assertThat((Map<Integer, Integer>) cache).containsOnlyKeys(1, 3, 4);
+        assertThat(cache.evictionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void wTinyLfu_keepsFrequentlyUsedEntries() {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(100, BoundedCache.Policy.W_TINY_LFU);
+        for (int i = 0; i < 10; i++) {
+            cache.put(i, i);
+        }
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 10; i++) {
+                cache.get(i);
+            }
+        }
+        for (int i = 1000; i < 2000; i++) {
+            cache.put(i, i);
+        }
+        for (int i = 0; i < 10; i++) {
+            assertThat((Map<Integer, Integer>) cache).containsKey(i);
+        }
+        assertThat((Map<Integer, Integer>) cache).hasSize(100);
+    }
+
+    @Test
+    void weigher_boundsTotalWeight() {
+        List<Integer> evicted = new ArrayList<>();
+        BoundedCache<Integer, String> cache = new BoundedCache<>(10, BoundedCache.Policy.LRU,
+                (key, value) -> value.length(), (key, value) -> evicted.add(key));
+        cache.put(1, "aaaa");
+        cache.put(2, "bbbb");
+        cache.put(3, "cccc");
+        assertThat(cache.weightedSize()).isEqualTo(8);
+        assertThat(evicted).containsExactly(1);
+    }
+
+    @Test
+    void get_countsHitsAndMisses() {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(10, BoundedCache.Policy.LRU);
+        cache.put(1, 1);
+        cache.get(1);
+        cache.get(2);
+        cache.get(3);
+        assertThat(cache.hitCount()).isEqualTo(1);
+        assertThat(cache.missCount()).isEqualTo(2);
+    }
+}
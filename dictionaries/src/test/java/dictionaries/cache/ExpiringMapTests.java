@@ -0,0 +1,85 @@
+package dictionaries.cache;
+
+import dictionaries.BaseTreeTests;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExpiringMapTests extends BaseTreeTests {
+    private volatile long now = 0;
+
+    @Override
+    protected <K extends Comparable<? super K>, V> Map<K, V> createTreeMap() {
+        return new ExpiringMap<>(1, TimeUnit.HOURS);
+    }
+
+    @Test
+    void get_afterTimeToLive_returnsNull() {
+        ExpiringMap<String, String> map = new ExpiringMap<>(10, TimeUnit.SECONDS, () -> now, (key, value) -> { });
+        map.put(KEY, VAL);
+        now += TimeUnit.SECONDS.toNanos(9);
+        assertThat(map.get(KEY)).isEqualTo(VAL);
+        now += TimeUnit.SECONDS.toNanos(1);
+        assertThat(map.get(KEY)).isNull();
+    }
+
+    @Test
+    void put_withTimeToLive_overridesDefault() {
+        ExpiringMap<String, String> map = new ExpiringMap<>(10, TimeUnit.SECONDS, () -> now, (key, value) -> { });
+        map.put(KEY, VAL, 1, TimeUnit.MINUTES);
+        now += TimeUnit.SECONDS.toNanos(30);
+        assertThat((Map<String, String>) map).containsKey(KEY);
+    }
+
+    @Test
+    void cleanUp_removesExpiredEntries_andNotifiesListener() {
+        List<Integer> expired = new ArrayList<>();
+        ExpiringMap<Integer, Integer> map = new ExpiringMap<>(1, TimeUnit.MINUTES, () -> now,
+                (key, value) -> expired.add(key));
+        for (int i = 0; i < 100; i++) {
+            map.put(i, i, i + 1, TimeUnit.SECONDS);
+        }
+        now += TimeUnit.SECONDS.toNanos(50);
+        map.cleanUp();
+        assertThat((Map<Integer, Integer>) map).hasSize(50);
+        assertThat(expired).hasSize(50);
+    }
+
+    @Test
+    void put_withHugeTimeToLive_doesNotExpire() {
+        now = TimeUnit.DAYS.toNanos(1);
+        ExpiringMap<String, String> map = new ExpiringMap<>(10, TimeUnit.SECONDS, () -> now, (key, value) -> { });
+        map.put(KEY, VAL, Long.MAX_VALUE, TimeUnit.SECONDS);
+        assertThat(map.get(KEY)).isEqualTo(VAL);
+        now += TimeUnit.DAYS.toNanos(1000);
+        map.cleanUp();
+        assertThat(map.get(KEY)).isEqualTo(VAL);
+    }
+
+    @Test
+    void startReaper_removesExpiredEntries_untilStopped() throws InterruptedException {
+        List<Integer> expired = new ArrayList<>();
+        CountDownLatch reaped = new CountDownLatch(1);
+        ExpiringMap<Integer, Integer> map = new ExpiringMap<>(1, TimeUnit.SECONDS, () -> now, (key, value) -> {
+            expired.add(key);
+            reaped.countDown();
+        });
+        map.put(1, 1);
+        map.startReaper(10, TimeUnit.MILLISECONDS);
+        now += TimeUnit.SECONDS.toNanos(2);
+        assertThat(reaped.await(10, TimeUnit.SECONDS)).isTrue();
+        map.stopReaper();
+        map.put(2, 2);
+        now += TimeUnit.SECONDS.toNanos(2);
+        Thread.sleep(100);
+        synchronized (map) {
+            assertThat(expired).containsExactly(1);
+        }
+    }
+}
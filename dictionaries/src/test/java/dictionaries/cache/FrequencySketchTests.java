@@ -0,0 +1,36 @@
+package dictionaries.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class FrequencySketchTests {
+    @Test
+    void frequency_countsIncrements() {
+        FrequencySketch sketch = new FrequencySketch(16);
+        for (int i = 0; i < 5; i++) {
+            sketch.increment("key");
+        }
+        assertThat(sketch.frequency("key")).isEqualTo(5);
+    }
+
+    @Test
+    void ensureCapacity_keepsFrequencies() {
+        FrequencySketch sketch = new FrequencySketch(16);
+        for (int key = 0; key < 10; key++) {
+            for (int i = 0; i <= key; i++) {
+                sketch.increment(key);
+            }
+        }
+        int[] before = new int[10];
+        for (int key = 0; key < 10; key++) {
+            before[key] = sketch.frequency(key);
+        }
+        for (long capacity = 32; capacity <= 4096; capacity *= 2) {
+            sketch.ensureCapacity(capacity);
+        }
+        for (int key = 0; key < 10; key++) {
+            assertThat(sketch.frequency(key)).isEqualTo(before[key]).isGreaterThanOrEqualTo(key + 1);
+        }
+    }
+}
@@ -4,11 +4,19 @@ import java.util.*;
 
 /**
  * Class ArrayHeapMinPQ represents a minimum priority queue.
+ *
+ * The heap is stored in two parallel arrays, one for the priorities and one for the
+ * items, starting at index 1. Percolating moves a hole up or down the heap instead of
+ * swapping, so every item that moves is written once and the index of the item being
+ * percolated is only recorded once it reaches its final position.
+ *
  * @see ExtrinsicMinPQ for more documentation.
  */
 public class ArrayHeapMinPQ<T> implements ExtrinsicMinPQ<T> {
     public static int INDEX_OF_MINIMUM_PRIORITY_ELEMENT = 1;
-    private List<PriorityNode<T>> heap;
+    private static final int INITIAL_CAPACITY = 16;
+    private double[] priorities;            // The priority of the item at the same index.
+    private Object[] items;                 // The items, in heap order.
     private Map<T, Integer> mapOfIndices;
     private int size;
 
@@ -16,10 +24,41 @@ public class ArrayHeapMinPQ<T> implements ExtrinsicMinPQ<T> {
      * Constructs an ArrayHeapMinPQ which is a minimum priority queue.
      */
     public ArrayHeapMinPQ() {
-        heap = new ArrayList<>();
-        mapOfIndices = new HashMap<>();
+        this(0);
+    }
+
+    /**
+     * Constructs an ArrayHeapMinPQ holding the given items with the priorities at the
+     * same indices, arranged with a bottom-up heapify in O(n) instead of n adds.
+     *
+     * @throws IllegalArgumentException if the arrays have different lengths, or if an
+     *         item is null or appears twice.
+     */
+    public ArrayHeapMinPQ(T[] items, double[] priorities) {
+        this(items.length);
+        addAll(items, priorities);
+    }
+
+    /**
+     * Constructs an ArrayHeapMinPQ holding the keys of the given map with their values
+     * as priorities, arranged with a bottom-up heapify in O(n) instead of n adds.
+     *
+     * @throws IllegalArgumentException if an item or a priority is null.
+     */
+    public ArrayHeapMinPQ(Map<? extends T, Double> itemsAndPriorities) {
+        this(itemsAndPriorities.size());
+        addAll(itemsAndPriorities);
+    }
+
+    /**
+     * Constructs an empty ArrayHeapMinPQ with room for the given number of items.
+     */
+    private ArrayHeapMinPQ(int expectedSize) {
+        int capacity = Math.max(INITIAL_CAPACITY, expectedSize + 1);
+        priorities = new double[capacity];
+        items = new Object[capacity];
+        mapOfIndices = new HashMap<>(Math.max(16, (int) (expectedSize / 0.75f) + 1));
         size = 0;
-        heap.add(null);
     }
 
     @Override
@@ -27,10 +66,51 @@ public class ArrayHeapMinPQ<T> implements ExtrinsicMinPQ<T> {
         if (item == null || mapOfIndices.containsKey(item)) {
             throw new IllegalArgumentException();
         }
-        heap.add(new PriorityNode<>(item, priority));
-        mapOfIndices.put(item, size + 1);
-        percolateUp(size + 1);
+        ensureCapacity(size + 2);
         size++;
+        percolateUp(size, item, priority);
+    }
+
+    /**
+     * Adds the given items with the priorities at the same indices. When the batch is
+     * at least as big as the heap, the items are appended and the whole heap is rebuilt
+     * bottom-up in O(n); otherwise each item is percolated up on its own. If an item is
+     * rejected, none of them are added.
+     *
+     * @throws IllegalArgumentException if the arrays have different lengths, or if an
+     *         item is null, already present or appears twice.
+     */
+    public void addAll(T[] newItems, double[] newPriorities) {
+        if (newItems.length != newPriorities.length) {
+            throw new IllegalArgumentException();
+        }
+        int oldSize = size;
+        ensureCapacity(size + newItems.length + 1);
+        for (int i = 0; i < newItems.length; i++) {
+            append(newItems[i], newPriorities[i], oldSize);
+        }
+        restoreHeap(oldSize);
+    }
+
+    /**
+     * Adds the keys of the given map with their values as priorities, like
+     * {@link #addAll(Object[], double[])}. If an item is rejected, none of them are added.
+     *
+     * @throws IllegalArgumentException if an item or a priority is null, or if an item
+     *         is already present.
+     */
+    public void addAll(Map<? extends T, Double> itemsAndPriorities) {
+        int oldSize = size;
+        ensureCapacity(size + itemsAndPriorities.size() + 1);
+        for (Map.Entry<? extends T, Double> entry : itemsAndPriorities.entrySet()) {
+            Double priority = entry.getValue();
+            if (priority == null) {
+                removeAppended(oldSize);
+                throw new IllegalArgumentException();
+            }
+            append(entry.getKey(), priority, oldSize);
+        }
+        restoreHeap(oldSize);
     }
 
     @Override
@@ -43,7 +123,7 @@ public class ArrayHeapMinPQ<T> implements ExtrinsicMinPQ<T> {
         if (size == 0) {
             throw new NoSuchElementException();
         }
-        return heap.get(INDEX_OF_MINIMUM_PRIORITY_ELEMENT).getItem();
+        return (T) items[INDEX_OF_MINIMUM_PRIORITY_ELEMENT];
     }
 
     @Override
@@ -51,26 +131,29 @@ public class ArrayHeapMinPQ<T> implements ExtrinsicMinPQ<T> {
         if (size == 0) {
             throw new NoSuchElementException();
         }
-        T itemToRemove = heap.get(INDEX_OF_MINIMUM_PRIORITY_ELEMENT).getItem();
-        mapOfIndices.remove(heap.get(INDEX_OF_MINIMUM_PRIORITY_ELEMENT).getItem());
-        PriorityNode<T> lastItemInHeap = heap.get(size);
-        heap.set(INDEX_OF_MINIMUM_PRIORITY_ELEMENT, lastItemInHeap);
-        heap.remove(size--);
-        mapOfIndices.put(lastItemInHeap.getItem(), INDEX_OF_MINIMUM_PRIORITY_ELEMENT);
-        percolateDown(INDEX_OF_MINIMUM_PRIORITY_ELEMENT);
+        T itemToRemove = (T) items[INDEX_OF_MINIMUM_PRIORITY_ELEMENT];
+        mapOfIndices.remove(itemToRemove);
+        T lastItemInHeap = (T) items[size];
+        double lastPriorityInHeap = priorities[size];
+        items[size--] = null;
+        if (size > 0) {
+            percolateDown(INDEX_OF_MINIMUM_PRIORITY_ELEMENT, lastItemInHeap, lastPriorityInHeap);
+        }
         return itemToRemove;
     }
 
     @Override
     public void changePriority(T item, double priority) {
-        if (!mapOfIndices.containsKey(item)) {
+        Integer indexOfItem = mapOfIndices.get(item);
+        if (indexOfItem == null) {
             throw new NoSuchElementException();
         }
-        int indexOfItem = mapOfIndices.get(item);
-        heap.get(indexOfItem).setPriority(priority);
-        percolateUp(indexOfItem);
-        indexOfItem = mapOfIndices.get(item);
-        percolateDown(indexOfItem);
+        int index = indexOfItem;
+        if (index > 1 && priority < priorities[index / 2]) {
+            percolateUp(index, item, priority);
+        } else {
+            percolateDown(index, item, priority);
+        }
     }
 
     @Override
@@ -80,76 +163,123 @@ public class ArrayHeapMinPQ<T> implements ExtrinsicMinPQ<T> {
 
     @Override
     public boolean isEmpty() {
-        return size != 0;
+        return size == 0;
     }
 
     /**
      * Returns the element at the given index. Used for testing purposes.
      */
     public T get(int index) {
-        return heap.get(index).getItem();
+        return (T) items[index];
     }
 
     /**
      * Utility method that percolates up in the heap to fix the invariant where
      * each node is less than its parents. The given index is the position of the
-     * node to percolate up.
+     * hole where the given item with the given priority starts. Parents with a
+     * bigger priority are moved down into the hole until the item can be placed.
      */
-    private void percolateUp(int index) {
-        if (index == 1 || heap.get(index).getPriority() >= heap.get(index / 2).getPriority()) {
-            // Do nothing
-        } else { // heap.get(index).getPriority() < heap.get(index / 2).getPriority()
-            int indexOfParent = index / 2;
-            int indexOfChild = index;
-            swapElements(indexOfParent, indexOfChild);
-            percolateUp(indexOfParent);
+    private void percolateUp(int index, T item, double priority) {
+        while (index > 1 && priority < priorities[index / 2]) {
+            moveElement(index / 2, index);
+            index = index / 2;
         }
+        placeElement(index, item, priority);
     }
 
     /**
      * Utility method that percolates down in the heap to fix the invariant where
      * each node priority is less than or equal the priority of its children. The
-     * given index is the position of the node to start percolating down.
+     * given index is the position of the hole where the given item with the given
+     * priority starts. The child with the lowest priority is moved up into the hole
+     * until the item can be placed.
      */
-    private void percolateDown(int index) {
+    private void percolateDown(int index, T item, double priority) {
         int indexOfLeftChild = 2 * index;
-        int indexOfRightChild = 2 * index + 1;
-        if (indexOfLeftChild > size && indexOfRightChild > size) {
-            return;
-        } else if (indexOfRightChild > size) {
-            indexOfRightChild = indexOfLeftChild;
+        while (indexOfLeftChild <= size) {
+            int childWithLowestPriority = indexOfLeftChild;
+            if (indexOfLeftChild + 1 <= size && priorities[indexOfLeftChild + 1] < priorities[indexOfLeftChild]) {
+                childWithLowestPriority = indexOfLeftChild + 1;
+            }
+            if (priority <= priorities[childWithLowestPriority]) {
+                break;
+            }
+            moveElement(childWithLowestPriority, index);
+            index = childWithLowestPriority;
+            indexOfLeftChild = 2 * index;
         }
-        int childWithLowestPriority = getIndexOfChildWithLowestPriority(indexOfLeftChild, indexOfRightChild);
-        if (heap.get(index).getPriority() <= heap.get(childWithLowestPriority).getPriority()) {
-            // Do nothing
-        } else {
-            swapElements(index, childWithLowestPriority);
-            percolateDown(childWithLowestPriority);
+        placeElement(index, item, priority);
+    }
+
+    /**
+     * Utility method that puts the given item at the end of the heap without fixing the
+     * heap order. If the item is rejected, every item appended after the given old size
+     * is taken back out before throwing.
+     */
+    private void append(T item, double priority, int oldSize) {
+        if (item == null || mapOfIndices.containsKey(item)) {
+            removeAppended(oldSize);
+            throw new IllegalArgumentException();
+        }
+        size++;
+        placeElement(size, item, priority);
+    }
+
+    /**
+     * Utility method that takes back out every item appended after the given old size.
+     */
+    private void removeAppended(int oldSize) {
+        for (int i = oldSize + 1; i <= size; i++) {
+            mapOfIndices.remove(items[i]);
+            items[i] = null;
         }
+        size = oldSize;
     }
 
     /**
-     * Utility method that given the index of the left child and the index of the
-     * right child, returns the index of which child has the smallest priority.
+     * Utility method that fixes the heap order after items were appended past the given
+     * old size, either by heapifying the whole heap bottom-up, which is O(n), or by
+     * percolating up every appended item, which is O(k log n) for k items.
      */
-    private int getIndexOfChildWithLowestPriority(int indexOfLeftChild, int indexOfRightChild) {
-        if (heap.get(indexOfLeftChild).getPriority() <= heap.get(indexOfRightChild).getPriority()) {
-            return indexOfLeftChild;
+    private void restoreHeap(int oldSize) {
+        if (size - oldSize >= oldSize) {
+            for (int i = size / 2; i >= 1; i--) {
+                percolateDown(i, (T) items[i], priorities[i]);
+            }
         } else {
-            return indexOfRightChild;
+            for (int i = oldSize + 1; i <= size; i++) {
+                percolateUp(i, (T) items[i], priorities[i]);
+            }
         }
     }
 
     /**
-     * Utility method that swaps the positions of the elements with the given
-     * indexOfFirstItem and indexOfSecondItem.
+     * Utility method that moves the element at the index fromIndex into the hole
+     * at the index toIndex.
+     */
+    private void moveElement(int fromIndex, int toIndex) {
+        items[toIndex] = items[fromIndex];
+        priorities[toIndex] = priorities[fromIndex];
+        mapOfIndices.put((T) items[toIndex], toIndex);
+    }
+
+    /**
+     * Utility method that places the given item with the given priority at the given index.
+     */
+    private void placeElement(int index, T item, double priority) {
+        items[index] = item;
+        priorities[index] = priority;
+        mapOfIndices.put(item, index);
+    }
+
+    /**
+     * Utility method that grows the arrays so they have at least the given length.
      */
-    private void swapElements(int indexOfFirstItem, int indexOfSecondItem) {
-        PriorityNode<T> parent = heap.get(indexOfFirstItem);
-        PriorityNode<T> child = heap.get(indexOfSecondItem);
-        heap.set(indexOfFirstItem, child);
-        heap.set(indexOfSecondItem, parent);
-        mapOfIndices.put(parent.getItem(), indexOfSecondItem);
-        mapOfIndices.put(child.getItem(), indexOfFirstItem);
+    private void ensureCapacity(int length) {
+        if (length > items.length) {
+            int newLength = Math.max(length, items.length * 2);
+            items = Arrays.copyOf(items, newLength);
+            priorities = Arrays.copyOf(priorities, newLength);
+        }
     }
 }
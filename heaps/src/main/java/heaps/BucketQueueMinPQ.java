@@ -0,0 +1,229 @@
+package heaps;
+
+import java.util.*;
+
+/**
+ * Class BucketQueueMinPQ represents a monotone minimum priority queue for small
+ * non-negative integer priorities, as used by Dial's shortest path algorithm.
+ *
+ * The queue keeps a lower bound, which is the priority of the last minimum that was
+ * removed or peeked at, and every priority has to be between that bound and the bound
+ * plus the maximum spread given to the constructor. In Dijkstra's algorithm, the
+ * maximum spread is the biggest weight of an edge. There is one bucket per priority
+ * in that range, used as a circular array, so adding an item and changing its priority
+ * take constant time, and removing the minimum scans forward at most the maximum spread
+ * buckets. Priorities are compared as longs and never as doubles.
+ *
+ * @see ExtrinsicMinPQ for more documentation.
+ */
+public class BucketQueueMinPQ<T> implements ExtrinsicMinPQ<T> {
+    private final BucketNode<T>[] buckets;              // The first node of every bucket.
+    private final int maxSpread;                        // The biggest priority minus the lower bound.
+    private Map<T, BucketNode<T>> mapOfNodes;
+    private long lowerBound;                            // No priority can be less than this.
+    private int size;
+
+    /**
+     * Constructs an empty BucketQueueMinPQ whose lower bound is 0.
+     *
+     * @param maxSpread the biggest difference between a priority and the lower bound.
+     * @throws IllegalArgumentException if the given spread is negative or too big for an array.
+     */
+    public BucketQueueMinPQ(int maxSpread) {
+        if (maxSpread < 0 || maxSpread == Integer.MAX_VALUE) {
+            throw new IllegalArgumentException();
+        }
+        this.maxSpread = maxSpread;
+        buckets = new BucketNode[maxSpread + 1];
+        mapOfNodes = new HashMap<>();
+        lowerBound = 0;
+        size = 0;
+    }
+
+    /**
+     * Adds an item with the given priority value.
+     * @throws IllegalArgumentException if the item is null or already present, or if the
+     *         priority is not an integer between the lower bound of the queue and the
+     *         lower bound plus the maximum spread.
+     */
+    @Override
+    public void add(T item, double priority) {
+        if (item == null || mapOfNodes.containsKey(item)) {
+            throw new IllegalArgumentException();
+        }
+        BucketNode<T> node = new BucketNode<>(item, toKey(priority));
+        mapOfNodes.put(item, node);
+        insert(node);
+        size++;
+    }
+
+    @Override
+    public boolean contains(T item) {
+        return mapOfNodes.containsKey(item);
+    }
+
+    /**
+     * Returns the item with the smallest priority, and raises the lower bound of the
+     * queue to its priority.
+     * @throws NoSuchElementException if the PQ is empty.
+     */
+    @Override
+    public T peekMin() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return buckets[advance()].item;
+    }
+
+    @Override
+    public T removeMin() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        BucketNode<T> nodeToRemove = buckets[advance()];
+        unlink(nodeToRemove);
+        mapOfNodes.remove(nodeToRemove.item);
+        size--;
+        return nodeToRemove.item;
+    }
+
+    /**
+     * Changes the priority of the given item.
+     * @throws NoSuchElementException if the item is not present in the PQ.
+     * @throws IllegalArgumentException if the priority is not an integer between the
+     *         lower bound of the queue and the lower bound plus the maximum spread.
+     */
+    @Override
+    public void changePriority(T item, double priority) {
+        BucketNode<T> node = mapOfNodes.get(item);
+        if (node == null) {
+            throw new NoSuchElementException();
+        }
+        long key = toKey(priority);
+        unlink(node);
+        node.key = key;
+        insert(node);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the item at the given position of a walk of the buckets, from the bucket
+     * of the lower bound around the circular array. Every bucket holds a single
+     * priority, so the items come in ascending order of priority and the minimum is at
+     * position 1 like in {@link ArrayHeapMinPQ}. The lower bound is not raised. Takes
+     * time proportional to the given position plus the maximum spread. Used for
+     * testing purposes.
+     * @throws IndexOutOfBoundsException if the position is not between 1 and the size.
+     */
+    @Override
+    public T get(int index) {
+        if (index < 1 || index > size) {
+            throw new IndexOutOfBoundsException();
+        }
+        int position = 1;
+        int first = (int) (lowerBound % buckets.length);
+        for (int i = 0; i < buckets.length; i++) {
+            int bucket = first + i < buckets.length ? first + i : first + i - buckets.length;
+            for (BucketNode<T> node = buckets[bucket]; node != null; node = node.next) {
+                if (position++ == index) {
+                    return node.item;
+                }
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    /**
+     * Returns the lower bound of the queue, which is the priority of the last minimum
+     * that was removed or peeked at, or 0 if there is none.
+     */
+    public long lowerBound() {
+        return lowerBound;
+    }
+
+    /**
+     * Utility method that checks that the given priority can be added to the queue
+     * and returns it as a long.
+     */
+    private long toKey(double priority) {
+        long key = (long) priority;
+        if (key != priority || key < 0) {
+            throw new IllegalArgumentException("Priority " + priority + " is not a non-negative integer");
+        }
+        if (key < lowerBound) {
+            throw new IllegalArgumentException("Priority " + priority
+                    + " is less than the priority of the last minimum, " + lowerBound);
+        }
+        if (key - lowerBound > maxSpread) {
+            throw new IllegalArgumentException("Priority " + priority + " is more than " + maxSpread
+                    + " above the priority of the last minimum, " + lowerBound);
+        }
+        return key;
+    }
+
+    /**
+     * Helper method which raises the lower bound to the smallest priority in the queue
+     * and returns the index of its bucket. The PQ must not be empty.
+     */
+    private int advance() {
+        int index = (int) (lowerBound % buckets.length);
+        while (buckets[index] == null) {
+            lowerBound++;
+            index = index + 1 == buckets.length ? 0 : index + 1;
+        }
+        return index;
+    }
+
+    /**
+     * Utility method that puts the given node at the front of its bucket.
+     */
+    private void insert(BucketNode<T> node) {
+        int index = (int) (node.key % buckets.length);
+        node.prev = null;
+        node.next = buckets[index];
+        if (node.next != null) {
+            node.next.prev = node;
+        }
+        buckets[index] = node;
+    }
+
+    /**
+     * Utility method that removes the given node from its bucket.
+     */
+    private void unlink(BucketNode<T> node) {
+        if (node.prev == null) {
+            buckets[(int) (node.key % buckets.length)] = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+
+    /**
+     * Represents an item of a bucket queue. The items of a bucket form a doubly linked list.
+     */
+    private static class BucketNode<T> {
+        final T item;
+        long key;                           // The priority.
+        BucketNode<T> prev;
+        BucketNode<T> next;
+
+        BucketNode(T item, long key) {
+            this.item = item;
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package heaps;
+
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Class ConcurrentSkipListMinPQ represents a minimum priority queue that can be shared
+ * between threads without a global lock.
+ *
+ * The entries are kept in a lock-free skip list ordered by priority, and then by the
+ * order they were added in, so threads removing the minimum contend only on the first
+ * node of the list rather than on a whole heap. A concurrent map from items to their
+ * current entry backs contains and changePriority. The map locks the bin of an item
+ * while it is added or changed, so only threads working on items of the same bin wait
+ * for each other.
+ *
+ * Adding an item or changing its priority puts the new entry in the skip list before
+ * the map points the item to it, and changing a priority removes the old entry only
+ * after the new one is in the list. So the current entry of every item in the queue is
+ * always in the list, unless a thread removing the minimum is taking it out, and that
+ * thread retries if the item got a new entry in the meantime.
+ *
+ * The queue is strict: removeMin always returns an item with the smallest priority at
+ * some point during the call, and throws NoSuchElementException only once the queue is
+ * empty. The size is only exact when no other thread is modifying the queue.
+ *
+ * @see ExtrinsicMinPQ for more documentation.
+ */
+public class ConcurrentSkipListMinPQ<T> implements ExtrinsicMinPQ<T> {
+    private final ConcurrentSkipListSet<Entry<T>> entries;
+    private final ConcurrentHashMap<T, Entry<T>> mapOfEntries;     // The current entry of every item.
+    private final AtomicLong sequence;                              // Breaks ties between equal priorities.
+    private final AtomicInteger size;
+
+    /**
+     * Constructs an empty ConcurrentSkipListMinPQ.
+     */
+    public ConcurrentSkipListMinPQ() {
+        entries = new ConcurrentSkipListSet<>();
+        mapOfEntries = new ConcurrentHashMap<>();
+        sequence = new AtomicLong();
+        size = new AtomicInteger();
+    }
+
+    @Override
+    public void add(T item, double priority) {
+        if (item == null) {
+            throw new IllegalArgumentException();
+        }
+        Entry<T> entry = new Entry<>(item, priority, sequence.getAndIncrement());
+        Entry<T> current = mapOfEntries.computeIfAbsent(item, key -> {
+            entries.add(entry);
+            size.incrementAndGet();
+            return entry;
+        });
+        if (current != entry) {
+            throw new IllegalArgumentException();
+        }
+    }
+
+    @Override
+    public boolean contains(T item) {
+        return item != null && mapOfEntries.containsKey(item);
+    }
+
+    /**
+     * Returns the item with the smallest priority.
+     * @throws NoSuchElementException if the PQ is empty.
+     */
+    @Override
+    public T peekMin() {
+        while (true) {
+            for (Entry<T> entry : entries) {
+                if (mapOfEntries.get(entry.item) == entry) {
+                    return entry.item;
+                }
+                // The entry is being removed, replaced or added, so it is skipped but left in place.
+            }
+            checkNotEmpty();
+        }
+    }
+
+    @Override
+    public T removeMin() {
+        while (true) {
+            Entry<T> entry = entries.pollFirst();
+            if (entry == null) {
+                checkNotEmpty();
+            } else if (mapOfEntries.remove(entry.item, entry)) {
+                size.decrementAndGet();
+                return entry.item;
+            }
+            // Otherwise the item got a new entry, which is in the list, while this one was polled.
+        }
+    }
+
+    /**
+     * Changes the priority of the given item.
+     * @throws NoSuchElementException if the item is null or not present in the PQ, like
+     *         in the queues that are not concurrent.
+     */
+    @Override
+    public void changePriority(T item, double priority) {
+        if (item == null) {
+            throw new NoSuchElementException();
+        }
+        Entry<T> newEntry = new Entry<>(item, priority, sequence.getAndIncrement());
+        Entry<T> current = mapOfEntries.computeIfPresent(item, (key, oldEntry) -> {
+            entries.add(newEntry);
+            entries.remove(oldEntry);
+            return newEntry;
+        });
+        if (current == null) {
+            throw new NoSuchElementException();
+        }
+    }
+
+    @Override
+    public int size() {
+        return size.get();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Throws a NoSuchElementException if the queue is empty. While it is not, the
+     * current entry of some item is being moved and the caller looks again.
+     */
+    private void checkNotEmpty() {
+        if (size.get() <= 0) {
+            throw new NoSuchElementException();
+        }
+        Thread.yield();
+    }
+
+    /**
+     * Returns the item at the given position of the skip list, skipping the entries
+     * that are not current, so the items come in ascending order of priority and the
+     * minimum is at position 1 like in {@link ArrayHeapMinPQ}. While other threads are
+     * modifying the queue, the items are counted in the order the skip list iterator
+     * sees them. Takes time proportional to the given position. Used for testing purposes.
+     * @throws IndexOutOfBoundsException if the position is less than 1 or more than the
+     *         number of items.
+     */
+    @Override
+    public T get(int index) {
+        if (index < 1) {
+            throw new IndexOutOfBoundsException();
+        }
+        int position = 1;
+        for (Entry<T> entry : entries) {
+            if (mapOfEntries.get(entry.item) == entry && position++ == index) {
+                return entry.item;
+            }
+        }
+        throw new IndexOutOfBoundsException();
+    }
+
+    /**
+     * Represents an item with its priority in the skip list. Entries are never
+     * modified, so a thread that finds one can read it without synchronization.
+     */
+    private static class Entry<T> implements Comparable<Entry<T>> {
+        final T item;
+        final double priority;
+        final long sequence;
+
+        Entry(T item, double priority, long sequence) {
+            this.item = item;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(Entry<T> other) {
+            int compare = Double.compare(priority, other.priority);
+            return compare != 0 ? compare : Long.compare(sequence, other.sequence);
+        }
+    }
+}
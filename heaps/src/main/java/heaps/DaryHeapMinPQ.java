@@ -0,0 +1,211 @@
+package heaps;
+
+import java.util.*;
+
+/**
+ * Class DaryHeapMinPQ represents a minimum priority queue stored as a d-ary heap,
+ * where every node has up to {@code arity} children instead of two.
+ *
+ * A wider heap is shallower, so percolating up, which is what adding an item and
+ * decreasing its priority do, visits fewer levels. Percolating down compares more
+ * children per level, but they sit next to each other in memory. An arity of 4 is
+ * usually the best choice for workloads dominated by changePriority.
+ *
+ * Like {@link ArrayHeapMinPQ}, the heap is stored in parallel arrays of priorities
+ * and items, and percolating is done iteratively by moving a hole.
+ *
+ * @see ExtrinsicMinPQ for more documentation.
+ */
+public class DaryHeapMinPQ<T> implements ExtrinsicMinPQ<T> {
+    public static final int DEFAULT_ARITY = 4;
+    private static final int INITIAL_CAPACITY = 16;
+    private final int arity;                // The number of children of every node.
+    private double[] priorities;            // The priority of the item at the same index.
+    private Object[] items;                 // The items, in heap order starting at index 0.
+    private Map<T, Integer> mapOfIndices;
+    private int size;
+
+    /**
+     * Constructs a DaryHeapMinPQ with the default arity of 4.
+     */
+    public DaryHeapMinPQ() {
+        this(DEFAULT_ARITY);
+    }
+
+    /**
+     * Constructs a DaryHeapMinPQ where every node has up to the given number of children.
+     *
+     * @param arity the number of children of every node, such as 2, 4 or 8.
+     * @throws IllegalArgumentException if the given arity is less than 2.
+     */
+    public DaryHeapMinPQ(int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException();
+        }
+        this.arity = arity;
+        priorities = new double[INITIAL_CAPACITY];
+        items = new Object[INITIAL_CAPACITY];
+        mapOfIndices = new HashMap<>();
+        size = 0;
+    }
+
+    @Override
+    public void add(T item, double priority) {
+        if (item == null || mapOfIndices.containsKey(item)) {
+            throw new IllegalArgumentException();
+        }
+        ensureCapacity(size + 1);
+        size++;
+        percolateUp(size - 1, item, priority);
+    }
+
+    @Override
+    public boolean contains(T item) {
+        return mapOfIndices.containsKey(item);
+    }
+
+    @Override
+    public T peekMin() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return (T) items[0];
+    }
+
+    @Override
+    public T removeMin() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        T itemToRemove = (T) items[0];
+        mapOfIndices.remove(itemToRemove);
+        size--;
+        T lastItemInHeap = (T) items[size];
+        double lastPriorityInHeap = priorities[size];
+        items[size] = null;
+        if (size > 0) {
+            percolateDown(0, lastItemInHeap, lastPriorityInHeap);
+        }
+        return itemToRemove;
+    }
+
+    @Override
+    public void changePriority(T item, double priority) {
+        Integer indexOfItem = mapOfIndices.get(item);
+        if (indexOfItem == null) {
+            throw new NoSuchElementException();
+        }
+        int index = indexOfItem;
+        if (index > 0 && priority < priorities[parentOf(index)]) {
+            percolateUp(index, item, priority);
+        } else {
+            percolateDown(index, item, priority);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the element at the given position of the heap, where the minimum is
+     * at position 1 like in {@link ArrayHeapMinPQ}. Used for testing purposes.
+     */
+    @Override
+    public T get(int index) {
+        return (T) items[index - 1];
+    }
+
+    /**
+     * Returns the number of children of every node.
+     */
+    public int arity() {
+        return arity;
+    }
+
+    /**
+     * Utility method that percolates up in the heap to fix the invariant where
+     * each node is less than its parents. The given index is the position of the
+     * hole where the given item with the given priority starts.
+     */
+    private void percolateUp(int index, T item, double priority) {
+        while (index > 0) {
+            int parent = parentOf(index);
+            if (priority >= priorities[parent]) {
+                break;
+            }
+            moveElement(parent, index);
+            index = parent;
+        }
+        placeElement(index, item, priority);
+    }
+
+    /**
+     * Utility method that percolates down in the heap to fix the invariant where
+     * each node priority is less than or equal the priority of its children. The
+     * given index is the position of the hole where the given item with the given
+     * priority starts.
+     */
+    private void percolateDown(int index, T item, double priority) {
+        int firstChild = arity * index + 1;
+        while (firstChild < size) {
+            int lastChild = Math.min(firstChild + arity, size);
+            int childWithLowestPriority = firstChild;
+            for (int child = firstChild + 1; child < lastChild; child++) {
+                if (priorities[child] < priorities[childWithLowestPriority]) {
+                    childWithLowestPriority = child;
+                }
+            }
+            if (priority <= priorities[childWithLowestPriority]) {
+                break;
+            }
+            moveElement(childWithLowestPriority, index);
+            index = childWithLowestPriority;
+            firstChild = arity * index + 1;
+        }
+        placeElement(index, item, priority);
+    }
+
+    /**
+     * Returns the index of the parent of the node at the given index.
+     */
+    private int parentOf(int index) {
+        return (index - 1) / arity;
+    }
+
+    /**
+     * Utility method that moves the element at the index fromIndex into the hole
+     * at the index toIndex.
+     */
+    private void moveElement(int fromIndex, int toIndex) {
+        items[toIndex] = items[fromIndex];
+        priorities[toIndex] = priorities[fromIndex];
+        mapOfIndices.put((T) items[toIndex], toIndex);
+    }
+
+    /**
+     * Utility method that places the given item with the given priority at the given index.
+     */
+    private void placeElement(int index, T item, double priority) {
+        items[index] = item;
+        priorities[index] = priority;
+        mapOfIndices.put(item, index);
+    }
+
+    /**
+     * Utility method that grows the arrays so they have at least the given length.
+     */
+    private void ensureCapacity(int length) {
+        if (length > items.length) {
+            int newLength = Math.max(length, items.length * 2);
+            items = Arrays.copyOf(items, newLength);
+            priorities = Arrays.copyOf(priorities, newLength);
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package heaps;
+
+import java.util.*;
+
+/**
+ * Class FibonacciHeapMinPQ represents a minimum priority queue stored as a Fibonacci heap,
+ * a circular list of trees where the root of every tree is less than or equal to its
+ * descendants and the queue keeps a pointer to the root with the minimum priority.
+ *
+ * Adding an item only puts a new tree in the list of roots, and decreasing the priority
+ * of an item cuts its node from its parent, so both take constant amortized time. Trees
+ * of the same degree are only linked together when the minimum is removed, which takes
+ * O(log n) amortized time. Melding two queues splices their lists of roots in constant
+ * time, but still has to merge their item indices.
+ *
+ * @see ExtrinsicMinPQ for more documentation.
+ */
+public class FibonacciHeapMinPQ<T> implements ExtrinsicMinPQ<T> {
+    private static final int MAX_DEGREE = 64;          // Bigger than log base phi of any int size.
+    private FibonacciNode<T> min;                      // The root with the minimum priority.
+    private Map<T, FibonacciNode<T>> mapOfNodes;
+    private int size;
+
+    /**
+     * Constructs an empty FibonacciHeapMinPQ.
+     */
+    public FibonacciHeapMinPQ() {
+        min = null;
+        mapOfNodes = new HashMap<>();
+        size = 0;
+    }
+
+    @Override
+    public void add(T item, double priority) {
+        if (item == null || mapOfNodes.containsKey(item)) {
+            throw new IllegalArgumentException();
+        }
+        FibonacciNode<T> node = new FibonacciNode<>(item, priority);
+        mapOfNodes.put(item, node);
+        addRoot(node);
+        size++;
+    }
+
+    @Override
+    public boolean contains(T item) {
+        return mapOfNodes.containsKey(item);
+    }
+
+    @Override
+    public T peekMin() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return min.item;
+    }
+
+    @Override
+    public T removeMin() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        T itemToRemove = min.item;
+        mapOfNodes.remove(itemToRemove);
+        extractMin();
+        return itemToRemove;
+    }
+
+    /**
+     * Changes the priority of the given item. Decreasing the priority takes constant
+     * amortized time; increasing it takes O(log n) amortized time.
+     * @throws NoSuchElementException if the item is not present in the PQ.
+     */
+    @Override
+    public void changePriority(T item, double priority) {
+        FibonacciNode<T> node = mapOfNodes.get(item);
+        if (node == null) {
+            throw new NoSuchElementException();
+        }
+        if (priority < node.priority) {
+            node.priority = priority;
+            FibonacciNode<T> parent = node.parent;
+            if (parent != null && priority < parent.priority) {
+                cut(node, parent);
+                cascadingCut(parent);
+            }
+            if (priority < min.priority) {
+                min = node;
+            }
+        } else if (priority > node.priority) {        // Take the node out and add it back.
+            if (node.parent != null) {
+                FibonacciNode<T> parent = node.parent;
+                cut(node, parent);
+                cascadingCut(parent);
+            }
+            min = node;
+            extractMin();
+            node.priority = priority;
+            node.child = null;
+            node.degree = 0;
+            addRoot(node);
+            size++;
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the item at the given position of a preorder walk of the heap, where the
+     * minimum is at position 1 like in {@link ArrayHeapMinPQ}. The trees are walked
+     * from the minimum along the list of roots, and every node comes before its
+     * children. Takes time proportional to the given position. Used for testing purposes.
+     * @throws IndexOutOfBoundsException if the position is not between 1 and the size.
+     */
+    @Override
+    public T get(int index) {
+        if (index < 1 || index > size) {
+            throw new IndexOutOfBoundsException();
+        }
+        FibonacciNode<T> node = min;
+        for (int position = 1; position < index; position++) {
+            if (node.child != null) {
+                node = node.child;
+            } else {            // Go up until a node has a sibling left to visit.
+                while (node.right == (node.parent == null ? min : node.parent.child)) {
+                    node = node.parent;
+                }
+                node = node.right;
+            }
+        }
+        return node.item;
+    }
+
+    /**
+     * Moves every item of the given queue into this one, leaving the given queue empty.
+     * The lists of roots are spliced in constant time; the smaller of the two item
+     * indices is then copied into the bigger one, which takes time proportional to its size.
+     *
+     * @param other the queue to meld into this one.
+     * @throws IllegalArgumentException if both queues contain the same item.
+     */
+    public void meld(FibonacciHeapMinPQ<T> other) {
+        if (other == this || other.size == 0) {
+            return;
+        }
+        Map<T, FibonacciNode<T>> bigger = mapOfNodes;
+        Map<T, FibonacciNode<T>> smaller = other.mapOfNodes;
+        if (smaller.size() > bigger.size()) {
+            bigger = other.mapOfNodes;
+            smaller = mapOfNodes;
+        }
+        for (T item : smaller.keySet()) {
+            if (bigger.containsKey(item)) {
+                throw new IllegalArgumentException();
+            }
+        }
+        bigger.putAll(smaller);
+        mapOfNodes = bigger;
+        if (min == null) {
+            min = other.min;
+        } else {
+            FibonacciNode<T> otherMin = other.min;
+            FibonacciNode<T> afterMin = min.right;
+            FibonacciNode<T> otherLast = otherMin.left;
+            min.right = otherMin;
+            otherMin.left = min;
+            otherLast.right = afterMin;
+            afterMin.left = otherLast;
+            if (otherMin.priority < min.priority) {
+                min = otherMin;
+            }
+        }
+        size += other.size;
+        other.min = null;
+        other.mapOfNodes = new HashMap<>();
+        other.size = 0;
+    }
+
+    /**
+     * Utility method that puts the given node, which is not in any list, in the list
+     * of roots and updates the minimum.
+     */
+    private void addRoot(FibonacciNode<T> node) {
+        node.parent = null;
+        node.marked = false;
+        if (min == null) {
+            node.left = node;
+            node.right = node;
+            min = node;
+        } else {
+            node.left = min;
+            node.right = min.right;
+            min.right.left = node;
+            min.right = node;
+            if (node.priority < min.priority) {
+                min = node;
+            }
+        }
+    }
+
+    /**
+     * Utility method that removes the given node from the circular list it is in.
+     */
+    private void unlink(FibonacciNode<T> node) {
+        node.left.right = node.right;
+        node.right.left = node.left;
+        node.left = node;
+        node.right = node;
+    }
+
+    /**
+     * Helper method which removes the minimum root from the heap. Its children become
+     * roots, and then the roots of the same degree are linked together until every
+     * root has a different degree.
+     */
+    private void extractMin() {
+        FibonacciNode<T> nodeToRemove = min;
+        FibonacciNode<T> child = nodeToRemove.child;
+        for (int i = 0; i < nodeToRemove.degree; i++) {
+            FibonacciNode<T> next = child.right;
+            unlink(child);
+            addRoot(child);
+            child = next;
+        }
+        if (nodeToRemove.right == nodeToRemove) {
+            min = null;
+        } else {
+            min = nodeToRemove.right;
+            unlink(nodeToRemove);
+            consolidate();
+        }
+        nodeToRemove.child = null;
+        nodeToRemove.degree = 0;
+        size--;
+    }
+
+    /**
+     * Utility method that links the roots of the same degree together until every
+     * root has a different degree, and then finds the new minimum.
+     */
+    private void consolidate() {
+        List<FibonacciNode<T>> roots = new ArrayList<>();
+        FibonacciNode<T> current = min;
+        do {
+            roots.add(current);
+            current = current.right;
+        } while (current != min);
+        FibonacciNode<T>[] rootOfDegree = new FibonacciNode[MAX_DEGREE];
+        for (FibonacciNode<T> root : roots) {
+            int degree = root.degree;
+            while (rootOfDegree[degree] != null) {
+                FibonacciNode<T> other = rootOfDegree[degree];
+                if (other.priority < root.priority) {
+                    FibonacciNode<T> temp = root;
+                    root = other;
+                    other = temp;
+                }
+                link(other, root);
+                rootOfDegree[degree] = null;
+                degree++;
+            }
+            rootOfDegree[degree] = root;
+        }
+        min = null;
+        for (FibonacciNode<T> root : rootOfDegree) {
+            if (root != null && (min == null || root.priority < min.priority)) {
+                min = root;
+            }
+        }
+    }
+
+    /**
+     * Utility method that removes the given child from the list of roots and makes
+     * it a child of the given parent.
+     */
+    private void link(FibonacciNode<T> child, FibonacciNode<T> parent) {
+        unlink(child);
+        child.parent = parent;
+        child.marked = false;
+        if (parent.child == null) {
+            parent.child = child;
+        } else {
+            child.left = parent.child;
+            child.right = parent.child.right;
+            parent.child.right.left = child;
+            parent.child.right = child;
+        }
+        parent.degree++;
+    }
+
+    /**
+     * Utility method that cuts the given node from the given parent and makes it a root.
+     */
+    private void cut(FibonacciNode<T> node, FibonacciNode<T> parent) {
+        if (parent.child == node) {
+            parent.child = node.right == node ? null : node.right;
+        }
+        unlink(node);
+        parent.degree--;
+        addRoot(node);
+    }
+
+    /**
+     * Utility method that walks up from the given node, which just lost a child. A node
+     * that loses a second child is cut from its parent too, which keeps the trees bushy.
+     */
+    private void cascadingCut(FibonacciNode<T> node) {
+        FibonacciNode<T> parent = node.parent;
+        while (parent != null) {
+            if (!node.marked) {
+                node.marked = true;
+                return;
+            }
+            cut(node, parent);
+            node = parent;
+            parent = node.parent;
+        }
+    }
+
+    /**
+     * Represents a node of a Fibonacci heap. The siblings of a node, or the roots
+     * of the heap, form a circular doubly linked list through left and right.
+     */
+    private static class FibonacciNode<T> {
+        final T item;
+        double priority;
+        FibonacciNode<T> parent;
+        FibonacciNode<T> child;             // Any one of the children.
+        FibonacciNode<T> left;
+        FibonacciNode<T> right;
+        int degree;                         // The number of children.
+        boolean marked;                     // Whether the node lost a child since it became a child.
+
+        FibonacciNode(T item, double priority) {
+            this.item = item;
+            this.priority = priority;
+        }
+    }
+}
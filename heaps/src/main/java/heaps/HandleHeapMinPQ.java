@@ -0,0 +1,213 @@
+package heaps;
+
+import java.util.*;
+
+/**
+ * Class HandleHeapMinPQ represents a minimum priority queue where every item is
+ * referred to by the {@link PQHandle} returned when it was added. Each handle keeps
+ * the position of its item in the heap, so changing the priority of an item or
+ * removing it finds the item directly, without any hashing or boxing.
+ *
+ * The heap is stored in parallel arrays of priorities and handles, and percolating
+ * is done iteratively by moving a hole, like in {@link ArrayHeapMinPQ}.
+ *
+ * @see HandleMinPQ for more documentation.
+ */
+public class HandleHeapMinPQ<T> implements HandleMinPQ<T> {
+    private static final int INITIAL_CAPACITY = 16;
+    private double[] priorities;            // The priority of the handle at the same index.
+    private Handle<T>[] handles;            // The handles, in heap order starting at index 0.
+    private int size;
+
+    /**
+     * Constructs an empty HandleHeapMinPQ.
+     */
+    public HandleHeapMinPQ() {
+        priorities = new double[INITIAL_CAPACITY];
+        handles = new Handle[INITIAL_CAPACITY];
+        size = 0;
+    }
+
+    @Override
+    public PQHandle<T> add(T item, double priority) {
+        if (item == null) {
+            throw new IllegalArgumentException();
+        }
+        if (size == handles.length) {
+            handles = Arrays.copyOf(handles, size * 2);
+            priorities = Arrays.copyOf(priorities, size * 2);
+        }
+        Handle<T> handle = new Handle<>(this, item);
+        size++;
+        percolateUp(size - 1, handle, priority);
+        return handle;
+    }
+
+    @Override
+    public T peekMin() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return handles[0].item;
+    }
+
+    @Override
+    public T removeMin() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return removeAt(0);
+    }
+
+    @Override
+    public void changePriority(PQHandle<T> handle, double priority) {
+        int index = indexOf(handle);
+        if (index > 0 && priority < priorities[(index - 1) / 2]) {
+            percolateUp(index, handles[index], priority);
+        } else {
+            percolateDown(index, handles[index], priority);
+        }
+    }
+
+    @Override
+    public T remove(PQHandle<T> handle) {
+        return removeAt(indexOf(handle));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the position in the heap of the item the given handle refers to.
+     */
+    private int indexOf(PQHandle<T> handle) {
+        if (!(handle instanceof Handle) || ((Handle<T>) handle).owner != this) {
+            throw new IllegalArgumentException();
+        }
+        int index = ((Handle<T>) handle).index;
+        if (index < 0) {
+            throw new NoSuchElementException();
+        }
+        return index;
+    }
+
+    /**
+     * Removes the item at the given index and fills the hole with the last item
+     * of the heap.
+     */
+    private T removeAt(int index) {
+        Handle<T> handleToRemove = handles[index];
+        handleToRemove.index = -1;
+        size--;
+        Handle<T> lastHandle = handles[size];
+        double lastPriority = priorities[size];
+        handles[size] = null;
+        if (index < size) {
+            if (index > 0 && lastPriority < priorities[(index - 1) / 2]) {
+                percolateUp(index, lastHandle, lastPriority);
+            } else {
+                percolateDown(index, lastHandle, lastPriority);
+            }
+        }
+        return handleToRemove.item;
+    }
+
+    /**
+     * Utility method that percolates up in the heap to fix the invariant where
+     * each node is less than its parents. The given index is the position of the
+     * hole where the given handle with the given priority starts.
+     */
+    private void percolateUp(int index, Handle<T> handle, double priority) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (priority >= priorities[parent]) {
+                break;
+            }
+            moveElement(parent, index);
+            index = parent;
+        }
+        placeElement(index, handle, priority);
+    }
+
+    /**
+     * Utility method that percolates down in the heap to fix the invariant where
+     * each node priority is less than or equal the priority of its children. The
+     * given index is the position of the hole where the given handle with the given
+     * priority starts.
+     */
+    private void percolateDown(int index, Handle<T> handle, double priority) {
+        int indexOfLeftChild = 2 * index + 1;
+        while (indexOfLeftChild < size) {
+            int childWithLowestPriority = indexOfLeftChild;
+            if (indexOfLeftChild + 1 < size && priorities[indexOfLeftChild + 1] < priorities[indexOfLeftChild]) {
+                childWithLowestPriority = indexOfLeftChild + 1;
+            }
+            if (priority <= priorities[childWithLowestPriority]) {
+                break;
+            }
+            moveElement(childWithLowestPriority, index);
+            index = childWithLowestPriority;
+            indexOfLeftChild = 2 * index + 1;
+        }
+        placeElement(index, handle, priority);
+    }
+
+    /**
+     * Utility method that moves the element at the index fromIndex into the hole
+     * at the index toIndex.
+     */
+    private void moveElement(int fromIndex, int toIndex) {
+        handles[toIndex] = handles[fromIndex];
+        priorities[toIndex] = priorities[fromIndex];
+        handles[toIndex].index = toIndex;
+    }
+
+    /**
+     * Utility method that places the given handle with the given priority at the given index.
+     */
+    private void placeElement(int index, Handle<T> handle, double priority) {
+        handles[index] = handle;
+        priorities[index] = priority;
+        handle.index = index;
+        handle.priority = priority;
+    }
+
+    /**
+     * Class Handle is the {@link PQHandle} of this queue. It remembers the position of
+     * its item in the heap, or -1 once the item was removed.
+     */
+    private static class Handle<T> implements PQHandle<T> {
+        private final HandleHeapMinPQ<T> owner;
+        private final T item;
+        private double priority;
+        private int index;
+
+        Handle(HandleHeapMinPQ<T> owner, T item) {
+            this.owner = owner;
+            this.item = item;
+            this.index = -1;
+        }
+
+        @Override
+        public T getItem() {
+            return item;
+        }
+
+        @Override
+        public double getPriority() {
+            return priority;
+        }
+
+        @Override
+        public boolean isQueued() {
+            return index >= 0;
+        }
+    }
+}
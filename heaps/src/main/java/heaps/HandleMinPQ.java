@@ -0,0 +1,48 @@
+package heaps;
+
+public interface HandleMinPQ<T> {
+
+    /**
+     * Adds an item with the given priority value and returns the handle that
+     * refers to it. The same item can be added more than once; every time gets
+     * its own handle.
+     * @throws IllegalArgumentException if the given item is null.
+     */
+    PQHandle<T> add(T item, double priority);
+
+    /**
+     * Returns the item with the least-valued priority.
+     * @throws java.util.NoSuchElementException if the PQ is empty.
+     */
+    T peekMin();
+
+    /**
+     * Removes and returns the item with the least-valued priority.
+     * @throws java.util.NoSuchElementException if the PQ is empty.
+     */
+    T removeMin();
+
+    /**
+     * Changes the priority of the item the given handle refers to.
+     * @throws java.util.NoSuchElementException if the item is not in the PQ anymore.
+     * @throws IllegalArgumentException if the handle was not returned by this PQ.
+     */
+    void changePriority(PQHandle<T> handle, double priority);
+
+    /**
+     * Removes and returns the item the given handle refers to.
+     * @throws java.util.NoSuchElementException if the item is not in the PQ anymore.
+     * @throws IllegalArgumentException if the handle was not returned by this PQ.
+     */
+    T remove(PQHandle<T> handle);
+
+    /**
+     * Returns the number of items in the PQ.
+     */
+    int size();
+
+    /**
+     * Returns true if the PQ is empty, false otherwise.
+     */
+    boolean isEmpty();
+}
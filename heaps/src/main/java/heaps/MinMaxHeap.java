@@ -0,0 +1,257 @@
+package heaps;
+
+import java.util.*;
+
+/**
+ * Class MinMaxHeap represents a double-ended priority queue, where both the item with
+ * the least-valued priority and the one with the greatest-valued priority can be peeked
+ * at or removed in O(log n).
+ *
+ * The heap is a complete binary tree stored in an array starting at index 1, where the
+ * levels alternate between min levels and max levels, starting with a min level at the
+ * root. A node on a min level is less than or equal to all its descendants, and a node
+ * on a max level is greater than or equal to all its descendants, so the minimum is at
+ * the root and the maximum is one of its children.
+ *
+ * @see ExtrinsicMinPQ for more documentation.
+ */
+public class MinMaxHeap<T> implements ExtrinsicMinPQ<T> {
+    public static int INDEX_OF_MINIMUM_PRIORITY_ELEMENT = 1;
+    private static final int INITIAL_CAPACITY = 16;
+    private PriorityNode<T>[] nodes;        // The nodes, in min-max heap order.
+    private Map<T, Integer> mapOfIndices;
+    private int size;
+
+    /**
+     * Constructs an empty MinMaxHeap.
+     */
+    public MinMaxHeap() {
+        nodes = new PriorityNode[INITIAL_CAPACITY];
+        mapOfIndices = new HashMap<>();
+        size = 0;
+    }
+
+    @Override
+    public void add(T item, double priority) {
+        if (item == null || mapOfIndices.containsKey(item)) {
+            throw new IllegalArgumentException();
+        }
+        if (size + 1 == nodes.length) {
+            nodes = Arrays.copyOf(nodes, nodes.length * 2);
+        }
+        size++;
+        nodes[size] = new PriorityNode<>(item, priority);
+        mapOfIndices.put(item, size);
+        pushUp(size);
+    }
+
+    @Override
+    public boolean contains(T item) {
+        return mapOfIndices.containsKey(item);
+    }
+
+    @Override
+    public T peekMin() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return nodes[INDEX_OF_MINIMUM_PRIORITY_ELEMENT].getItem();
+    }
+
+    /**
+     * Returns the item with the greatest-valued priority.
+     * @throws NoSuchElementException if the PQ is empty.
+     */
+    public T peekMax() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return nodes[indexOfMaximum()].getItem();
+    }
+
+    @Override
+    public T removeMin() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return removeAt(INDEX_OF_MINIMUM_PRIORITY_ELEMENT);
+    }
+
+    /**
+     * Removes and returns the item with the greatest-valued priority.
+     * @throws NoSuchElementException if the PQ is empty.
+     */
+    public T removeMax() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return removeAt(indexOfMaximum());
+    }
+
+    @Override
+    public void changePriority(T item, double priority) {
+        Integer indexOfItem = mapOfIndices.get(item);
+        if (indexOfItem == null) {
+            throw new NoSuchElementException();
+        }
+        nodes[indexOfItem].setPriority(priority);
+        restore(indexOfItem);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the element at the given index. Used for testing purposes.
+     */
+    @Override
+    public T get(int index) {
+        return nodes[index].getItem();
+    }
+
+    /**
+     * Returns the index of the item with the greatest-valued priority, which is the
+     * root if it is alone, or else the bigger of its children.
+     */
+    private int indexOfMaximum() {
+        if (size <= 2) {
+            return size;
+        }
+        return less(2, 3) ? 3 : 2;
+    }
+
+    /**
+     * Removes the item at the given index and fills the hole with the last item of the heap.
+     */
+    private T removeAt(int index) {
+        T itemToRemove = nodes[index].getItem();
+        mapOfIndices.remove(itemToRemove);
+        PriorityNode<T> lastNode = nodes[size];
+        nodes[size--] = null;
+        if (index <= size) {
+            nodes[index] = lastNode;
+            mapOfIndices.put(lastNode.getItem(), index);
+            restore(index);
+        }
+        return itemToRemove;
+    }
+
+    /**
+     * Helper method which moves the node at the given index, whose priority may be
+     * out of order, to a position where the invariant holds again. The node is first
+     * pushed down among its descendants, and then up among its ancestors.
+     */
+    private void restore(int index) {
+        T item = nodes[index].getItem();
+        pushDown(index);
+        pushUp(mapOfIndices.get(item));
+    }
+
+    /**
+     * Utility method that pushes up the node at the given index. A node that is on the
+     * wrong side of its parent is first swapped with it, and then it is swapped with its
+     * grandparents, which are on the same kind of level, until it is in order with them.
+     */
+    private void pushUp(int index) {
+        if (index == 1) {
+            return;
+        }
+        int parent = index / 2;
+        if (isMinLevel(index)) {
+            if (less(parent, index)) {
+                swap(index, parent);
+                pushUpGrandparents(parent, true);
+            } else {
+                pushUpGrandparents(index, false);
+            }
+        } else {
+            if (less(index, parent)) {
+                swap(index, parent);
+                pushUpGrandparents(parent, false);
+            } else {
+                pushUpGrandparents(index, true);
+            }
+        }
+    }
+
+    /**
+     * Utility method that swaps the node at the given index with its grandparent while
+     * it is greater than it if max is true, or less than it otherwise.
+     */
+    private void pushUpGrandparents(int index, boolean max) {
+        while (index > 3) {
+            int grandparent = index / 4;
+            if (max ? !less(grandparent, index) : !less(index, grandparent)) {
+                break;
+            }
+            swap(index, grandparent);
+            index = grandparent;
+        }
+    }
+
+    /**
+     * Utility method that pushes down the node at the given index. It is swapped with the
+     * least of its children and grandchildren on a min level, or the greatest on a max
+     * level, and when that is a grandchild, it is then put in order with its new parent.
+     */
+    private void pushDown(int index) {
+        boolean max = !isMinLevel(index);
+        while (2 * index <= size) {
+            int extreme = 2 * index;
+            if (extreme + 1 <= size && (max ? less(extreme, extreme + 1) : less(extreme + 1, extreme))) {
+                extreme = extreme + 1;
+            }
+            int lastGrandchild = Math.min(4 * index + 3, size);
+            for (int grandchild = 4 * index; grandchild <= lastGrandchild; grandchild++) {
+                if (max ? less(extreme, grandchild) : less(grandchild, extreme)) {
+                    extreme = grandchild;
+                }
+            }
+            if (max ? !less(index, extreme) : !less(extreme, index)) {
+                return;
+            }
+            swap(extreme, index);
+            if (extreme < 4 * index) {                  // The extreme was a child.
+                return;
+            }
+            int parent = extreme / 2;
+            if (max ? less(extreme, parent) : less(parent, extreme)) {
+                swap(extreme, parent);
+            }
+            index = extreme;
+        }
+    }
+
+    /**
+     * Returns true if the node at the given index is on a min level, false otherwise.
+     */
+    private boolean isMinLevel(int index) {
+        return (31 - Integer.numberOfLeadingZeros(index)) % 2 == 0;
+    }
+
+    /**
+     * Returns true if the priority of the node at the first index is less than the
+     * priority of the node at the second index, false otherwise.
+     */
+    private boolean less(int first, int second) {
+        return nodes[first].getPriority() < nodes[second].getPriority();
+    }
+
+    /**
+     * Utility method that swaps the nodes at the given indices.
+     */
+    private void swap(int first, int second) {
+        PriorityNode<T> temp = nodes[first];
+        nodes[first] = nodes[second];
+        nodes[second] = temp;
+        mapOfIndices.put(nodes[first].getItem(), first);
+        mapOfIndices.put(nodes[second].getItem(), second);
+    }
+}
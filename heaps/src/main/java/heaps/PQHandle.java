@@ -0,0 +1,26 @@
+package heaps;
+
+/**
+ * Interface PQHandle refers to an item in a {@link HandleMinPQ}. It is returned
+ * when the item is added, and lets the queue find the item again without looking
+ * it up in a hash table.
+ *
+ * @param <T> The data type of the item.
+ */
+public interface PQHandle<T> {
+
+    /**
+     * Returns the item this handle refers to.
+     */
+    T getItem();
+
+    /**
+     * Returns the current priority of the item.
+     */
+    double getPriority();
+
+    /**
+     * Returns true if the item is still in the queue, false once it was removed.
+     */
+    boolean isQueued();
+}
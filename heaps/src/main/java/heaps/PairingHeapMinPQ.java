@@ -0,0 +1,267 @@
+package heaps;
+
+import java.util.*;
+
+/**
+ * Class PairingHeapMinPQ represents a minimum priority queue stored as a pairing heap,
+ * a tree where every node has any number of children and the root holds the minimum.
+ *
+ * Adding an item and decreasing its priority only link two trees together, which takes
+ * constant time. Removing the minimum merges the children of the root in two passes
+ * and takes O(log n) amortized time. Melding two queues links their heaps in constant
+ * time, but still has to merge their item indices.
+ *
+ * @see ExtrinsicMinPQ for more documentation.
+ */
+public class PairingHeapMinPQ<T> implements ExtrinsicMinPQ<T> {
+    private PairingNode<T> root;                        // The node with the minimum priority.
+    private Map<T, PairingNode<T>> mapOfNodes;
+    private int size;
+
+    /**
+     * Constructs an empty PairingHeapMinPQ.
+     */
+    public PairingHeapMinPQ() {
+        root = null;
+        mapOfNodes = new HashMap<>();
+        size = 0;
+    }
+
+    @Override
+    public void add(T item, double priority) {
+        if (item == null || mapOfNodes.containsKey(item)) {
+            throw new IllegalArgumentException();
+        }
+        PairingNode<T> node = new PairingNode<>(item, priority);
+        mapOfNodes.put(item, node);
+        root = root == null ? node : link(root, node);
+        size++;
+    }
+
+    @Override
+    public boolean contains(T item) {
+        return mapOfNodes.containsKey(item);
+    }
+
+    @Override
+    public T peekMin() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return root.item;
+    }
+
+    @Override
+    public T removeMin() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        PairingNode<T> nodeToRemove = root;
+        mapOfNodes.remove(nodeToRemove.item);
+        root = mergePairs(nodeToRemove.child);
+        size--;
+        return nodeToRemove.item;
+    }
+
+    /**
+     * Changes the priority of the given item. Decreasing the priority takes constant
+     * amortized time; increasing it takes O(log n) amortized time.
+     * @throws NoSuchElementException if the item is not present in the PQ.
+     */
+    @Override
+    public void changePriority(T item, double priority) {
+        PairingNode<T> node = mapOfNodes.get(item);
+        if (node == null) {
+            throw new NoSuchElementException();
+        }
+        if (priority < node.priority) {
+            node.priority = priority;
+            if (node != root) {
+                cut(node);
+                root = link(root, node);
+            }
+        } else if (priority > node.priority) {        // Take the node out on its own and add it back.
+            PairingNode<T> children = mergePairs(node.child);
+            node.child = null;
+            if (node == root) {
+                root = children;
+            } else {
+                cut(node);
+                if (children != null) {
+                    root = link(root, children);
+                }
+            }
+            node.priority = priority;
+            root = root == null ? node : link(root, node);
+        }
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the item at the given position of a preorder walk of the heap, where the
+     * minimum is at position 1 like in {@link ArrayHeapMinPQ}. Every node comes before
+     * its children, and the children of a node come from the leftmost one. Takes time
+     * proportional to the given position. Used for testing purposes.
+     * @throws IndexOutOfBoundsException if the position is not between 1 and the size.
+     */
+    @Override
+    public T get(int index) {
+        if (index < 1 || index > size) {
+            throw new IndexOutOfBoundsException();
+        }
+        Deque<PairingNode<T>> nextSiblings = new ArrayDeque<>();   // Of the ancestors, to visit after them.
+        PairingNode<T> node = root;
+        for (int position = 1; position < index; position++) {
+            if (node.child != null) {
+                if (node.next != null) {
+                    nextSiblings.push(node.next);
+                }
+                node = node.child;
+            } else if (node.next != null) {
+                node = node.next;
+            } else {
+                node = nextSiblings.pop();
+            }
+        }
+        return node.item;
+    }
+
+    /**
+     * Moves every item of the given queue into this one, leaving the given queue empty.
+     * The heaps are linked in constant time; the smaller of the two item indices is
+     * then copied into the bigger one, which takes time proportional to its size.
+     *
+     * @param other the queue to meld into this one.
+     * @throws IllegalArgumentException if both queues contain the same item.
+     */
+    public void meld(PairingHeapMinPQ<T> other) {
+        if (other == this || other.size == 0) {
+            return;
+        }
+        Map<T, PairingNode<T>> bigger = mapOfNodes;
+        Map<T, PairingNode<T>> smaller = other.mapOfNodes;
+        if (smaller.size() > bigger.size()) {
+            bigger = other.mapOfNodes;
+            smaller = mapOfNodes;
+        }
+        for (T item : smaller.keySet()) {
+            if (bigger.containsKey(item)) {
+                throw new IllegalArgumentException();
+            }
+        }
+        bigger.putAll(smaller);
+        mapOfNodes = bigger;
+        root = root == null ? other.root : link(root, other.root);
+        size += other.size;
+        other.root = null;
+        other.mapOfNodes = new HashMap<>();
+        other.size = 0;
+    }
+
+    /**
+     * Utility method that links the two given trees by making the root with the
+     * bigger priority the leftmost child of the other one. Returns the root of the
+     * linked tree.
+     */
+    private PairingNode<T> link(PairingNode<T> first, PairingNode<T> second) {
+        if (second.priority < first.priority) {
+            PairingNode<T> temp = first;
+            first = second;
+            second = temp;
+        }
+        second.next = first.child;
+        if (first.child != null) {
+            first.child.prev = second;
+        }
+        second.prev = first;
+        first.child = second;
+        first.next = null;
+        first.prev = null;
+        return first;
+    }
+
+    /**
+     * Utility method that detaches the given node, which is not the root, from
+     * its parent and siblings. The node keeps its own children.
+     */
+    private void cut(PairingNode<T> node) {
+        if (node.prev.child == node) {      // The node is the leftmost child of prev.
+            node.prev.child = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+
+    /**
+     * Utility method that merges the given list of siblings into a single tree.
+     * The first pass links the siblings in pairs from left to right, and the second
+     * pass links the pairs from right to left. Returns the root of the merged tree,
+     * or {@code null} if there are no siblings.
+     */
+    private PairingNode<T> mergePairs(PairingNode<T> first) {
+        if (first == null) {
+            return null;
+        }
+        PairingNode<T> pairs = null;            // The linked pairs, rightmost first.
+        PairingNode<T> current = first;
+        while (current != null) {
+            PairingNode<T> a = current;
+            PairingNode<T> b = a.next;
+            a.prev = null;
+            if (b == null) {
+                a.next = pairs;
+                pairs = a;
+                break;
+            }
+            current = b.next;
+            a.next = null;
+            b.next = null;
+            b.prev = null;
+            PairingNode<T> linked = link(a, b);
+            linked.next = pairs;
+            pairs = linked;
+        }
+        PairingNode<T> result = pairs;
+        pairs = pairs.next;
+        result.next = null;
+        while (pairs != null) {
+            PairingNode<T> next = pairs.next;
+            pairs.next = null;
+            result = link(result, pairs);
+            pairs = next;
+        }
+        return result;
+    }
+
+    /**
+     * Represents a node of a pairing heap. Every node points to its leftmost child
+     * and to its next sibling; prev is the previous sibling, or the parent for the
+     * leftmost child.
+     */
+    private static class PairingNode<T> {
+        final T item;
+        double priority;
+        PairingNode<T> child;
+        PairingNode<T> next;
+        PairingNode<T> prev;
+
+        PairingNode(T item, double priority) {
+            this.item = item;
+            this.priority = priority;
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package heaps;
+
+import java.util.*;
+
+/**
+ * Class RadixHeapMinPQ represents a monotone minimum priority queue for priorities that
+ * are non-negative integers, such as distances in a graph with integer weights or
+ * timestamps that only increase.
+ *
+ * The queue keeps a lower bound, which is the priority of the last minimum that was
+ * removed or peeked at, and every priority has to be at least that bound. An item is
+ * kept in the bucket given by the highest bit where its priority differs from the
+ * bound, so priorities are compared as longs and never as doubles. When the bucket
+ * of the bound is empty, the first non-empty bucket is spread over the lower buckets,
+ * and every item only moves down, which makes every operation O(1) amortized plus
+ * the number of bits of the priorities.
+ *
+ * @see ExtrinsicMinPQ for more documentation.
+ */
+public class RadixHeapMinPQ<T> implements ExtrinsicMinPQ<T> {
+    private static final int NUMBER_OF_BUCKETS = Long.SIZE + 1;
+    private final RadixNode<T>[] buckets;               // The first node of every bucket.
+    private Map<T, RadixNode<T>> mapOfNodes;
+    private long lowerBound;                            // No priority can be less than this.
+    private int size;
+
+    /**
+     * Constructs an empty RadixHeapMinPQ whose lower bound is 0.
+     */
+    public RadixHeapMinPQ() {
+        buckets = new RadixNode[NUMBER_OF_BUCKETS];
+        mapOfNodes = new HashMap<>();
+        lowerBound = 0;
+        size = 0;
+    }
+
+    /**
+     * Adds an item with the given priority value.
+     * @throws IllegalArgumentException if the item is null or already present, or if the
+     *         priority is not an integer at least equal to the lower bound of the queue.
+     */
+    @Override
+    public void add(T item, double priority) {
+        if (item == null || mapOfNodes.containsKey(item)) {
+            throw new IllegalArgumentException();
+        }
+        RadixNode<T> node = new RadixNode<>(item, toKey(priority));
+        mapOfNodes.put(item, node);
+        insert(node);
+        size++;
+    }
+
+    @Override
+    public boolean contains(T item) {
+        return mapOfNodes.containsKey(item);
+    }
+
+    /**
+     * Returns the item with the smallest priority, and raises the lower bound of the
+     * queue to its priority.
+     * @throws NoSuchElementException if the PQ is empty.
+     */
+    @Override
+    public T peekMin() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        refill();
+        return buckets[0].item;
+    }
+
+    @Override
+    public T removeMin() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        refill();
+        RadixNode<T> nodeToRemove = buckets[0];
+        unlink(nodeToRemove);
+        mapOfNodes.remove(nodeToRemove.item);
+        size--;
+        return nodeToRemove.item;
+    }
+
+    /**
+     * Changes the priority of the given item.
+     * @throws NoSuchElementException if the item is not present in the PQ.
+     * @throws IllegalArgumentException if the priority is not an integer at least equal
+     *         to the lower bound of the queue.
+     */
+    @Override
+    public void changePriority(T item, double priority) {
+        RadixNode<T> node = mapOfNodes.get(item);
+        if (node == null) {
+            throw new NoSuchElementException();
+        }
+        long key = toKey(priority);
+        unlink(node);
+        node.key = key;
+        insert(node);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the item at the given position of a walk of the buckets, from the bucket
+     * of the lower bound up. Every bucket holds bigger priorities than the ones before
+     * it, but the items of a bucket are in no particular order, so the minimum is at
+     * position 1 like in {@link ArrayHeapMinPQ} only once it was peeked at or removed.
+     * Takes time proportional to the given position plus the number of buckets. Used
+     * for testing purposes.
+     * @throws IndexOutOfBoundsException if the position is not between 1 and the size.
+     */
+    @Override
+    public T get(int index) {
+        if (index < 1 || index > size) {
+            throw new IndexOutOfBoundsException();
+        }
+        int position = 1;
+        for (RadixNode<T> bucket : buckets) {
+            for (RadixNode<T> node = bucket; node != null; node = node.next) {
+                if (position++ == index) {
+                    return node.item;
+                }
+            }
+        }
+        throw new IllegalStateException();
+    }
+
+    /**
+     * Returns the lower bound of the queue, which is the priority of the last minimum
+     * that was removed or peeked at, or 0 if there is none.
+     */
+    public long lowerBound() {
+        return lowerBound;
+    }
+
+    /**
+     * Utility method that checks that the given priority can be added to the queue
+     * and returns it as a long.
+     */
+    private long toKey(double priority) {
+        long key = (long) priority;
+        if (key != priority || key < 0) {
+            throw new IllegalArgumentException("Priority " + priority + " is not a non-negative integer");
+        }
+        if (key < lowerBound) {
+            throw new IllegalArgumentException("Priority " + priority
+                    + " is less than the priority of the last minimum, " + lowerBound);
+        }
+        return key;
+    }
+
+    /**
+     * Returns the bucket of the given key, which is one more than the highest bit where
+     * it differs from the lower bound, or 0 if it is equal to the lower bound.
+     */
+    private int bucketOf(long key) {
+        return Long.SIZE - Long.numberOfLeadingZeros(key ^ lowerBound);
+    }
+
+    /**
+     * Helper method which makes sure the bucket of the lower bound is not empty by
+     * raising the lower bound to the smallest priority of the first non-empty bucket,
+     * and then spreading that bucket over the lower ones. The PQ must not be empty.
+     */
+    private void refill() {
+        if (buckets[0] != null) {
+            return;
+        }
+        int index = 1;
+        while (buckets[index] == null) {
+            index++;
+        }
+        RadixNode<T> first = buckets[index];
+        long minimum = first.key;
+        for (RadixNode<T> node = first.next; node != null; node = node.next) {
+            minimum = Math.min(minimum, node.key);
+        }
+        lowerBound = minimum;
+        buckets[index] = null;
+        RadixNode<T> node = first;
+        while (node != null) {
+            RadixNode<T> next = node.next;
+            insert(node);
+            node = next;
+        }
+    }
+
+    /**
+     * Utility method that puts the given node at the front of its bucket.
+     */
+    private void insert(RadixNode<T> node) {
+        int index = bucketOf(node.key);
+        node.bucket = index;
+        node.prev = null;
+        node.next = buckets[index];
+        if (node.next != null) {
+            node.next.prev = node;
+        }
+        buckets[index] = node;
+    }
+
+    /**
+     * Utility method that removes the given node from its bucket.
+     */
+    private void unlink(RadixNode<T> node) {
+        if (node.prev == null) {
+            buckets[node.bucket] = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+
+    /**
+     * Represents an item of a radix heap. The items of a bucket form a doubly linked list.
+     */
+    private static class RadixNode<T> {
+        final T item;
+        long key;                           // The priority.
+        int bucket;
+        RadixNode<T> prev;
+        RadixNode<T> next;
+
+        RadixNode(T item, long key) {
+            this.item = item;
+            this.key = key;
+        }
+    }
+}
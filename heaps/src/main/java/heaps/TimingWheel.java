@@ -0,0 +1,282 @@
+package heaps;
+
+import java.util.*;
+
+/**
+ * Class TimingWheel schedules items to fire at a deadline, using hierarchical hashed
+ * timing wheels so that scheduling and cancelling an item take constant time.
+ *
+ * Time is split into ticks of a fixed duration, and an item fires on the first tick
+ * that is not before its deadline, so it is never early and at most one tick late.
+ * There are several levels of wheels of the same number of slots. A slot of level 0
+ * holds the items of a single tick, and a slot of every level after that spans a whole
+ * turn of the level below it. An item is put in the lowest level that can hold it, and
+ * when the current tick enters the span of a slot, its items are spread over the lower
+ * levels. Items whose deadline is beyond the span of the highest level wait in an
+ * {@link ExtrinsicMinPQ} ordered by deadline until they come within reach.
+ *
+ * Time does not move on its own: calling {@link #advance} moves the wheels to the given
+ * time and returns every item that fired as one batch.
+ */
+public class TimingWheel<T> {
+    private final long tickDuration;                    // The duration of a tick, in time units.
+    private final int wheelSize;                        // The number of slots of every level.
+    private final long[] ticksPerSlot;                  // The number of ticks a slot of each level spans.
+    private final TimerNode<T>[] slots;                 // The first node of every slot, level after level.
+    private final int dueSlot;                          // The slot of the items that fire on the next advance.
+    private final ExtrinsicMinPQ<T> overflow;           // The items beyond the span of the highest level.
+    private final Map<T, TimerNode<T>> mapOfNodes;
+    private long currentTick;
+    private int wheelCount;                             // The number of items in the wheels.
+
+    /**
+     * Constructs an empty TimingWheel at time 0.
+     *
+     * @param tickDuration the duration of a tick, in the same unit as the deadlines.
+     * @param wheelSize    the number of slots of every level.
+     * @param levels       the number of levels.
+     * @throws IllegalArgumentException if a parameter is not positive, or if the wheels
+     *                                  would span more ticks than fit in a long.
+     */
+    public TimingWheel(long tickDuration, int wheelSize, int levels) {
+        if (tickDuration <= 0 || wheelSize <= 0 || levels <= 0) {
+            throw new IllegalArgumentException();
+        }
+        this.tickDuration = tickDuration;
+        this.wheelSize = wheelSize;
+        ticksPerSlot = new long[levels];
+        ticksPerSlot[0] = 1;
+        try {
+            for (int level = 1; level < levels; level++) {
+                ticksPerSlot[level] = Math.multiplyExact(ticksPerSlot[level - 1], wheelSize);
+            }
+            Math.multiplyExact(ticksPerSlot[levels - 1], wheelSize);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException();
+        }
+        slots = new TimerNode[levels * wheelSize + 1];
+        dueSlot = levels * wheelSize;
+        overflow = new ArrayHeapMinPQ<>();
+        mapOfNodes = new HashMap<>();
+        currentTick = 0;
+        wheelCount = 0;
+    }
+
+    /**
+     * Schedules the given item to fire at the given deadline. A deadline that has
+     * already passed makes the item fire on the next advance.
+     *
+     * @throws IllegalArgumentException if the item is null or already scheduled.
+     */
+    public void schedule(T item, long deadline) {
+        if (item == null || mapOfNodes.containsKey(item)) {
+            throw new IllegalArgumentException();
+        }
+        TimerNode<T> node = new TimerNode<>(item, deadline, -Math.floorDiv(-deadline, tickDuration));
+        mapOfNodes.put(item, node);
+        place(node);
+    }
+
+    /**
+     * Cancels the given item so it does not fire. Takes constant time, unless the
+     * item is far enough in the future to wait in the overflow heap.
+     *
+     * @return true if the item was scheduled, false otherwise.
+     */
+    public boolean cancel(T item) {
+        TimerNode<T> node = mapOfNodes.remove(item);
+        if (node == null) {
+            return false;
+        }
+        if (node.slot < 0) {
+            overflow.changePriority(item, Double.NEGATIVE_INFINITY);
+            overflow.removeMin();
+        } else {
+            unlink(node);
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if the given item is scheduled and did not fire yet, false otherwise.
+     */
+    public boolean contains(T item) {
+        return mapOfNodes.containsKey(item);
+    }
+
+    /**
+     * Returns the deadline of the given item.
+     * @throws NoSuchElementException if the item is not scheduled.
+     */
+    public long deadlineOf(T item) {
+        TimerNode<T> node = mapOfNodes.get(item);
+        if (node == null) {
+            throw new NoSuchElementException();
+        }
+        return node.deadline;
+    }
+
+    /**
+     * Returns the number of scheduled items.
+     */
+    public int size() {
+        return mapOfNodes.size();
+    }
+
+    /**
+     * Returns true if no item is scheduled, false otherwise.
+     */
+    public boolean isEmpty() {
+        return mapOfNodes.isEmpty();
+    }
+
+    /**
+     * Moves the wheels forward to the given time and returns the items that fired as
+     * one batch. Going back in time does nothing except firing the items whose deadline
+     * had already passed when they were scheduled.
+     */
+    public List<T> advance(long now) {
+        List<T> fired = new ArrayList<>();
+        fireSlot(dueSlot, fired);
+        long targetTick = Math.floorDiv(now, tickDuration);
+        while (currentTick < targetTick) {
+            if (wheelCount == 0) {                      // Nothing to cascade, so jump ahead.
+                currentTick = targetTick;
+                pullFromOverflow();
+            } else {
+                currentTick++;
+                if (currentTick % ticksPerSlot[ticksPerSlot.length - 1] == 0) {
+                    pullFromOverflow();
+                }
+                for (int level = ticksPerSlot.length - 1; level > 0; level--) {
+                    if (currentTick % ticksPerSlot[level] == 0) {
+                        cascade(level);
+                    }
+                }
+                fireSlot((int) (currentTick % wheelSize), fired);
+            }
+            fireSlot(dueSlot, fired);
+        }
+        return fired;
+    }
+
+    /**
+     * Utility method that puts the given node in the lowest level that can hold its
+     * deadline, in the due slot if its deadline has passed, or in the overflow heap
+     * if no level can hold it.
+     */
+    private void place(TimerNode<T> node) {
+        if (node.deadlineTick <= currentTick) {
+            insert(node, dueSlot);
+            return;
+        }
+        for (int level = 0; level < ticksPerSlot.length; level++) {
+            long slotOfDeadline = node.deadlineTick / ticksPerSlot[level];
+            if (slotOfDeadline - currentTick / ticksPerSlot[level] < wheelSize) {
+                insert(node, level * wheelSize + (int) (slotOfDeadline % wheelSize));
+                wheelCount++;
+                return;
+            }
+        }
+        node.slot = -1;
+        overflow.add(node.item, node.deadline);
+    }
+
+    /**
+     * Helper method which moves the items of the overflow heap that came within reach
+     * of the highest level into the wheels.
+     */
+    private void pullFromOverflow() {
+        while (!overflow.isEmpty()) {
+            TimerNode<T> node = mapOfNodes.get(overflow.peekMin());
+            long highestSpan = ticksPerSlot[ticksPerSlot.length - 1];
+            if (node.deadlineTick / highestSpan - currentTick / highestSpan >= wheelSize) {
+                return;
+            }
+            overflow.removeMin();
+            place(node);
+        }
+    }
+
+    /**
+     * Helper method which spreads the items of the slot of the given level that the
+     * current tick just entered over the lower levels.
+     */
+    private void cascade(int level) {
+        int slot = level * wheelSize + (int) ((currentTick / ticksPerSlot[level]) % wheelSize);
+        TimerNode<T> node = slots[slot];
+        slots[slot] = null;
+        while (node != null) {
+            TimerNode<T> next = node.next;
+            wheelCount--;
+            place(node);
+            node = next;
+        }
+    }
+
+    /**
+     * Helper method which removes every item of the given slot and adds it to the given list.
+     */
+    private void fireSlot(int slot, List<T> fired) {
+        TimerNode<T> node = slots[slot];
+        slots[slot] = null;
+        while (node != null) {
+            if (slot != dueSlot) {
+                wheelCount--;
+            }
+            mapOfNodes.remove(node.item);
+            fired.add(node.item);
+            node = node.next;
+        }
+    }
+
+    /**
+     * Utility method that puts the given node at the front of the given slot.
+     */
+    private void insert(TimerNode<T> node, int slot) {
+        node.slot = slot;
+        node.prev = null;
+        node.next = slots[slot];
+        if (node.next != null) {
+            node.next.prev = node;
+        }
+        slots[slot] = node;
+    }
+
+    /**
+     * Utility method that removes the given node from its slot.
+     */
+    private void unlink(TimerNode<T> node) {
+        if (node.prev == null) {
+            slots[node.slot] = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+        if (node.next != null) {
+            node.next.prev = node.prev;
+        }
+        if (node.slot != dueSlot) {
+            wheelCount--;
+        }
+        node.prev = null;
+        node.next = null;
+    }
+
+    /**
+     * Represents a scheduled item. The items of a slot form a doubly linked list.
+     */
+    private static class TimerNode<T> {
+        final T item;
+        final long deadline;
+        final long deadlineTick;            // The first tick that is not before the deadline.
+        int slot;                           // The index in slots, or -1 in the overflow heap.
+        TimerNode<T> prev;
+        TimerNode<T> next;
+
+        TimerNode(T item, long deadline, long deadlineTick) {
+            this.item = item;
+            this.deadline = deadline;
+            this.deadlineTick = deadlineTick;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package heaps;
+
+import java.util.*;
+
+/**
+ * Class TopK keeps the K items with the highest scores out of a stream of items.
+ *
+ * The kept items are stored in a min-heap of size K, in parallel arrays of scores and
+ * items, so the item with the lowest kept score is at the root and its score is the
+ * threshold a new item has to beat. Offering an item that does not beat the threshold
+ * is a single comparison and allocates nothing; offering one that does replaces the
+ * root and percolates it down.
+ *
+ * Unlike {@link ExtrinsicMinPQ}, the same item can be offered more than once. Partial
+ * TopKs computed in parallel can be combined with {@link #merge}.
+ */
+public class TopK<T> {
+    private final double[] scores;          // The score of the item at the same index.
+    private final Object[] items;           // The items, in min-heap order starting at index 0.
+    private int size;
+
+    /**
+     * Constructs an empty TopK that keeps at most the given number of items.
+     *
+     * @param capacity the number of items to keep.
+     * @throws IllegalArgumentException if the capacity is not positive.
+     */
+    public TopK(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException();
+        }
+        scores = new double[capacity];
+        items = new Object[capacity];
+        size = 0;
+    }
+
+    /**
+     * Offers the given item with the given score. It is kept if there is still room,
+     * or if its score is higher than the lowest kept score, which evicts that item.
+     *
+     * @return true if the item was kept, false otherwise.
+     * @throws IllegalArgumentException if the score is NaN, which can't be ordered
+     *         against the kept scores.
+     */
+    public boolean offer(T item, double score) {
+        if (Double.isNaN(score)) {
+            throw new IllegalArgumentException("Score is NaN");
+        }
+        if (size < scores.length) {
+            size++;
+            percolateUp(size - 1, item, score);
+            return true;
+        }
+        if (score <= scores[0]) {
+            return false;
+        }
+        percolateDown(0, item, score);
+        return true;
+    }
+
+    /**
+     * Returns the score an offered item has to beat to be kept, which is the lowest
+     * kept score once the TopK is full, and negative infinity before that.
+     */
+    public double threshold() {
+        return size < scores.length ? Double.NEGATIVE_INFINITY : scores[0];
+    }
+
+    /**
+     * Offers every item kept by the given TopK to this one. The given TopK is not modified.
+     */
+    public void merge(TopK<? extends T> other) {
+        if (other == this) {
+            return;
+        }
+        for (int i = 0; i < other.size; i++) {
+            offer((T) other.items[i], other.scores[i]);
+        }
+    }
+
+    /**
+     * Removes every kept item and returns them with their scores, from the highest
+     * score to the lowest.
+     */
+    public List<PriorityNode<T>> drain() {
+        PriorityNode<T>[] output = new PriorityNode[size];
+        for (int i = size - 1; i >= 0; i--) {
+            output[i] = new PriorityNode<>((T) items[0], scores[0]);
+            size--;
+            T lastItem = (T) items[size];
+            double lastScore = scores[size];
+            items[size] = null;
+            if (size > 0) {
+                percolateDown(0, lastItem, lastScore);
+            }
+        }
+        return Arrays.asList(output);
+    }
+
+    /**
+     * Returns the number of kept items.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the number of items this TopK can keep.
+     */
+    public int capacity() {
+        return scores.length;
+    }
+
+    /**
+     * Returns true if no item is kept, false otherwise.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Utility method that percolates up in the heap. The given index is the position
+     * of the hole where the given item with the given score starts.
+     */
+    private void percolateUp(int index, T item, double score) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (score >= scores[parent]) {
+                break;
+            }
+            items[index] = items[parent];
+            scores[index] = scores[parent];
+            index = parent;
+        }
+        items[index] = item;
+        scores[index] = score;
+    }
+
+    /**
+     * Utility method that percolates down in the heap. The given index is the position
+     * of the hole where the given item with the given score starts.
+     */
+    private void percolateDown(int index, T item, double score) {
+        int indexOfLeftChild = 2 * index + 1;
+        while (indexOfLeftChild < size) {
+            int childWithLowestScore = indexOfLeftChild;
+            if (indexOfLeftChild + 1 < size && scores[indexOfLeftChild + 1] < scores[indexOfLeftChild]) {
+                childWithLowestScore = indexOfLeftChild + 1;
+            }
+            if (score <= scores[childWithLowestScore]) {
+                break;
+            }
+            items[index] = items[childWithLowestScore];
+            scores[index] = scores[childWithLowestScore];
+            index = childWithLowestScore;
+            indexOfLeftChild = 2 * index + 1;
+        }
+        items[index] = item;
+        scores[index] = score;
+    }
+}
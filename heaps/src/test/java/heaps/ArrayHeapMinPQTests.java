@@ -4,6 +4,9 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.NoSuchElementException;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -266,5 +269,73 @@ public class ArrayHeapMinPQTests {
         }
     }
 
+    @Nested
+    @DisplayName("Bulk Heapify")
+    class BulkHeapify {
+        @Test
+        void arrayConstructor_removeMinRepeatedly_returnsItemsInOrder() {
+            Integer[] items = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+            double[] priorities = {3, 9, 7, 4, 1, 8, 5, 2, 6, 10};
+            ArrayHeapMinPQ<Integer> pq = new ArrayHeapMinPQ<>(items, priorities);
+            Integer[] output = new Integer[10];
+            for (int i = 0; i < 10; i++) {
+                output[i] = pq.removeMin();
+            }
+            assertThat(output).containsExactly(5, 8, 1, 4, 7, 9, 3, 6, 2, 10);
+        }
+
+        @Test
+        void mapConstructor_containsEveryItem() {
+            Map<String, Double> itemsAndPriorities = new HashMap<>();
+            itemsAndPriorities.put("a", 2.0);
+            itemsAndPriorities.put("b", 1.0);
+            itemsAndPriorities.put("c", 3.0);
+            ArrayHeapMinPQ<String> pq = new ArrayHeapMinPQ<>(itemsAndPriorities);
+            assertThat(pq.size()).isEqualTo(3);
+            assertThat(pq.contains("c")).isTrue();
+            assertThat(pq.peekMin()).isEqualTo("b");
+        }
+
+        @Test
+        void addAll_smallAndLargeBatches_keepsHeapOrder() {
+            ArrayHeapMinPQ<Integer> pq = new ArrayHeapMinPQ<>();
+            pq.addAll(new Integer[]{1, 2, 3, 4}, new double[]{40, 10, 30, 20});
+            pq.addAll(new Integer[]{5}, new double[]{5});
+            pq.addAll(new Integer[]{6, 7, 8, 9, 10, 11}, new double[]{60, 15, 25, 1, 35, 45});
+            pq.changePriority(4, 0);
+            Integer[] output = new Integer[11];
+            for (int i = 0; i < 11; i++) {
+                output[i] = pq.removeMin();
+            }
+            assertThat(output).containsExactly(4, 9, 5, 2, 7, 8, 3, 10, 1, 11, 6);
+        }
+
+        @Test
+        void addAll_duplicateItem_throwsIllegalArgumentAndAddsNothing() {
+            ArrayHeapMinPQ<Integer> pq = new ArrayHeapMinPQ<>();
+            pq.add(1, 1);
+            assertThatThrownBy(() -> pq.addAll(new Integer[]{2, 3, 1}, new double[]{0, 0, 0}))
+                    .isInstanceOf(IllegalArgumentException.class);
+            assertThat(pq.size()).isEqualTo(1);
+            assertThat(pq.contains(2)).isFalse();
+            assertThat(pq.peekMin()).isEqualTo(1);
+        }
 
+        @Test
+        void addAll_nullPriority_throwsIllegalArgumentAndAddsNothing() {
+            ArrayHeapMinPQ<Integer> pq = new ArrayHeapMinPQ<>();
+            pq.add(1, 1);
+            Map<Integer, Double> itemsAndPriorities = new LinkedHashMap<>();
+            itemsAndPriorities.put(2, 0.0);
+            itemsAndPriorities.put(3, null);
+            itemsAndPriorities.put(4, 2.0);
+            assertThatThrownBy(() -> pq.addAll(itemsAndPriorities)).isInstanceOf(IllegalArgumentException.class);
+            assertThat(pq.size()).isEqualTo(1);
+            assertThat(pq.contains(2)).isFalse();
+            pq.add(2, 0);
+            assertThat(pq.removeMin()).isEqualTo(2);
+            assertThat(pq.removeMin()).isEqualTo(1);
+            assertThat(pq.isEmpty()).isTrue();
+        }
+    }
 }
@@ -0,0 +1,51 @@
+package heaps;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BucketQueueMinPQTests extends RadixHeapMinPQTests {
+    @Override
+    protected <T> ExtrinsicMinPQ<T> createMinPQ() {
+        return new BucketQueueMinPQ<>(100);
+    }
+
+    @Test
+    void add_priorityBeyondSpread_throwsIllegalArgument() {
+        BucketQueueMinPQ<String> pq = new BucketQueueMinPQ<>(10);
+        pq.add("a", 10);
+        assertThatThrownBy(() -> pq.add("b", 11)).isInstanceOf(IllegalArgumentException.class);
+        assertThat(pq.removeMin()).isEqualTo("a");
+        pq.add("b", 20);
+        assertThat(pq.peekMin()).isEqualTo("b");
+        assertThat(pq.lowerBound()).isEqualTo(20);
+    }
+
+    @Test
+    void get_everyPosition_returnsItemsInOrderOfPriority() {
+        BucketQueueMinPQ<Integer> pq = new BucketQueueMinPQ<>(100);
+        Random random = new Random(42);
+        double[] priorities = new double[200];
+        for (int i = 0; i < 200; i++) {
+            priorities[i] = random.nextInt(100);
+            pq.add(i, priorities[i]);
+        }
+        for (int i = 0; i < 50; i++) {
+            pq.removeMin();
+        }
+        for (int i = 0; i < 200; i++) {
+            if (pq.contains(i) && random.nextBoolean()) {
+                priorities[i] = pq.lowerBound() + random.nextInt(100);
+                pq.changePriority(i, priorities[i]);
+            }
+        }
+        double[] output = new double[pq.size()];
+        for (int i = 0; i < output.length; i++) {
+            output[i] = priorities[pq.get(i + 1)];
+        }
+        assertThat(output).isSorted();
+    }
+}
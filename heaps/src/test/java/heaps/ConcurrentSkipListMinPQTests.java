@@ -0,0 +1,218 @@
+package heaps;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ConcurrentSkipListMinPQTests {
+    private static final int THREADS = 8;
+    private static final int ITEMS_PER_THREAD = 20000;
+
+    @Test
+    void removeMin_emptyPQ_throwsNoSuchElement() {
+        ExtrinsicMinPQ<Integer> pq = new ConcurrentSkipListMinPQ<>();
+        assertThatThrownBy(pq::removeMin).isInstanceOf(NoSuchElementException.class);
+        assertThatThrownBy(pq::peekMin).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    void nullItem_behavesLikeAMissingItem() {
+        ExtrinsicMinPQ<String> pq = new ConcurrentSkipListMinPQ<>();
+        pq.add("a", 1);
+        assertThatThrownBy(() -> pq.add(null, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> pq.changePriority(null, 1)).isInstanceOf(NoSuchElementException.class);
+        assertThat(pq.contains(null)).isFalse();
+    }
+
+    @Test
+    void get_everyPosition_returnsItemsInOrderOfPriority() {
+        ExtrinsicMinPQ<Integer> pq = new ConcurrentSkipListMinPQ<>();
+        Random random = new Random(42);
+        double[] priorities = new double[200];
+        for (int i = 0; i < 200; i++) {
+            priorities[i] = random.nextInt(1000);
+            pq.add(i, priorities[i]);
+        }
+        for (int i = 0; i < 200; i++) {
+            int item = random.nextInt(200);
+            priorities[item] = random.nextInt(1000);
+            pq.changePriority(item, priorities[item]);
+        }
+        double[] output = new double[200];
+        Set<Integer> seen = new HashSet<>();
+        for (int i = 0; i < 200; i++) {
+            int item = pq.get(i + 1);
+            assertThat(seen.add(item)).isTrue();
+            output[i] = priorities[item];
+        }
+        assertThat(output).isSorted();
+        assertThat(pq.get(1)).isEqualTo(pq.peekMin());
+        assertThatThrownBy(() -> pq.get(0)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> pq.get(201)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void changePriority_decreaseAndIncrease_reordersItems() {
+        ExtrinsicMinPQ<String> pq = new ConcurrentSkipListMinPQ<>();
+        pq.add("a", 1);
+        pq.add("b", 2);
+        pq.add("c", 3);
+        pq.changePriority("c", 0);
+        pq.changePriority("a", 5);
+        assertThat(pq.peekMin()).isEqualTo("c");
+        assertThat(pq.removeMin()).isEqualTo("c");
+        assertThat(pq.removeMin()).isEqualTo("b");
+        assertThat(pq.removeMin()).isEqualTo("a");
+        assertThat(pq.isEmpty()).isTrue();
+    }
+
+    @Test
+    void removeMin_concurrently_eachThreadSeesIncreasingPriorities() throws Exception {
+        ConcurrentSkipListMinPQ<Integer> pq = new ConcurrentSkipListMinPQ<>();
+        for (int i = 0; i < THREADS * ITEMS_PER_THREAD; i++) {
+            pq.add(i, i % 1000);
+        }
+        List<List<Integer>> removed = runConcurrently(() -> {
+            List<Integer> items = new ArrayList<>();
+            while (true) {
+                try {
+                    items.add(pq.removeMin());
+                } catch (NoSuchElementException e) {
+                    return items;
+                }
+            }
+        });
+        Set<Integer> seen = new HashSet<>();
+        for (List<Integer> items : removed) {
+            double[] priorities = new double[items.size()];
+            for (int i = 0; i < items.size(); i++) {
+                priorities[i] = items.get(i) % 1000;
+                assertThat(seen.add(items.get(i))).isTrue();
+            }
+            assertThat(priorities).isSorted();
+        }
+        assertThat(seen).hasSize(THREADS * ITEMS_PER_THREAD);
+        assertThat(pq.isEmpty()).isTrue();
+    }
+
+    @Test
+    void addChangeAndRemove_concurrently_loseNoItems() throws Exception {
+        ConcurrentSkipListMinPQ<Integer> pq = new ConcurrentSkipListMinPQ<>();
+        List<Integer> threadIds = new ArrayList<>();
+        List<List<Integer>> removed = runConcurrently(() -> {
+            int threadId;
+            synchronized (threadIds) {
+                threadId = threadIds.size();
+                threadIds.add(threadId);
+            }
+            Random random = new Random(threadId);
+            List<Integer> items = new ArrayList<>();
+            for (int i = 0; i < ITEMS_PER_THREAD; i++) {
+                int item = threadId * ITEMS_PER_THREAD + i;
+                pq.add(item, random.nextInt(1000));
+                int other = random.nextInt(THREADS * ITEMS_PER_THREAD);
+                try {
+                    pq.changePriority(other, random.nextInt(1000));
+                } catch (NoSuchElementException e) {
+                    // The item was not added yet or was already removed.
+                }
+                if (i % 2 == 0) {
+                    try {
+                        items.add(pq.removeMin());
+                    } catch (NoSuchElementException e) {
+                        // Every other item was taken by the other threads.
+                    }
+                }
+            }
+            return items;
+        });
+        Set<Integer> seen = new HashSet<>();
+        for (List<Integer> items : removed) {
+            for (int item : items) {
+                assertThat(seen.add(item)).isTrue();
+            }
+        }
+        while (!pq.isEmpty()) {
+            assertThat(seen.add(pq.removeMin())).isTrue();
+        }
+        assertThat(seen).hasSize(THREADS * ITEMS_PER_THREAD);
+    }
+
+    @Test
+    void changePriority_whileRemovingMin_neverHidesAnItem() throws Exception {
+        int itemCount = 2000;
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS - 1);
+        try {
+            // Short rounds, so the changes often race with removals even on a single core.
+            for (int round = 0; round < 100; round++) {
+                ConcurrentSkipListMinPQ<Integer> pq = new ConcurrentSkipListMinPQ<>();
+                for (int i = 0; i < itemCount; i++) {
+                    pq.add(i, i);
+                }
+                AtomicBoolean removing = new AtomicBoolean(true);
+                List<Future<?>> changers = new ArrayList<>();
+                for (int t = 0; t < THREADS - 1; t++) {
+                    Random random = new Random(round * THREADS + t);
+                    changers.add(executor.submit(() -> {
+                        while (removing.get()) {
+                            try {
+                                pq.changePriority(random.nextInt(itemCount), random.nextInt(itemCount));
+                            } catch (NoSuchElementException e) {
+                                // The item was already removed.
+                            }
+                        }
+                    }));
+                }
+                Set<Integer> seen = new HashSet<>();
+                try {
+                    // Only this thread removes items, so the queue can't look empty before all of them are removed.
+                    for (int i = 0; i < itemCount; i++) {
+                        pq.peekMin();
+                        assertThat(seen.add(pq.removeMin())).isTrue();
+                    }
+                } finally {
+                    removing.set(false);
+                }
+                for (Future<?> changer : changers) {
+                    changer.get();
+                }
+                assertThat(pq.isEmpty()).isTrue();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Runs the given task on every thread at the same time and returns what they returned.
+     */
+    private static <R> List<R> runConcurrently(Callable<R> task) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<R>> futures = new ArrayList<>();
+            for (int i = 0; i < THREADS; i++) {
+                futures.add(executor.submit(task));
+            }
+            List<R> results = new ArrayList<>();
+            for (Future<R> future : futures) {
+                results.add(future.get());
+            }
+            return results;
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
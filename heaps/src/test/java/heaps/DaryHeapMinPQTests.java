@@ -0,0 +1,37 @@
+package heaps;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DaryHeapMinPQTests extends ArrayHeapMinPQTests {
+    @Override
+    protected <T extends Comparable<T>> ExtrinsicMinPQ<T> createMinPQ() {
+        return new DaryHeapMinPQ<>(2);
+    }
+
+    @Test
+    void removeMinRepeatedly_withWiderArities_returnsItemsInOrder() {
+        for (int arity : new int[] {4, 8}) {
+            ExtrinsicMinPQ<Integer> pq = new DaryHeapMinPQ<>(arity);
+            Random random = new Random(arity);
+            double[] priorities = new double[1000];
+            for (int i = 0; i < 1000; i++) {
+                priorities[i] = random.nextInt(100);
+                pq.add(i, priorities[i]);
+            }
+            for (int i = 0; i < 1000; i += 3) {
+                priorities[i] = random.nextInt(100);
+                pq.changePriority(i, priorities[i]);
+            }
+            double[] output = new double[1000];
+            for (int i = 0; i < 1000; i++) {
+                output[i] = priorities[pq.removeMin()];
+            }
+            assertThat(output).isSorted();
+            assertThat(pq.isEmpty()).isTrue();
+        }
+    }
+}
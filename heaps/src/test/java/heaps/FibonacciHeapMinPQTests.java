@@ -0,0 +1,39 @@
+package heaps;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class FibonacciHeapMinPQTests extends PairingHeapMinPQTests {
+    @Override
+    protected <T> ExtrinsicMinPQ<T> createMinPQ() {
+        return new FibonacciHeapMinPQ<>();
+    }
+
+    @Test
+    void meld_fibonacciQueues_movesEveryItem() {
+        FibonacciHeapMinPQ<Integer> first = new FibonacciHeapMinPQ<>();
+        FibonacciHeapMinPQ<Integer> second = new FibonacciHeapMinPQ<>();
+        for (int i = 0; i < 10; i++) {
+            first.add(2 * i, 2 * i);
+            second.add(2 * i + 1, 2 * i + 1);
+        }
+        first.removeMin();
+        first.meld(second);
+        assertThat(second.isEmpty()).isTrue();
+        assertThat(first.size()).isEqualTo(19);
+        for (int i = 1; i < 20; i++) {
+            assertThat(first.removeMin()).isEqualTo(i);
+        }
+    }
+
+    @Test
+    void meld_fibonacciQueuesWithSharedItem_throwsIllegalArgument() {
+        FibonacciHeapMinPQ<String> first = new FibonacciHeapMinPQ<>();
+        FibonacciHeapMinPQ<String> second = new FibonacciHeapMinPQ<>();
+        first.add("a", 1);
+        second.add("a", 2);
+        assertThatThrownBy(() -> first.meld(second)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
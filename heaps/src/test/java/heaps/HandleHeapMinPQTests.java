@@ -0,0 +1,103 @@
+package heaps;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class HandleHeapMinPQTests {
+    protected <T> HandleMinPQ<T> createMinPQ() {
+        return new HandleHeapMinPQ<>();
+    }
+
+    @Test
+    void removeMin_emptyPQ_throwsNoSuchElement() {
+        HandleMinPQ<Integer> pq = createMinPQ();
+        assertThatThrownBy(pq::removeMin).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    void add_nullItem_throwsIllegalArgument() {
+        HandleMinPQ<Integer> pq = createMinPQ();
+        assertThatThrownBy(() -> pq.add(null, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void add_sameItemTwice_givesTwoHandles() {
+        HandleMinPQ<String> pq = createMinPQ();
+        PQHandle<String> first = pq.add("a", 1);
+        PQHandle<String> second = pq.add("a", 2);
+        assertThat(first).isNotSameAs(second);
+        assertThat(pq.size()).isEqualTo(2);
+    }
+
+    @Test
+    void removeMinRepeatedly_returnsItemsInOrder() {
+        HandleMinPQ<Integer> pq = createMinPQ();
+        int[] priorities = {5, 3, 9, 1, 7, 2, 8, 6, 4, 10};
+        for (int priority : priorities) {
+            pq.add(priority, priority);
+        }
+        Integer[] output = new Integer[priorities.length];
+        for (int i = 0; i < priorities.length; i++) {
+            output[i] = pq.removeMin();
+        }
+        assertThat(output).containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+        assertThat(pq.isEmpty()).isTrue();
+    }
+
+    @Test
+    void changePriority_decrease_movesItemToFront() {
+        HandleMinPQ<String> pq = createMinPQ();
+        pq.add("a", 1);
+        pq.add("b", 2);
+        PQHandle<String> c = pq.add("c", 3);
+        pq.changePriority(c, 0);
+        assertThat(pq.peekMin()).isEqualTo("c");
+        assertThat(c.getPriority()).isEqualTo(0);
+    }
+
+    @Test
+    void changePriority_increase_movesItemBack() {
+        HandleMinPQ<String> pq = createMinPQ();
+        PQHandle<String> a = pq.add("a", 1);
+        pq.add("b", 2);
+        pq.add("c", 3);
+        pq.changePriority(a, 4);
+        assertThat(pq.removeMin()).isEqualTo("b");
+        assertThat(pq.removeMin()).isEqualTo("c");
+        assertThat(pq.removeMin()).isEqualTo("a");
+    }
+
+    @Test
+    void remove_middleItem_keepsOrder() {
+        HandleMinPQ<String> pq = createMinPQ();
+        pq.add("a", 1);
+        PQHandle<String> b = pq.add("b", 2);
+        pq.add("c", 3);
+        assertThat(pq.remove(b)).isEqualTo("b");
+        assertThat(b.isQueued()).isFalse();
+        assertThat(pq.removeMin()).isEqualTo("a");
+        assertThat(pq.removeMin()).isEqualTo("c");
+    }
+
+    @Test
+    void remove_removedHandle_throwsNoSuchElement() {
+        HandleMinPQ<String> pq = createMinPQ();
+        PQHandle<String> a = pq.add("a", 1);
+        pq.removeMin();
+        assertThatThrownBy(() -> pq.remove(a)).isInstanceOf(NoSuchElementException.class);
+        assertThatThrownBy(() -> pq.changePriority(a, 3)).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    void changePriority_handleOfOtherPQ_throwsIllegalArgument() {
+        HandleMinPQ<String> pq = createMinPQ();
+        HandleMinPQ<String> other = createMinPQ();
+        PQHandle<String> a = other.add("a", 1);
+        pq.add("a", 1);
+        assertThatThrownBy(() -> pq.changePriority(a, 3)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,87 @@
+package heaps;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class MinMaxHeapTests {
+    @Test
+    void peekAndRemove_emptyPQ_throwNoSuchElement() {
+        MinMaxHeap<Integer> pq = new MinMaxHeap<>();
+        assertThatThrownBy(pq::peekMin).isInstanceOf(NoSuchElementException.class);
+        assertThatThrownBy(pq::peekMax).isInstanceOf(NoSuchElementException.class);
+        assertThatThrownBy(pq::removeMin).isInstanceOf(NoSuchElementException.class);
+        assertThatThrownBy(pq::removeMax).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    void add_duplicateItem_throwsIllegalArgument() {
+        MinMaxHeap<String> pq = new MinMaxHeap<>();
+        pq.add("a", 1);
+        assertThatThrownBy(() -> pq.add("a", 2)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void peekMinAndMax_singleItem_returnSameItem() {
+        MinMaxHeap<String> pq = new MinMaxHeap<>();
+        pq.add("a", 1);
+        assertThat(pq.peekMin()).isEqualTo("a");
+        assertThat(pq.peekMax()).isEqualTo("a");
+        assertThat(pq.removeMax()).isEqualTo("a");
+        assertThat(pq.isEmpty()).isTrue();
+    }
+
+    @Test
+    void removeMinAndMax_alternating_returnItemsFromBothEnds() {
+        MinMaxHeap<Integer> pq = new MinMaxHeap<>();
+        int[] priorities = {5, 3, 9, 1, 7, 2, 8, 6, 4, 10};
+        for (int priority : priorities) {
+            pq.add(priority, priority);
+        }
+        Integer[] output = new Integer[priorities.length];
+        for (int i = 0; i < priorities.length; i += 2) {
+            output[i] = pq.removeMin();
+            output[i + 1] = pq.removeMax();
+        }
+        assertThat(output).containsExactly(1, 10, 2, 9, 3, 8, 4, 7, 5, 6);
+        assertThat(pq.isEmpty()).isTrue();
+    }
+
+    @Test
+    void changePriority_acrossBothEnds_reordersItems() {
+        MinMaxHeap<String> pq = new MinMaxHeap<>();
+        pq.add("a", 1);
+        pq.add("b", 2);
+        pq.add("c", 3);
+        pq.add("d", 4);
+        pq.changePriority("a", 10);
+        pq.changePriority("d", 0);
+        assertThat(pq.peekMin()).isEqualTo("d");
+        assertThat(pq.peekMax()).isEqualTo("a");
+        assertThatThrownBy(() -> pq.changePriority("e", 1)).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    void removeMaxRepeatedly_afterManyChanges_returnsItemsInReverseOrder() {
+        MinMaxHeap<Integer> pq = new MinMaxHeap<>();
+        Random random = new Random(42);
+        double[] priorities = new double[1000];
+        for (int i = 0; i < 1000; i++) {
+            priorities[i] = random.nextInt(1000);
+            pq.add(i, priorities[i]);
+        }
+        for (int i = 0; i < 1000; i += 3) {
+            priorities[i] = random.nextInt(1000);
+            pq.changePriority(i, priorities[i]);
+        }
+        double[] output = new double[1000];
+        for (int i = 999; i >= 0; i--) {
+            output[i] = priorities[pq.removeMax()];
+        }
+        assertThat(output).isSorted();
+    }
+}
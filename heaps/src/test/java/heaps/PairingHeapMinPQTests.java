@@ -0,0 +1,131 @@
+package heaps;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PairingHeapMinPQTests {
+    protected <T> ExtrinsicMinPQ<T> createMinPQ() {
+        return new PairingHeapMinPQ<>();
+    }
+
+    @Test
+    void removeMin_emptyPQ_throwsNoSuchElement() {
+        ExtrinsicMinPQ<Integer> pq = createMinPQ();
+        assertThatThrownBy(pq::removeMin).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    void add_duplicateItem_throwsIllegalArgument() {
+        ExtrinsicMinPQ<String> pq = createMinPQ();
+        pq.add("a", 1);
+        assertThatThrownBy(() -> pq.add("a", 2)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void changePriority_missingItem_throwsNoSuchElement() {
+        ExtrinsicMinPQ<String> pq = createMinPQ();
+        pq.add("a", 1);
+        assertThatThrownBy(() -> pq.changePriority("b", 2)).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    void changePriority_decreaseAndIncrease_reordersItems() {
+        ExtrinsicMinPQ<String> pq = createMinPQ();
+        pq.add("a", 1);
+        pq.add("b", 2);
+        pq.add("c", 3);
+        pq.add("d", 4);
+        pq.removeMin();
+        pq.changePriority("d", 0);
+        pq.changePriority("b", 5);
+        assertThat(pq.removeMin()).isEqualTo("d");
+        assertThat(pq.removeMin()).isEqualTo("c");
+        assertThat(pq.removeMin()).isEqualTo("b");
+        assertThat(pq.isEmpty()).isTrue();
+    }
+
+    @Test
+    void removeMinRepeatedly_afterManyChanges_returnsItemsInOrder() {
+        ExtrinsicMinPQ<Integer> pq = createMinPQ();
+        Random random = new Random(42);
+        double[] priorities = new double[1000];
+        for (int i = 0; i < 1000; i++) {
+            priorities[i] = random.nextInt(1000);
+            pq.add(i, priorities[i]);
+        }
+        for (int i = 0; i < 100; i++) {
+            pq.removeMin();
+        }
+        for (int i = 0; i < 1000; i++) {
+            int item = random.nextInt(1000);
+            if (pq.contains(item)) {
+                priorities[item] = random.nextInt(1000);
+                pq.changePriority(item, priorities[item]);
+            }
+        }
+        double[] output = new double[900];
+        for (int i = 0; i < 900; i++) {
+            output[i] = priorities[pq.removeMin()];
+        }
+        assertThat(output).isSorted();
+        assertThat(pq.isEmpty()).isTrue();
+    }
+
+    @Test
+    void get_everyPosition_returnsEveryItemOnceWithMinimumFirst() {
+        ExtrinsicMinPQ<Integer> pq = createMinPQ();
+        Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            pq.add(i, random.nextInt(1000));
+        }
+        for (int i = 0; i < 50; i++) {
+            pq.removeMin();
+        }
+        for (int i = 0; i < 200; i++) {
+            int item = random.nextInt(200);
+            if (pq.contains(item)) {
+                pq.changePriority(item, random.nextInt(1000));
+            }
+        }
+        Set<Integer> output = new HashSet<>();
+        for (int i = 1; i <= pq.size(); i++) {
+            assertThat(output.add(pq.get(i))).isTrue();
+        }
+        assertThat(output).hasSize(150);
+        assertThat(pq.get(1)).isEqualTo(pq.peekMin());
+        assertThatThrownBy(() -> pq.get(0)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> pq.get(151)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+    @Test
+    void meld_twoQueues_movesEveryItem() {
+        PairingHeapMinPQ<Integer> first = new PairingHeapMinPQ<>();
+        PairingHeapMinPQ<Integer> second = new PairingHeapMinPQ<>();
+        for (int i = 0; i < 10; i++) {
+            first.add(2 * i, 2 * i);
+            second.add(2 * i + 1, 2 * i + 1);
+        }
+        first.meld(second);
+        assertThat(second.isEmpty()).isTrue();
+        assertThat(first.size()).isEqualTo(20);
+        for (int i = 0; i < 20; i++) {
+            assertThat(first.removeMin()).isEqualTo(i);
+        }
+    }
+
+    @Test
+    void meld_sharedItem_throwsIllegalArgument() {
+        PairingHeapMinPQ<String> first = new PairingHeapMinPQ<>();
+        PairingHeapMinPQ<String> second = new PairingHeapMinPQ<>();
+        first.add("a", 1);
+        second.add("a", 2);
+        assertThatThrownBy(() -> first.meld(second)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,99 @@
+package heaps;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class RadixHeapMinPQTests {
+    protected <T> ExtrinsicMinPQ<T> createMinPQ() {
+        return new RadixHeapMinPQ<>();
+    }
+
+    @Test
+    void removeMin_emptyPQ_throwsNoSuchElement() {
+        ExtrinsicMinPQ<Integer> pq = createMinPQ();
+        assertThatThrownBy(pq::removeMin).isInstanceOf(NoSuchElementException.class);
+    }
+
+    @Test
+    void add_fractionalPriority_throwsIllegalArgument() {
+        ExtrinsicMinPQ<String> pq = createMinPQ();
+        assertThatThrownBy(() -> pq.add("a", 1.5)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> pq.add("a", -1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void add_priorityBelowLastMinimum_throwsIllegalArgument() {
+        ExtrinsicMinPQ<String> pq = createMinPQ();
+        pq.add("a", 5);
+        pq.add("b", 8);
+        assertThat(pq.removeMin()).isEqualTo("a");
+        assertThatThrownBy(() -> pq.add("c", 4)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> pq.changePriority("b", 4)).isInstanceOf(IllegalArgumentException.class);
+        pq.add("c", 5);
+        assertThat(pq.removeMin()).isEqualTo("c");
+    }
+
+    @Test
+    void changePriority_decrease_movesItemToFront() {
+        ExtrinsicMinPQ<String> pq = createMinPQ();
+        pq.add("a", 10);
+        pq.add("b", 20);
+        pq.add("c", 30);
+        pq.changePriority("c", 5);
+        assertThat(pq.removeMin()).isEqualTo("c");
+        assertThat(pq.removeMin()).isEqualTo("a");
+        assertThat(pq.removeMin()).isEqualTo("b");
+    }
+
+    @Test
+    void removeMinRepeatedly_monotoneWorkload_returnsItemsInOrder() {
+        ExtrinsicMinPQ<Integer> pq = createMinPQ();
+        Random random = new Random(42);
+        long[] priorities = new long[2000];
+        long lastMinimum = 0;
+        int next = 0;
+        double[] output = new double[2000];
+        int removed = 0;
+        while (removed < 2000) {
+            if (next < 2000 && (pq.isEmpty() || random.nextBoolean())) {
+                priorities[next] = lastMinimum + random.nextInt(100);
+                pq.add(next, priorities[next]);
+                next++;
+            } else {
+                int item = pq.removeMin();
+                lastMinimum = priorities[item];
+                output[removed++] = lastMinimum;
+            }
+        }
+        assertThat(output).isSorted();
+        assertThat(pq.isEmpty()).isTrue();
+    }
+
+    @Test
+    void get_everyPosition_returnsEveryItemOnceWithMinimumFirst() {
+        ExtrinsicMinPQ<Integer> pq = createMinPQ();
+        Random random = new Random(42);
+        for (int i = 0; i < 200; i++) {
+            pq.add(i, random.nextInt(100));
+        }
+        for (int i = 0; i < 50; i++) {
+            pq.removeMin();
+        }
+        pq.peekMin();
+        Set<Integer> output = new HashSet<>();
+        for (int i = 1; i <= pq.size(); i++) {
+            assertThat(output.add(pq.get(i))).isTrue();
+        }
+        assertThat(output).hasSize(150);
+        assertThat(pq.get(1)).isEqualTo(pq.peekMin());
+        assertThatThrownBy(() -> pq.get(0)).isInstanceOf(IndexOutOfBoundsException.class);
+        assertThatThrownBy(() -> pq.get(151)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+}
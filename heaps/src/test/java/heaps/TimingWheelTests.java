@@ -0,0 +1,85 @@
+package heaps;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TimingWheelTests {
+    @Test
+    void constructor_nonPositiveParameter_throwsIllegalArgument() {
+        assertThatThrownBy(() -> new TimingWheel<Integer>(0, 8, 2)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TimingWheel<Integer>(1, 0, 2)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TimingWheel<Integer>(1, 1 << 16, 8)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void schedule_duplicateItem_throwsIllegalArgument() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 8, 2);
+        wheel.schedule("a", 5);
+        assertThatThrownBy(() -> wheel.schedule("a", 6)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void advance_firesItemsOnlyOnceTheirDeadlinePassed() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 2);
+        wheel.schedule("a", 15);
+        wheel.schedule("b", 20);
+        wheel.schedule("c", 35);
+        assertThat(wheel.advance(19)).isEmpty();
+        assertThat(wheel.advance(20)).containsExactlyInAnyOrder("a", "b");
+        assertThat(wheel.advance(39)).isEmpty();
+        assertThat(wheel.advance(40)).containsExactly("c");
+        assertThat(wheel.isEmpty()).isTrue();
+    }
+
+    @Test
+    void schedule_pastDeadline_firesOnNextAdvance() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 8, 2);
+        wheel.advance(100);
+        wheel.schedule("a", 50);
+        assertThat(wheel.advance(100)).containsExactly("a");
+    }
+
+    @Test
+    void cancel_wheelAndOverflowItems_neverFire() {
+        TimingWheel<String> wheel = new TimingWheel<>(1, 4, 2);
+        wheel.schedule("near", 3);
+        wheel.schedule("far", 1000);
+        wheel.schedule("kept", 2000);
+        assertThat(wheel.cancel("near")).isTrue();
+        assertThat(wheel.cancel("far")).isTrue();
+        assertThat(wheel.cancel("far")).isFalse();
+        assertThat(wheel.advance(1999)).isEmpty();
+        assertThat(wheel.advance(2000)).containsExactly("kept");
+    }
+
+    @Test
+    void advance_randomDeadlines_firesEachItemOnItsTick() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(1, 16, 3);
+        Random random = new Random(42);
+        long[] deadlines = new long[5000];
+        for (int i = 0; i < deadlines.length; i++) {
+            deadlines[i] = random.nextInt(100000);
+            wheel.schedule(i, deadlines[i]);
+        }
+        List<Integer> fired = new ArrayList<>();
+        for (long now = 0; now < 100000; now += 1 + random.nextInt(500)) {
+            for (int item : wheel.advance(now)) {
+                assertThat(deadlines[item]).isLessThanOrEqualTo(now);
+                fired.add(item);
+            }
+            for (int i = 0; i < deadlines.length; i++) {
+                if (deadlines[i] <= now) {
+                    assertThat(wheel.contains(i)).isFalse();
+                }
+            }
+        }
+        fired.addAll(wheel.advance(100000));
+        assertThat(fired).hasSize(deadlines.length);
+    }
+}
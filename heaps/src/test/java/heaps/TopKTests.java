@@ -0,0 +1,78 @@
+package heaps;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class TopKTests {
+    @Test
+    void constructor_nonPositiveCapacity_throwsIllegalArgument() {
+        assertThatThrownBy(() -> new TopK<Integer>(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void offer_belowThreshold_isRejected() {
+        TopK<String> topK = new TopK<>(2);
+        assertThat(topK.offer("a", 5)).isTrue();
+        assertThat(topK.threshold()).isEqualTo(Double.NEGATIVE_INFINITY);
+        assertThat(topK.offer("b", 3)).isTrue();
+        assertThat(topK.threshold()).isEqualTo(3);
+        assertThat(topK.offer("c", 3)).isFalse();
+        assertThat(topK.offer("d", 4)).isTrue();
+        assertThat(topK.threshold()).isEqualTo(4);
+        assertThat(topK.size()).isEqualTo(2);
+    }
+
+    @Test
+    void offer_nanScore_throwsIllegalArgumentAndKeepsOrder() {
+        TopK<Integer> topK = new TopK<>(5);
+        for (int i = 0; i < 50; i++) {
+            if (i % 7 == 3) {
+                int item = i;
+                assertThatThrownBy(() -> topK.offer(item, Double.NaN))
+                        .isInstanceOf(IllegalArgumentException.class);
+            } else {
+                topK.offer(i, i);
+            }
+        }
+        assertThat(topK.drain()).extracting(PriorityNode::getItem).containsExactly(49, 48, 47, 46, 44);
+    }
+
+    @Test
+    void drain_returnsHighestScoresFirst() {
+        TopK<Integer> topK = new TopK<>(3);
+        double[] scores = {3, 9, 7, 4, 1, 8, 5, 2, 6, 10};
+        for (int i = 0; i < scores.length; i++) {
+            topK.offer(i, scores[i]);
+        }
+        List<PriorityNode<Integer>> output = topK.drain();
+        assertThat(output).extracting(PriorityNode::getItem).containsExactly(9, 1, 5);
+        assertThat(output).extracting(PriorityNode::getPriority).containsExactly(10.0, 9.0, 8.0);
+        assertThat(topK.isEmpty()).isTrue();
+    }
+
+    @Test
+    void merge_partialTopKs_keepsOverallTopK() {
+        Random random = new Random(42);
+        TopK<Integer> first = new TopK<>(10);
+        TopK<Integer> second = new TopK<>(10);
+        TopK<Integer> all = new TopK<>(10);
+        for (int i = 0; i < 1000; i++) {
+            double score = random.nextDouble();
+            (i % 2 == 0 ? first : second).offer(i, score);
+            all.offer(i, score);
+        }
+        first.merge(second);
+        assertThat(second.size()).isEqualTo(10);
+        List<PriorityNode<Integer>> expected = all.drain();
+        List<PriorityNode<Integer>> output = first.drain();
+        assertThat(output).hasSize(10);
+        for (int i = 0; i < 10; i++) {
+            assertThat(output.get(i).getItem()).isEqualTo(expected.get(i).getItem());
+        }
+    }
+}
@@ -0,0 +1,369 @@
+package sortingalgorithms;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Class ExternalSort is used to sort files of fixed-width records that are too big to
+ * fit in memory, in ascending order of the records.
+ *
+ * The sort works in two phases. First, the input file is read in chunks that fit in the
+ * memory budget, every chunk is sorted in memory with {@link Sort#timSort()}, and written
+ * to a temporary file as a sorted run. Then the runs are merged with a {@link LoserTree},
+ * as many at a time as the memory budget allows, in as many passes as needed, until one
+ * run is left, which becomes the output file.
+ *
+ * Every file is read and written with two buffers: while the records of one buffer are
+ * decoded or encoded, the other one is read or written in the background by an
+ * {@link AsynchronousFileChannel}, so the disk does not wait for the CPU and the other
+ * way around.
+ *
+ * The memory budget bounds the bytes of the buffers and the encoded size of a chunk.
+ * Decoded records are usually bigger than encoded ones, so the heap needs some room
+ * beyond the budget. The sort is stable.
+ *
+ * @param <T> The data type of the records.
+ */
+public class ExternalSort<T extends Comparable<? super T>> {
+    private static final int MIN_BUFFER_RECORDS = 64;   // The fewest records a merge buffer should hold.
+    private static final int MAX_RUN_BUFFER = 1 << 20;  // The most bytes of a buffer while making runs.
+    private final RecordCodec<T> codec;
+    private final long memoryBudget;                    // The number of bytes the buffers and a chunk may take.
+    private final Path tempDirectory;                   // Where the runs are written.
+
+    /**
+     * Constructs an ExternalSort that writes its runs to the default temporary directory.
+     *
+     * @see #ExternalSort(RecordCodec, long, Path)
+     */
+    public ExternalSort(RecordCodec<T> codec, long memoryBudget) {
+        this(codec, memoryBudget, null);
+    }
+
+    /**
+     * Constructs an ExternalSort.
+     *
+     * @param codec the codec of the records.
+     * @param memoryBudget the number of bytes the buffers and the chunk sorted in memory may take.
+     * @param tempDirectory the directory of the runs, or null for the default temporary directory.
+     * @throws IllegalArgumentException if the codec is null, if its record size is not positive,
+     *                                  or if the budget cannot hold four buffers of one record.
+     */
+    public ExternalSort(RecordCodec<T> codec, long memoryBudget, Path tempDirectory) {
+        if (codec == null || codec.recordSize() <= 0 || memoryBudget < 4L * codec.recordSize()) {
+            throw new IllegalArgumentException();
+        }
+        this.codec = codec;
+        this.memoryBudget = memoryBudget;
+        this.tempDirectory = tempDirectory;
+    }
+
+    /**
+     * Sorts the records of the input file into the output file, which is replaced if it
+     * exists. The input file is not modified, and the temporary files are deleted even
+     * if the sort fails.
+     *
+     * @throws IllegalArgumentException if the size of the input file is not a multiple of the record size.
+     * @throws IOException if a file cannot be read or written.
+     */
+    public void sort(Path input, Path output) throws IOException {
+        int recordSize = codec.recordSize();
+        if (Files.size(input) % recordSize != 0) {
+            throw new IllegalArgumentException();
+        }
+        List<Path> runs = new ArrayList<>();
+        List<Path> temporaryFiles = new ArrayList<>();   // The runs made by merging.
+        try {
+            makeRuns(input, Files.size(input) / recordSize, runs);
+            int fanIn = maxFanIn();
+            while (runs.size() > 1) {
+                List<Path> merged = new ArrayList<>();
+                for (int i = 0; i < runs.size(); i += fanIn) {
+                    List<Path> group = runs.subList(i, Math.min(runs.size(), i + fanIn));
+                    Path run = createRun();
+                    temporaryFiles.add(run);
+                    merged.add(run);
+                    merge(group, run);
+                    for (Path mergedRun : group) {
+                        Files.delete(mergedRun);
+                    }
+                }
+                runs = merged;
+            }
+            if (runs.isEmpty()) {
+                Files.deleteIfExists(output);
+                Files.createFile(output);
+            } else {
+                Files.move(runs.get(0), output, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            for (Path run : runs) {
+                Files.deleteIfExists(run);
+            }
+            for (Path temporaryFile : temporaryFiles) {
+                Files.deleteIfExists(temporaryFile);
+            }
+        }
+    }
+
+    /**
+     * Helper method which reads the given number of records of the input in chunks, sorts
+     * every chunk in memory and writes it to a new run, which is added to the given list.
+     */
+    private void makeRuns(Path input, long records, List<Path> runs) throws IOException {
+        int recordSize = codec.recordSize();
+        int bufferLength = bufferLength(Math.min(MAX_RUN_BUFFER, memoryBudget / 8));
+        long chunkRecords = Math.max(1, (memoryBudget - 4L * bufferLength) / recordSize);
+        int chunkLength = (int) Math.min(Math.min(chunkRecords, records), Integer.MAX_VALUE - 8);
+        try (RunReader<T> reader = new RunReader<>(input, codec, bufferLength)) {
+            T[] chunk = (T[]) new Comparable[chunkLength];
+            T record = reader.next();
+            while (record != null) {
+                int size = 0;
+                while (record != null && size < chunkLength) {
+                    chunk[size++] = record;
+                    record = reader.next();
+                }
+                T[] sorted = size == chunkLength ? chunk : Arrays.copyOf(chunk, size);
+                new Sort<>(sorted).timSort();
+                Path run = createRun();
+                runs.add(run);
+                try (RunWriter<T> writer = new RunWriter<>(run, codec, bufferLength)) {
+                    for (int i = 0; i < size; i++) {
+                        writer.write(sorted[i]);
+                        sorted[i] = null;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Helper method which merges the given runs, in order, into the given file.
+     */
+    private void merge(List<Path> group, Path output) throws IOException {
+        int bufferLength = bufferLength(memoryBudget / (2L * (group.size() + 1)));
+        List<RunReader<T>> readers = new ArrayList<>(group.size());
+        try (RunWriter<T> writer = new RunWriter<>(output, codec, bufferLength)) {
+            T[] heads = (T[]) new Comparable[group.size()];
+            for (int i = 0; i < group.size(); i++) {
+                RunReader<T> reader = new RunReader<>(group.get(i), codec, bufferLength);
+                readers.add(reader);
+                heads[i] = reader.next();
+            }
+            LoserTree<T> tree = new LoserTree<>(heads);
+            while (!tree.isEmpty()) {
+                writer.write(tree.peek());
+                tree.replaceWinner(readers.get(tree.winner()).next());
+            }
+        } finally {
+            for (RunReader<T> reader : readers) {
+                reader.close();
+            }
+        }
+    }
+
+    /**
+     * Returns the number of runs merged at a time, which is as many as fit in the memory
+     * budget with two buffers of at least MIN_BUFFER_RECORDS records each, plus the two
+     * buffers of the output, and at least two.
+     */
+    private int maxFanIn() {
+        long minBufferBytes = (long) MIN_BUFFER_RECORDS * codec.recordSize();
+        return (int) Math.max(2, Math.min(Integer.MAX_VALUE, memoryBudget / (2 * minBufferBytes) - 1));
+    }
+
+    /**
+     * Returns the given number of bytes rounded down to a whole number of records, and
+     * at least one record.
+     */
+    private int bufferLength(long bytes) {
+        int recordSize = codec.recordSize();
+        long records = Math.max(1, Math.min(bytes, Integer.MAX_VALUE) / recordSize);
+        return (int) (records * recordSize);
+    }
+
+    /**
+     * Creates an empty temporary file for a run.
+     */
+    private Path createRun() throws IOException {
+        return tempDirectory == null
+                ? Files.createTempFile("run", ".tmp")
+                : Files.createTempFile(tempDirectory, "run", ".tmp");
+    }
+
+    /**
+     * Waits for the given I/O operation and returns its result.
+     */
+    private static int await(Future<Integer> operation) throws IOException {
+        try {
+            return operation.get();
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+
+    /**
+     * Class RunReader decodes the records of a file one at a time. The next buffer of the
+     * file is read in the background while the records of the current one are decoded.
+     */
+    private static class RunReader<T> implements AutoCloseable {
+        private final AsynchronousFileChannel channel;
+        private final RecordCodec<T> codec;
+        private ByteBuffer current;                     // The buffer being decoded.
+        private ByteBuffer next;                        // The buffer being read in the background.
+        private Future<Integer> pendingRead;            // The read of next, or null at the end of the file.
+        private long position;                          // The position in the file of the next read.
+
+        RunReader(Path path, RecordCodec<T> codec, int bufferLength) throws IOException {
+            this.channel = AsynchronousFileChannel.open(path, StandardOpenOption.READ);
+            this.codec = codec;
+            this.current = ByteBuffer.allocate(bufferLength);
+            this.next = ByteBuffer.allocate(bufferLength);
+            current.flip();
+            position = 0;
+            startRead();
+        }
+
+        /**
+         * Returns the next record, or null at the end of the file.
+         */
+        T next() throws IOException {
+            if (!current.hasRemaining()) {
+                if (pendingRead == null) {
+                    return null;
+                }
+                finishRead();
+                ByteBuffer temp = current;
+                current = next;
+                next = temp;
+                current.flip();
+                startRead();
+                if (!current.hasRemaining()) {
+                    return null;
+                }
+            }
+            return codec.decode(current);
+        }
+
+        /**
+         * Starts reading the next buffer in the background, unless the file is over.
+         */
+        private void startRead() throws IOException {
+            next.clear();
+            pendingRead = position < channel.size() ? channel.read(next, position) : null;
+        }
+
+        /**
+         * Waits for the pending read, and keeps reading until the buffer is full or the
+         * file is over, since a read may stop early.
+         */
+        private void finishRead() throws IOException {
+            int read = await(pendingRead);
+            while (read >= 0) {
+                position += read;
+                if (!next.hasRemaining()) {
+                    break;
+                }
+                read = await(channel.read(next, position));
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (pendingRead != null) {
+                pendingRead.cancel(false);
+            }
+            channel.close();
+        }
+    }
+
+    /**
+     * Class RunWriter encodes records to a file one at a time. A full buffer is written in
+     * the background while the records of the next one are encoded.
+     */
+    private static class RunWriter<T> implements AutoCloseable {
+        private final AsynchronousFileChannel channel;
+        private final RecordCodec<T> codec;
+        private ByteBuffer current;                     // The buffer being encoded.
+        private ByteBuffer previous;                    // The buffer being written in the background.
+        private Future<Integer> pendingWrite;           // The write of previous, or null.
+        private long position;                          // The position in the file of the next write.
+
+        RunWriter(Path path, RecordCodec<T> codec, int bufferLength) throws IOException {
+            this.channel = AsynchronousFileChannel.open(path, StandardOpenOption.WRITE,
+                    StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING);
+            this.codec = codec;
+            this.current = ByteBuffer.allocate(bufferLength);
+            this.previous = ByteBuffer.allocate(bufferLength);
+            position = 0;
+        }
+
+        /**
+         * Writes the given record.
+         */
+        void write(T record) throws IOException {
+            if (current.remaining() < codec.recordSize()) {
+                flush();
+            }
+            codec.encode(record, current);
+        }
+
+        /**
+         * Waits for the pending write, and starts writing the current buffer in the background.
+         */
+        private void flush() throws IOException {
+            finishWrite();
+            ByteBuffer temp = previous;
+            previous = current;
+            current = temp;
+            current.clear();
+            previous.flip();
+            pendingWrite = channel.write(previous, position);
+        }
+
+        /**
+         * Waits for the pending write, and keeps writing until the whole buffer is written,
+         * since a write may stop early.
+         */
+        private void finishWrite() throws IOException {
+            if (pendingWrite == null) {
+                return;
+            }
+            int written = await(pendingWrite);
+            pendingWrite = null;
+            while (true) {
+                position += written;
+                if (!previous.hasRemaining()) {
+                    break;
+                }
+                written = await(channel.write(previous, position));
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                if (current.position() > 0) {
+                    flush();
+                }
+                finishWrite();
+            } finally {
+                channel.close();
+            }
+        }
+    }
+}
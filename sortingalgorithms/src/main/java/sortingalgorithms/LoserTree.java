@@ -0,0 +1,104 @@
+package sortingalgorithms;
+
+/**
+ * Custom tournament tree of losers that can be used to merge sorted sources.
+ *
+ * Every source is a leaf of a complete binary tree, and every inner node keeps the source
+ * that lost the match played there, while the overall winner, the source with the least
+ * head, is kept apart. When the head of the winner is replaced by the next element of
+ * its source, only the matches on the path from its leaf to the root are replayed, each
+ * against the stored loser, which takes log k comparisons for k sources, without the
+ * sibling comparisons a binary heap makes on the way down.
+ *
+ * An exhausted source has a null head, which loses against everything. Equal heads are
+ * won by the source with the lower index, so merging runs in their original order is
+ * stable.
+ *
+ * @param <T> The data type of the elements.
+ */
+class LoserTree<T extends Comparable<? super T>> {
+    private final T[] heads;                            // The current head of every source, or null.
+    private final int[] losers;                         // The winner at index 0, then the loser of every match.
+
+    /**
+     * Constructs a LoserTree over the given heads, one for every source.
+     *
+     * @param heads the first element of every source, or null for an empty source.
+     */
+    LoserTree(T[] heads) {
+        this.heads = heads;
+        this.losers = new int[heads.length];
+        losers[0] = build(1);
+    }
+
+    /**
+     * Returns the index of the source with the least head.
+     */
+    int winner() {
+        return losers[0];
+    }
+
+    /**
+     * Returns the least head, or null if every source is exhausted.
+     */
+    T peek() {
+        return heads[losers[0]];
+    }
+
+    /**
+     * Returns true if every source is exhausted, false otherwise.
+     */
+    boolean isEmpty() {
+        return heads[losers[0]] == null;
+    }
+
+    /**
+     * Replaces the head of the winner with the given element, or null if its source is
+     * exhausted, and replays its matches up to the root.
+     */
+    void replaceWinner(T next) {
+        int winner = losers[0];
+        heads[winner] = next;
+        for (int node = (winner + heads.length) / 2; node > 0; node /= 2) {
+            if (beats(losers[node], winner)) {
+                int temp = losers[node];
+                losers[node] = winner;
+                winner = temp;
+            }
+        }
+        losers[0] = winner;
+    }
+
+    /**
+     * Helper method which plays every match of the subtree of the given node, storing
+     * the losers, and returns the winner. The leaves are the nodes from k to 2k - 1.
+     */
+    private int build(int node) {
+        if (node >= heads.length) {
+            return node - heads.length;
+        }
+        int left = build(2 * node);
+        int right = build(2 * node + 1);
+        if (beats(left, right)) {
+            losers[node] = right;
+            return left;
+        }
+        losers[node] = left;
+        return right;
+    }
+
+    /**
+     * Returns true if the head of the first source wins against the head of the second
+     * source, false otherwise.
+     */
+    private boolean beats(int first, int second) {
+        if (heads[second] == null) {
+            return heads[first] != null || first < second;
+        }
+        if (heads[first] == null) {
+            return false;
+        }
+        int compare = heads[first].compareTo(heads[second]);
+        return compare < 0 || (compare == 0 && first < second);
+    }
+}
@@ -3,29 +3,59 @@ package sortingalgorithms;
 /**
  * Custom Heap Class that can be used with the HeapSort Algorithm.
  *
+ * The heap is stored in the array itself, so sorting takes O(1) extra memory and
+ * O(n log n) comparisons in the worst case. Every node has arity children, two by
+ * default; with four, the tree is half as deep and the children of a node sit next to
+ * each other in memory, which costs more comparisons per level but fewer cache misses.
+ *
+ * Elements are never swapped: a sift moves a hole along its path, shifting the
+ * elements it passes by one level, and writes the sifted element once at the end.
+ *
  * @param <T> The data type of the elements.
  */
 public class MaxHeap<T extends Comparable<? super T>> {
+    public static final int DEFAULT_ARITY = 2;
     private T[] heap;           // Contains all elements.
     private int size;           // Contains the size of the elements.
+    private final int arity;    // Contains the number of children of every node.
 
     /**
-     * Constructs a MaxHeap with the given elements.
+     * Constructs a binary MaxHeap with the given elements.
      *
      * @param elements the array that contains al the elements to be in the Heap.
      */
     public MaxHeap(T[] elements) {
+        this(elements, DEFAULT_ARITY);
+    }
+
+    /**
+     * Constructs a MaxHeap with the given elements, where every node has the given
+     * number of children.
+     *
+     * @param elements the array that contains al the elements to be in the Heap.
+     * @param arity the number of children of every node, usually 2 or 4.
+     * @throws IllegalArgumentException if the arity is less than 2.
+     */
+    public MaxHeap(T[] elements, int arity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException();
+        }
         this.heap = elements;
         this.size = elements.length;
+        this.arity = arity;
     }
 
     /**
      * Uses Floyd's Algorithm to convert an array to a valid Heap and proceeds to
      * sort the array.
+     *
+     * Floyd's Algorithm sifts down every node that has children, from the last one to
+     * the root. The maximum is then repeatedly moved to the end of the heap, and the
+     * element that was there is put back with a bottom-up sift.
      */
     public void buildHeap() {
-        for (int i = size; i >= 0; i--) {
-            percolateDown(i);
+        for (int i = indexOfFirstLeaf() - 1; i >= 0; i--) {
+            percolateDown(i, heap[i]);
         }
         for (int i = size - 1; i > 0; i--) {
             heap[i] = removeMax();
@@ -33,7 +63,7 @@ public class MaxHeap<T extends Comparable<? super T>> {
     }
 
     /**
-     * Returns the maximum value in the heap.
+     * Removes and returns the maximum value in the heap.
      *
      * @return return the maximum value in the heap.
      */
@@ -41,59 +71,83 @@ public class MaxHeap<T extends Comparable<? super T>> {
         T itemToRemove = heap[0];
         T lastItemInHeap = heap[size - 1];
         size -= 1;
-        heap[0] = lastItemInHeap;
-        percolateDown(0);
+        if (size > 0) {
+            percolateBottomUp(lastItemInHeap);
+        }
         return itemToRemove;
     }
 
     /**
-     * Recursively swaps elements in the heap to satisfy the Heap invariant of the highest
-     * value always at the top.
+     * Moves the hole at the given index down until the given item, which was there,
+     * is not less than any of the children of the hole, and puts the item in the hole.
      *
-     * @param index the index of the current element.
+     * @param index the index of the hole.
+     * @param item the item to put back in the heap.
      */
-    private void percolateDown(int index) {
-        int indexOfLeftChild = 2 * index + 1;
-        int indexOfRightChild = 2 * index + 2;
-        if (indexOfLeftChild >= size && indexOfRightChild >= size) {
-            return;
-        } else if (indexOfRightChild >= size) {
-            indexOfRightChild = indexOfLeftChild;
-        }
-        int childWithHighestValue = getIndexOfChildWithHighestValue(indexOfLeftChild, indexOfRightChild);
-        if (heap[index].compareTo(heap[childWithHighestValue]) > 0) {
-            // Do nothing
-        } else {
-            swapElements(index, childWithHighestValue);
-            percolateDown(childWithHighestValue);
+    private void percolateDown(int index, T item) {
+        int indexOfFirstLeaf = indexOfFirstLeaf();
+        while (index < indexOfFirstLeaf) {
+            int childWithHighestValue = getIndexOfChildWithHighestValue(arity * index + 1);
+            if (item.compareTo(heap[childWithHighestValue]) >= 0) {
+                break;
+            }
+            heap[index] = heap[childWithHighestValue];
+            index = childWithHighestValue;
         }
+        heap[index] = item;
     }
 
     /**
-     * Returns the index of the child with the highest value.
+     * Puts the given item in the heap, whose root is a hole, with Wegener's bottom-up
+     * sift. The hole first moves down to a leaf, always to the child with the highest
+     * value, without comparing the item. The item then moves up from that leaf until its
+     * parent is not less than it. Since the item comes from the bottom of the heap, it
+     * usually stays near the bottom, which saves about half the comparisons.
      *
-     * @param indexOfLeftChild the index of the left child.
-     * @param indexOfRightChild the index of the right child.
-     * @return
+     * @param item the item to put back in the heap.
      */
-    private int getIndexOfChildWithHighestValue(int indexOfLeftChild, int indexOfRightChild) {
-        if (heap[indexOfLeftChild].compareTo(heap[indexOfRightChild]) > 0) {
-            return indexOfLeftChild;
-        } else {
-            return indexOfRightChild;
+    private void percolateBottomUp(T item) {
+        int indexOfFirstLeaf = indexOfFirstLeaf();
+        int index = 0;
+        while (index < indexOfFirstLeaf) {
+            int childWithHighestValue = getIndexOfChildWithHighestValue(arity * index + 1);
+            heap[index] = heap[childWithHighestValue];
+            index = childWithHighestValue;
         }
+        while (index > 0) {
+            int indexOfParent = (index - 1) / arity;
+            if (heap[indexOfParent].compareTo(item) >= 0) {
+                break;
+            }
+            heap[index] = heap[indexOfParent];
+            index = indexOfParent;
+        }
+        heap[index] = item;
+    }
+
+    /**
+     * Returns the index of the first node without children, which is also the number of
+     * nodes with children. Comparing indices with it, rather than computing the index of
+     * a first child that may not exist, cannot overflow.
+     */
+    private int indexOfFirstLeaf() {
+        return size <= 1 ? 0 : (size - 2) / arity + 1;
     }
 
     /**
-     * Swaps two elements at the two given positions.
+     * Returns the index of the child with the highest value.
      *
-     * @param indexOfFirstItem the index of the first element.
-     * @param indexOfSecondItem the index of the second element.
+     * @param indexOfFirstChild the index of the first child, which must be in the heap.
+     * @return the index of the child with the highest value.
      */
-    private void swapElements(int indexOfFirstItem, int indexOfSecondItem) {
-        T parent = heap[indexOfFirstItem];
-        T child = heap[indexOfSecondItem];
-        heap[indexOfFirstItem] = child;
-        heap[indexOfSecondItem] = parent;
+    private int getIndexOfChildWithHighestValue(int indexOfFirstChild) {
+        int childWithHighestValue = indexOfFirstChild;
+        int end = indexOfFirstChild + Math.min(arity, size - indexOfFirstChild);
+        for (int i = indexOfFirstChild + 1; i < end; i++) {
+            if (heap[i].compareTo(heap[childWithHighestValue]) > 0) {
+                childWithHighestValue = i;
+            }
+        }
+        return childWithHighestValue;
     }
 }
@@ -0,0 +1,509 @@
+package sortingalgorithms;
+
+/**
+ * Custom pattern-defeating Quick Sort that can be used with the QuickSort Algorithm.
+ *
+ * The pivot is the median of three elements, or for big partitions the ninther, the
+ * median of three medians of three. Partitions are made with block partitioning: the
+ * offsets of the elements on the wrong side are first collected in two small buffers,
+ * where the count of found elements grows by the result of a comparison instead of
+ * after a branch, and the elements are then moved in a single cyclic pass, so the
+ * outcome of a comparison rarely has to be predicted.
+ *
+ * A partition that leaves less than an eighth of the elements on one side counts as
+ * bad, and shuffles a few elements of both sides to break patterns. After about log n
+ * bad partitions, the subarray is heap sorted instead, so the sort takes O(n log n) in
+ * the worst case. A partition that moved no element hints at sorted input, and both
+ * sides are then insertion sorted if that takes only a few moves. When the pivot is
+ * equal to the pivot of the partition before it, elements equal to the pivot are put
+ * on the left and skipped, so many duplicates take linear time. Small subarrays are
+ * insertion sorted.
+ *
+ * The sort is in place, needs O(log n) stack and is not stable.
+ *
+ * @param <T> The data type of the elements.
+ */
+class PdqSort<T extends Comparable<? super T>> {
+    private static final int INSERTION_SORT_THRESHOLD = 24;         // Smaller subarrays are insertion sorted.
+    private static final int NINTHER_THRESHOLD = 128;               // Bigger subarrays use the ninther as pivot.
+    private static final int PARTIAL_INSERTION_SORT_LIMIT = 8;      // The most moves of an optimistic insertion sort.
+    private static final int BLOCK_SIZE = 64;                       // The number of offsets of a block.
+    private final T[] elements;                                     // Contains all elements.
+    private final int[] offsetsLeft;                                // Offsets of the elements to move right.
+    private final int[] offsetsRight;                               // Offsets of the elements to move left.
+    private boolean alreadyPartitioned;                             // True if the last partition moved nothing.
+
+    /**
+     * Constructs a PdqSort with the given elements.
+     *
+     * @param elements the array that contains all the elements to sort.
+     */
+    PdqSort(T[] elements) {
+        this.elements = elements;
+        this.offsetsLeft = new int[BLOCK_SIZE];
+        this.offsetsRight = new int[BLOCK_SIZE];
+    }
+
+    /**
+     * Sorts the array.
+     */
+    void sort() {
+        sort(0, elements.length);
+    }
+
+    /**
+     * Sorts the subarray from low inclusive to high exclusive.
+     */
+    void sort(int low, int high) {
+        if (high - low < 2) {
+            return;
+        }
+        quickSort(low, high, log2(high - low), true);
+    }
+
+    /**
+     * Internal method that sorts the subarray from low inclusive to high exclusive. The
+     * side of every partition with fewer elements is sorted recursively and the other one
+     * in the loop, which keeps the stack depth logarithmic. If leftmost is false, the
+     * element before low is not greater than any element of the subarray.
+     *
+     * @param badAllowed the number of bad partitions left before falling back to heap sort.
+     */
+    private void quickSort(int low, int high, int badAllowed, boolean leftmost) {
+        while (true) {
+            int size = high - low;
+            if (size < INSERTION_SORT_THRESHOLD) {
+                if (leftmost) {
+                    insertionSort(low, high);
+                } else {
+                    unguardedInsertionSort(low, high);
+                }
+                return;
+            }
+            choosePivot(low, high);
+            // The pivot equals the pivot before it, which is not greater than any element,
+            // so every element equal to it can be skipped at once.
+            if (!leftmost && elements[low - 1].compareTo(elements[low]) >= 0) {
+                low = partitionLeft(low, high) + 1;
+                continue;
+            }
+            int pivotIndex = partitionRight(low, high);
+            int leftSize = pivotIndex - low;
+            int rightSize = high - (pivotIndex + 1);
+            if (leftSize < size / 8 || rightSize < size / 8) {
+                if (--badAllowed == 0) {
+                    heapSort(low, high);
+                    return;
+                }
+                breakPatterns(low, pivotIndex);
+                breakPatterns(pivotIndex + 1, high);
+            } else if (alreadyPartitioned
+                    && partialInsertionSort(low, pivotIndex)
+                    && partialInsertionSort(pivotIndex + 1, high)) {
+                return;
+            }
+            if (leftSize < rightSize) {
+                quickSort(low, pivotIndex, badAllowed, leftmost);
+                low = pivotIndex + 1;
+                leftmost = false;
+            } else {
+                quickSort(pivotIndex + 1, high, badAllowed, false);
+                high = pivotIndex;
+            }
+        }
+    }
+
+    /**
+     * Rearranges the array so that the element at every given index is the one that would
+     * be there if the array was sorted, every element before it is not greater, and every
+     * element after it is not less.
+     *
+     * @param ranks the indices, in ascending order without duplicates.
+     */
+    void select(int[] ranks) {
+        if (ranks.length > 0) {
+            select(0, elements.length, ranks, 0, ranks.length, log2(elements.length) + 1, true);
+        }
+    }
+
+    /**
+     * Internal method that selects the given ranks from index from inclusive to index to
+     * exclusive, which are all in the subarray from low inclusive to high exclusive, with
+     * introselect: the subarray is partitioned like in {@link #quickSort}, but only the
+     * sides that contain a rank are partitioned again, so a single rank takes O(n) on
+     * average, and all the ranks are found in one pass of recursive partitioning. After
+     * too many bad partitions, the subarray is heap sorted instead.
+     */
+    private void select(int low, int high, int[] ranks, int from, int to, int badAllowed, boolean leftmost) {
+        while (from < to) {
+            int size = high - low;
+            if (size < INSERTION_SORT_THRESHOLD) {
+                insertionSort(low, high);
+                return;
+            }
+            choosePivot(low, high);
+            if (!leftmost && elements[low - 1].compareTo(elements[low]) >= 0) {
+                // Every element up to the pivot is equal to it, so it is in place.
+                int pivotIndex = partitionLeft(low, high);
+                while (from < to && ranks[from] <= pivotIndex) {
+                    from++;
+                }
+                low = pivotIndex + 1;
+                continue;
+            }
+            int pivotIndex = partitionRight(low, high);
+            int leftSize = pivotIndex - low;
+            int rightSize = high - (pivotIndex + 1);
+            if (leftSize < size / 8 || rightSize < size / 8) {
+                if (--badAllowed == 0) {
+                    heapSort(low, high);
+                    return;
+                }
+                breakPatterns(low, pivotIndex);
+                breakPatterns(pivotIndex + 1, high);
+            }
+            int split = from;                           // The first rank not left of the pivot.
+            while (split < to && ranks[split] < pivotIndex) {
+                split++;
+            }
+            int rightFrom = split < to && ranks[split] == pivotIndex ? split + 1 : split;
+            boolean hasLeft = split > from;
+            boolean hasRight = rightFrom < to;
+            if (hasLeft && hasRight) {
+                if (leftSize < rightSize) {
+                    select(low, pivotIndex, ranks, from, split, badAllowed, leftmost);
+                    from = rightFrom;
+                    low = pivotIndex + 1;
+                    leftmost = false;
+                } else {
+                    select(pivotIndex + 1, high, ranks, rightFrom, to, badAllowed, false);
+                    to = split;
+                    high = pivotIndex;
+                }
+            } else if (hasLeft) {
+                to = split;
+                high = pivotIndex;
+            } else {
+                from = rightFrom;
+                low = pivotIndex + 1;
+                leftmost = false;
+            }
+        }
+    }
+
+    /**
+     * Moves the pivot of the subarray from low inclusive to high exclusive, which has at
+     * least INSERTION_SORT_THRESHOLD elements, to low. The sampled elements are sorted
+     * in place, which leaves an element not less than the pivot after it.
+     */
+    void choosePivot(int low, int high) {
+        int middle = low + (high - low) / 2;
+        if (high - low > NINTHER_THRESHOLD) {
+            sort3(low, middle, high - 1);
+            sort3(low + 1, middle - 1, high - 2);
+            sort3(low + 2, middle + 1, high - 3);
+            sort3(middle - 1, middle, middle + 1);
+            swap(low, middle);
+        } else {
+            sort3(middle, low, high - 1);
+        }
+    }
+
+    /**
+     * Partitions the subarray from low inclusive to high exclusive around the pivot at
+     * low, with block partitioning. Elements less than the pivot end up on its left, and
+     * the others on its right. Sets alreadyPartitioned to true if no element had to move.
+     *
+     * @return the index of the pivot.
+     */
+    int partitionRight(int low, int high) {
+        T pivot = elements[low];
+        int first = low;
+        int last = high;
+        // An element not less than the pivot follows it, and one less than it precedes
+        // first unless first did not move, so only that case needs a bound.
+        while (elements[++first].compareTo(pivot) < 0) {
+        }
+        if (first - 1 == low) {
+            while (first < last && elements[--last].compareTo(pivot) >= 0) {
+            }
+        } else {
+            while (elements[--last].compareTo(pivot) >= 0) {
+            }
+        }
+        alreadyPartitioned = first >= last;
+        if (!alreadyPartitioned) {
+            swap(first, last);
+            first++;
+            first = partitionBlocks(first, last, pivot);
+        }
+        int pivotIndex = first - 1;
+        elements[low] = elements[pivotIndex];
+        elements[pivotIndex] = pivot;
+        return pivotIndex;
+    }
+
+    /**
+     * Helper method which partitions the subarray from first inclusive to last exclusive
+     * around the given pivot, one block of each end at a time, and returns the index of
+     * the first element that is not less than the pivot.
+     */
+    private int partitionBlocks(int first, int last, T pivot) {
+        int baseLeft = first;                           // offsetsLeft are relative to it.
+        int baseRight = last;                           // offsetsRight are relative to it, backwards.
+        int countLeft = 0;
+        int countRight = 0;
+        int startLeft = 0;
+        int startRight = 0;
+        while (first < last) {
+            int unknown = last - first;
+            int leftSplit = countLeft == 0 ? (countRight == 0 ? unknown / 2 : unknown) : 0;
+            int rightSplit = countRight == 0 ? unknown - leftSplit : 0;
+            // Collects the offsets of the elements on the wrong side, without branching on them.
+            int leftLength = Math.min(leftSplit, BLOCK_SIZE);
+            for (int i = 0; i < leftLength; i++) {
+                offsetsLeft[countLeft] = i;
+                countLeft += elements[first++].compareTo(pivot) >= 0 ? 1 : 0;
+            }
+            int rightLength = Math.min(rightSplit, BLOCK_SIZE);
+            for (int i = 1; i <= rightLength; i++) {
+                offsetsRight[countRight] = i;
+                countRight += elements[--last].compareTo(pivot) < 0 ? 1 : 0;
+            }
+            int count = Math.min(countLeft, countRight);
+            swapOffsets(baseLeft, baseRight, startLeft, startRight, count, countLeft == countRight);
+            countLeft -= count;
+            countRight -= count;
+            startLeft += count;
+            startRight += count;
+            if (countLeft == 0) {
+                startLeft = 0;
+                baseLeft = first;
+            }
+            if (countRight == 0) {
+                startRight = 0;
+                baseRight = last;
+            }
+        }
+        // Moves the elements still on the wrong side past the other ones.
+        if (countLeft > 0) {
+            while (countLeft-- > 0) {
+                swap(baseLeft + offsetsLeft[startLeft + countLeft], --last);
+            }
+            first = last;
+        }
+        if (countRight > 0) {
+            while (countRight-- > 0) {
+                swap(baseRight - offsetsRight[startRight + countRight], first);
+                first++;
+            }
+        }
+        return first;
+    }
+
+    /**
+     * Utility method that exchanges count elements on the left, at the given offsets from
+     * baseLeft, with count elements on the right, at the given offsets before baseRight.
+     * Unless useSwaps is true, they are moved in a single cycle, with one write each.
+     */
+    private void swapOffsets(int baseLeft, int baseRight, int startLeft, int startRight, int count, boolean useSwaps) {
+        if (useSwaps) {
+            // Plain swaps keep descending input linear, since they leave both sides in order.
+            for (int i = 0; i < count; i++) {
+                swap(baseLeft + offsetsLeft[startLeft + i], baseRight - offsetsRight[startRight + i]);
+            }
+        } else if (count > 0) {
+            int left = baseLeft + offsetsLeft[startLeft];
+            int right = baseRight - offsetsRight[startRight];
+            T temp = elements[left];
+            elements[left] = elements[right];
+            for (int i = 1; i < count; i++) {
+                left = baseLeft + offsetsLeft[startLeft + i];
+                elements[right] = elements[left];
+                right = baseRight - offsetsRight[startRight + i];
+                elements[left] = elements[right];
+            }
+            elements[right] = temp;
+        }
+    }
+
+    /**
+     * Partitions the subarray from low inclusive to high exclusive around the pivot at
+     * low, when no element is less than the pivot. Elements equal to the pivot end up on
+     * its left, and greater ones on its right.
+     *
+     * @return the index of the pivot.
+     */
+    int partitionLeft(int low, int high) {
+        T pivot = elements[low];
+        int first = low;
+        int last = high;
+        while (pivot.compareTo(elements[--last]) < 0) {
+        }
+        if (last + 1 == high) {
+            while (first < last && pivot.compareTo(elements[++first]) >= 0) {
+            }
+        } else {
+            while (pivot.compareTo(elements[++first]) >= 0) {
+            }
+        }
+        while (first < last) {
+            swap(first, last);
+            while (pivot.compareTo(elements[--last]) < 0) {
+            }
+            while (pivot.compareTo(elements[++first]) >= 0) {
+            }
+        }
+        elements[low] = elements[last];
+        elements[last] = pivot;
+        return last;
+    }
+
+    /**
+     * Utility method that swaps a few elements of the subarray from low inclusive to high
+     * exclusive with elements a quarter of the way in, so that the next pivot is drawn
+     * from a different part of the subarray.
+     */
+    private void breakPatterns(int low, int high) {
+        int size = high - low;
+        if (size < INSERTION_SORT_THRESHOLD) {
+            return;
+        }
+        int quarter = size / 4;
+        swap(low, low + quarter);
+        swap(high - 1, high - quarter);
+        if (size > NINTHER_THRESHOLD) {
+            swap(low + 1, low + quarter + 1);
+            swap(low + 2, low + quarter + 2);
+            swap(high - 2, high - quarter - 1);
+            swap(high - 3, high - quarter - 2);
+        }
+    }
+
+    /**
+     * Internal method that sorts the subarray from low inclusive to high exclusive using
+     * insertion sort, moving every element into a hole.
+     */
+    void insertionSort(int low, int high) {
+        for (int i = low + 1; i < high; i++) {
+            T element = elements[i];
+            int hole = i;
+            while (hole > low && element.compareTo(elements[hole - 1]) < 0) {
+                elements[hole] = elements[hole - 1];
+                hole--;
+            }
+            elements[hole] = element;
+        }
+    }
+
+    /**
+     * Internal method that insertion sorts the subarray from low inclusive to high
+     * exclusive, when the element before low is not greater than any element of the
+     * subarray, which stops every element without checking the bound.
+     */
+    private void unguardedInsertionSort(int low, int high) {
+        for (int i = low + 1; i < high; i++) {
+            T element = elements[i];
+            int hole = i;
+            while (element.compareTo(elements[hole - 1]) < 0) {
+                elements[hole] = elements[hole - 1];
+                hole--;
+            }
+            elements[hole] = element;
+        }
+    }
+
+    /**
+     * Insertion sorts the subarray from low inclusive to high exclusive, but gives up as
+     * soon as more than PARTIAL_INSERTION_SORT_LIMIT elements had to move.
+     *
+     * @return true if the subarray is sorted, false otherwise.
+     */
+    private boolean partialInsertionSort(int low, int high) {
+        int moves = 0;
+        for (int i = low + 1; i < high; i++) {
+            T element = elements[i];
+            int hole = i;
+            while (hole > low && element.compareTo(elements[hole - 1]) < 0) {
+                elements[hole] = elements[hole - 1];
+                hole--;
+            }
+            elements[hole] = element;
+            moves += i - hole;
+            if (moves > PARTIAL_INSERTION_SORT_LIMIT) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Internal method that sorts the subarray from low inclusive to high exclusive using
+     * a binary heap built on the subarray, with a hole-based sift.
+     */
+    void heapSort(int low, int high) {
+        int size = high - low;
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDown(low, i, size, elements[low + i]);
+        }
+        for (int last = size - 1; last > 0; last--) {
+            T element = elements[low + last];
+            elements[low + last] = elements[low];
+            siftDown(low, 0, last, element);
+        }
+    }
+
+    /**
+     * Utility method that moves the hole at the given index of the heap that starts at
+     * offset and has the given size down, until the given element fits in it.
+     */
+    private void siftDown(int offset, int index, int size, T element) {
+        int half = size / 2;
+        while (index < half) {
+            int child = 2 * index + 1;
+            if (child + 1 < size && elements[offset + child].compareTo(elements[offset + child + 1]) < 0) {
+                child++;
+            }
+            if (element.compareTo(elements[offset + child]) >= 0) {
+                break;
+            }
+            elements[offset + index] = elements[offset + child];
+            index = child;
+        }
+        elements[offset + index] = element;
+    }
+
+    /**
+     * Utility method that sorts the elements at the three given indices.
+     */
+    private void sort3(int first, int second, int third) {
+        sort2(first, second);
+        sort2(second, third);
+        sort2(first, second);
+    }
+
+    /**
+     * Utility method that swaps the elements at the two given indices if they are out of order.
+     */
+    private void sort2(int first, int second) {
+        if (elements[second].compareTo(elements[first]) < 0) {
+            swap(first, second);
+        }
+    }
+
+    /**
+     * Utility method that swaps the elements at the two given indices.
+     */
+    private void swap(int first, int second) {
+        T temp = elements[first];
+        elements[first] = elements[second];
+        elements[second] = temp;
+    }
+
+    /**
+     * Returns the base 2 logarithm of the given positive number, rounded down.
+     */
+    static int log2(int number) {
+        return 31 - Integer.numberOfLeadingZeros(number);
+    }
+}
@@ -0,0 +1,517 @@
+package sortingalgorithms;
+
+/**
+ * Class PrimitiveSort is used to sort arrays of primitives in ascending order, without
+ * boxing them or calling compareTo.
+ *
+ * Big arrays are sorted with a least significant digit Radix Sort, one byte at a time,
+ * moving the elements between the array and a scratch buffer of the same length. All
+ * the byte counts are computed in a single pass first, and a byte position where every
+ * element has the same value is skipped, so arrays of small or clustered keys take fewer
+ * passes. The sign bit is flipped so negative numbers come first, and doubles are sorted
+ * by their IEEE 754 bits, with the other bits flipped for negative numbers too. Like
+ * {@link java.util.Arrays#sort(double[])}, -0.0 comes before 0.0 and NaN comes last.
+ *
+ * Small arrays are sorted with a dual-pivot Quick Sort, down to insertion sort for the
+ * smallest partitions. Neither sort is stable, which makes no difference for primitives.
+ */
+public final class PrimitiveSort {
+    private static final int RADIX_SORT_THRESHOLD = 1024;  // Smaller arrays are quick sorted.
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+    private static final int RADIX = 256;                  // The number of values of a byte.
+
+    private PrimitiveSort() {
+    }
+
+    /**
+     * Sorts the given array, allocating a scratch buffer if it is big.
+     */
+    public static void sort(int[] elements) {
+        sort(elements, elements.length < RADIX_SORT_THRESHOLD ? null : new int[elements.length]);
+    }
+
+    /**
+     * Sorts the given array, using the given scratch buffer instead of allocating one.
+     *
+     * @param elements the array to sort.
+     * @param scratch a buffer at least as long as the array, or null if the array is small.
+     * @throws IllegalArgumentException if the array is big and the buffer is null or too short.
+     */
+    public static void sort(int[] elements, int[] scratch) {
+        if (elements.length >= RADIX_SORT_THRESHOLD && (scratch == null || scratch.length < elements.length)) {
+            throw new IllegalArgumentException();
+        }
+        sort(elements, scratch, 0, elements.length);
+    }
+
+    /**
+     * Sorts the given array with a parallel Sample Sort, using the given number of
+     * threads. Splitters picked from a random sample cut the array into buckets, every
+     * thread moves the elements of its part of the array to their bucket in a single
+     * pass, and the buckets are then sorted in parallel. Small arrays are sorted by a
+     * single thread.
+     *
+     * @throws IllegalArgumentException if the parallelism is not positive.
+     */
+    public static void parallelSort(int[] elements, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException();
+        }
+        SampleSort.sort(elements, parallelism);
+    }
+
+    /**
+     * Sorts the subarray from low inclusive to high exclusive, using the same subarray
+     * of the given scratch buffer, which may be null if the subarray is small.
+     */
+    static void sort(int[] elements, int[] scratch, int low, int high) {
+        int length = high - low;
+        if (length < RADIX_SORT_THRESHOLD) {
+            quickSort(elements, low, high - 1);
+            return;
+        }
+        int[] counts = new int[Integer.BYTES * RADIX];
+        for (int i = low; i < high; i++) {
+            int element = elements[i];
+            int key = element ^ Integer.MIN_VALUE;
+            for (int digit = 0; digit < Integer.BYTES; digit++) {
+                counts[digit * RADIX + ((key >>> (8 * digit)) & 0xFF)]++;
+            }
+        }
+        int[] source = elements;
+        int[] destination = scratch;
+        for (int digit = 0; digit < Integer.BYTES; digit++) {
+            int shift = 8 * digit;
+            int offset = digit * RADIX;
+            if (counts[offset + (((elements[low] ^ Integer.MIN_VALUE) >>> shift) & 0xFF)] == length) {
+                continue;                               // Every element has the same byte here.
+            }
+            toStartIndices(counts, offset, low);
+            for (int i = low; i < high; i++) {
+                int element = source[i];
+                destination[counts[offset + (((element ^ Integer.MIN_VALUE) >>> shift) & 0xFF)]++] = element;
+            }
+            int[] temp = source;
+            source = destination;
+            destination = temp;
+        }
+        if (source != elements) {
+            System.arraycopy(source, low, elements, low, length);
+        }
+    }
+
+    /**
+     * Sorts the given array, allocating a scratch buffer if it is big.
+     */
+    public static void sort(long[] elements) {
+        sort(elements, elements.length < RADIX_SORT_THRESHOLD ? null : new long[elements.length]);
+    }
+
+    /**
+     * Sorts the given array, using the given scratch buffer instead of allocating one.
+     *
+     * @param elements the array to sort.
+     * @param scratch a buffer at least as long as the array, or null if the array is small.
+     * @throws IllegalArgumentException if the array is big and the buffer is null or too short.
+     */
+    public static void sort(long[] elements, long[] scratch) {
+        if (elements.length >= RADIX_SORT_THRESHOLD && (scratch == null || scratch.length < elements.length)) {
+            throw new IllegalArgumentException();
+        }
+        sort(elements, scratch, 0, elements.length);
+    }
+
+    /**
+     * Sorts the given array with a parallel Sample Sort, using the given number of
+     * threads. Splitters picked from a random sample cut the array into buckets, every
+     * thread moves the elements of its part of the array to their bucket in a single
+     * pass, and the buckets are then sorted in parallel. Small arrays are sorted by a
+     * single thread.
+     *
+     * @throws IllegalArgumentException if the parallelism is not positive.
+     */
+    public static void parallelSort(long[] elements, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException();
+        }
+        SampleSort.sort(elements, parallelism);
+    }
+
+    /**
+     * Sorts the subarray from low inclusive to high exclusive, using the same subarray
+     * of the given scratch buffer, which may be null if the subarray is small.
+     */
+    static void sort(long[] elements, long[] scratch, int low, int high) {
+        int length = high - low;
+        if (length < RADIX_SORT_THRESHOLD) {
+            quickSort(elements, low, high - 1);
+            return;
+        }
+        int[] counts = new int[Long.BYTES * RADIX];
+        for (int i = low; i < high; i++) {
+            long element = elements[i];
+            long key = element ^ Long.MIN_VALUE;
+            for (int digit = 0; digit < Long.BYTES; digit++) {
+                counts[digit * RADIX + (int) ((key >>> (8 * digit)) & 0xFF)]++;
+            }
+        }
+        long[] source = elements;
+        long[] destination = scratch;
+        for (int digit = 0; digit < Long.BYTES; digit++) {
+            int shift = 8 * digit;
+            int offset = digit * RADIX;
+            if (counts[offset + (int) (((elements[low] ^ Long.MIN_VALUE) >>> shift) & 0xFF)] == length) {
+                continue;                               // Every element has the same byte here.
+            }
+            toStartIndices(counts, offset, low);
+            for (int i = low; i < high; i++) {
+                long element = source[i];
+                destination[counts[offset + (int) (((element ^ Long.MIN_VALUE) >>> shift) & 0xFF)]++] = element;
+            }
+            long[] temp = source;
+            source = destination;
+            destination = temp;
+        }
+        if (source != elements) {
+            System.arraycopy(source, low, elements, low, length);
+        }
+    }
+
+    /**
+     * Sorts the given array, allocating a scratch buffer if it is big.
+     */
+    public static void sort(double[] elements) {
+        sort(elements, elements.length < RADIX_SORT_THRESHOLD ? null : new double[elements.length]);
+    }
+
+    /**
+     * Sorts the given array, using the given scratch buffer instead of allocating one.
+     *
+     * @param elements the array to sort.
+     * @param scratch a buffer at least as long as the array, or null if the array is small.
+     * @throws IllegalArgumentException if the array is big and the buffer is null or too short.
+     */
+    public static void sort(double[] elements, double[] scratch) {
+        if (elements.length >= RADIX_SORT_THRESHOLD && (scratch == null || scratch.length < elements.length)) {
+            throw new IllegalArgumentException();
+        }
+        sort(elements, scratch, 0, elements.length);
+    }
+
+    /**
+     * Sorts the given array with a parallel Sample Sort, using the given number of
+     * threads. Splitters picked from a random sample cut the array into buckets, every
+     * thread moves the elements of its part of the array to their bucket in a single
+     * pass, and the buckets are then sorted in parallel. Small arrays are sorted by a
+     * single thread.
+     *
+     * @throws IllegalArgumentException if the parallelism is not positive.
+     */
+    public static void parallelSort(double[] elements, int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException();
+        }
+        SampleSort.sort(elements, parallelism);
+    }
+
+    /**
+     * Sorts the subarray from low inclusive to high exclusive, using the same subarray
+     * of the given scratch buffer, which may be null if the subarray is small.
+     */
+    static void sort(double[] elements, double[] scratch, int low, int high) {
+        int length = high - low;
+        if (length < RADIX_SORT_THRESHOLD) {
+            quickSort(elements, low, high - 1);
+            return;
+        }
+        int[] counts = new int[Long.BYTES * RADIX];
+        for (int i = low; i < high; i++) {
+            double element = elements[i];
+            long key = keyOf(element) ^ Long.MIN_VALUE;
+            for (int digit = 0; digit < Long.BYTES; digit++) {
+                counts[digit * RADIX + (int) ((key >>> (8 * digit)) & 0xFF)]++;
+            }
+        }
+        double[] source = elements;
+        double[] destination = scratch;
+        for (int digit = 0; digit < Long.BYTES; digit++) {
+            int shift = 8 * digit;
+            int offset = digit * RADIX;
+            if (counts[offset + (int) (((keyOf(elements[low]) ^ Long.MIN_VALUE) >>> shift) & 0xFF)] == length) {
+                continue;                               // Every element has the same byte here.
+            }
+            toStartIndices(counts, offset, low);
+            for (int i = low; i < high; i++) {
+                double element = source[i];
+                destination[counts[offset + (int) (((keyOf(element) ^ Long.MIN_VALUE) >>> shift) & 0xFF)]++] = element;
+            }
+            double[] temp = source;
+            source = destination;
+            destination = temp;
+        }
+        if (source != elements) {
+            System.arraycopy(source, low, elements, low, length);
+        }
+    }
+
+    /**
+     * Sorts the given keys and moves the value at the same index along with every key,
+     * stably, so values of equal keys keep their order. Small arrays are insertion sorted,
+     * and bigger ones radix sorted like {@link #sort(long[])}.
+     */
+    static void sortByKey(long[] keys, int[] values) {
+        int length = keys.length;
+        if (length < INSERTION_SORT_THRESHOLD) {
+            for (int i = 1; i < length; i++) {
+                long key = keys[i];
+                int value = values[i];
+                int j = i;
+                for (; j > 0 && keys[j - 1] > key; j--) {
+                    keys[j] = keys[j - 1];
+                    values[j] = values[j - 1];
+                }
+                keys[j] = key;
+                values[j] = value;
+            }
+            return;
+        }
+        int[] counts = new int[Long.BYTES * RADIX];
+        for (long element : keys) {
+            long key = element ^ Long.MIN_VALUE;
+            for (int digit = 0; digit < Long.BYTES; digit++) {
+                counts[digit * RADIX + (int) ((key >>> (8 * digit)) & 0xFF)]++;
+            }
+        }
+        long[] sourceKeys = keys;
+        int[] sourceValues = values;
+        long[] destinationKeys = new long[length];
+        int[] destinationValues = new int[length];
+        for (int digit = 0; digit < Long.BYTES; digit++) {
+            int shift = 8 * digit;
+            int offset = digit * RADIX;
+            if (counts[offset + (int) (((keys[0] ^ Long.MIN_VALUE) >>> shift) & 0xFF)] == length) {
+                continue;                               // Every key has the same byte here.
+            }
+            toStartIndices(counts, offset, 0);
+            for (int i = 0; i < length; i++) {
+                long key = sourceKeys[i];
+                int index = counts[offset + (int) (((key ^ Long.MIN_VALUE) >>> shift) & 0xFF)]++;
+                destinationKeys[index] = key;
+                destinationValues[index] = sourceValues[i];
+            }
+            long[] tempKeys = sourceKeys;
+            sourceKeys = destinationKeys;
+            destinationKeys = tempKeys;
+            int[] tempValues = sourceValues;
+            sourceValues = destinationValues;
+            destinationValues = tempValues;
+        }
+        if (sourceKeys != keys) {
+            System.arraycopy(sourceKeys, 0, keys, 0, length);
+            System.arraycopy(sourceValues, 0, values, 0, length);
+        }
+    }
+
+    /**
+     * Returns a long that compares like the given double: the IEEE 754 bits of the double,
+     * with every bit but the sign flipped for negative numbers. NaN becomes the biggest key.
+     */
+    static long keyOf(double element) {
+        long bits = Double.doubleToLongBits(element);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    /**
+     * Utility method that turns the counts of the byte values of one byte position, starting
+     * at the given offset, into the index where the first element with each value goes in
+     * a subarray starting at low.
+     */
+    private static void toStartIndices(int[] counts, int offset, int low) {
+        int sum = low;
+        for (int i = offset; i < offset + RADIX; i++) {
+            int count = counts[i];
+            counts[i] = sum;
+            sum += count;
+        }
+    }
+
+    /**
+     * Internal method that sorts the subarray from low to high inclusive using a dual-pivot
+     * Quick Sort. The elements are split in three parts: less than the first pivot, between
+     * the pivots, and greater than the second pivot.
+     */
+    private static void quickSort(int[] elements, int low, int high) {
+        while (high - low >= INSERTION_SORT_THRESHOLD) {
+            int third = (high - low) / 3;
+            swap(elements, low, low + third);
+            swap(elements, high, high - third);
+            if (elements[low] > elements[high]) {
+                swap(elements, low, high);
+            }
+            int pivot1 = elements[low];
+            int pivot2 = elements[high];
+            int less = low + 1;
+            int greater = high - 1;
+            for (int i = less; i <= greater; i++) {
+                if (elements[i] < pivot1) {
+                    swap(elements, i, less++);
+                } else if (elements[i] > pivot2) {
+                    while (i < greater && elements[greater] > pivot2) {
+                        greater--;
+                    }
+                    swap(elements, i, greater--);
+                    if (elements[i] < pivot1) {
+                        swap(elements, i, less++);
+                    }
+                }
+            }
+            swap(elements, low, --less);
+            swap(elements, high, ++greater);
+            quickSort(elements, low, less - 1);
+            quickSort(elements, greater + 1, high);
+            if (pivot1 == pivot2) {
+                return;                                 // The middle part only holds the pivot.
+            }
+            low = less + 1;
+            high = greater - 1;
+        }
+        for (int i = low + 1; i <= high; i++) {
+            int temp = elements[i];
+            int j = i;
+            while (j > low && temp < elements[j - 1]) {
+                elements[j] = elements[j - 1];
+                j--;
+            }
+            elements[j] = temp;
+        }
+    }
+
+    /**
+     * Internal method that sorts the subarray from low to high inclusive using a dual-pivot
+     * Quick Sort, like {@link #quickSort(int[], int, int)}.
+     */
+    private static void quickSort(long[] elements, int low, int high) {
+        while (high - low >= INSERTION_SORT_THRESHOLD) {
+            int third = (high - low) / 3;
+            swap(elements, low, low + third);
+            swap(elements, high, high - third);
+            if (elements[low] > elements[high]) {
+                swap(elements, low, high);
+            }
+            long pivot1 = elements[low];
+            long pivot2 = elements[high];
+            int less = low + 1;
+            int greater = high - 1;
+            for (int i = less; i <= greater; i++) {
+                if (elements[i] < pivot1) {
+                    swap(elements, i, less++);
+                } else if (elements[i] > pivot2) {
+                    while (i < greater && elements[greater] > pivot2) {
+                        greater--;
+                    }
+                    swap(elements, i, greater--);
+                    if (elements[i] < pivot1) {
+                        swap(elements, i, less++);
+                    }
+                }
+            }
+            swap(elements, low, --less);
+            swap(elements, high, ++greater);
+            quickSort(elements, low, less - 1);
+            quickSort(elements, greater + 1, high);
+            if (pivot1 == pivot2) {
+                return;                                 // The middle part only holds the pivot.
+            }
+            low = less + 1;
+            high = greater - 1;
+        }
+        for (int i = low + 1; i <= high; i++) {
+            long temp = elements[i];
+            int j = i;
+            while (j > low && temp < elements[j - 1]) {
+                elements[j] = elements[j - 1];
+                j--;
+            }
+            elements[j] = temp;
+        }
+    }
+
+    /**
+     * Internal method that sorts the subarray from low to high inclusive using a dual-pivot
+     * Quick Sort, like {@link #quickSort(int[], int, int)}, comparing the keys of the doubles.
+     */
+    private static void quickSort(double[] elements, int low, int high) {
+        while (high - low >= INSERTION_SORT_THRESHOLD) {
+            int third = (high - low) / 3;
+            swap(elements, low, low + third);
+            swap(elements, high, high - third);
+            if (keyOf(elements[low]) > keyOf(elements[high])) {
+                swap(elements, low, high);
+            }
+            long pivot1 = keyOf(elements[low]);
+            long pivot2 = keyOf(elements[high]);
+            int less = low + 1;
+            int greater = high - 1;
+            for (int i = less; i <= greater; i++) {
+                long key = keyOf(elements[i]);
+                if (key < pivot1) {
+                    swap(elements, i, less++);
+                } else if (key > pivot2) {
+                    while (i < greater && keyOf(elements[greater]) > pivot2) {
+                        greater--;
+                    }
+                    swap(elements, i, greater--);
+                    if (keyOf(elements[i]) < pivot1) {
+                        swap(elements, i, less++);
+                    }
+                }
+            }
+            swap(elements, low, --less);
+            swap(elements, high, ++greater);
+            quickSort(elements, low, less - 1);
+            quickSort(elements, greater + 1, high);
+            if (pivot1 == pivot2) {
+                return;                                 // The middle part only holds the pivot.
+            }
+            low = less + 1;
+            high = greater - 1;
+        }
+        for (int i = low + 1; i <= high; i++) {
+            double temp = elements[i];
+            long key = keyOf(temp);
+            int j = i;
+            while (j > low && key < keyOf(elements[j - 1])) {
+                elements[j] = elements[j - 1];
+                j--;
+            }
+            elements[j] = temp;
+        }
+    }
+
+    /**
+     * Swaps two elements at the two given positions.
+     */
+    private static void swap(int[] elements, int first, int second) {
+        int temp = elements[first];
+        elements[first] = elements[second];
+        elements[second] = temp;
+    }
+
+    /**
+     * Swaps two elements at the two given positions.
+     */
+    private static void swap(long[] elements, int first, int second) {
+        long temp = elements[first];
+        elements[first] = elements[second];
+        elements[second] = temp;
+    }
+
+    /**
+     * Swaps two elements at the two given positions.
+     */
+    private static void swap(double[] elements, int first, int second) {
+        double temp = elements[first];
+        elements[first] = elements[second];
+        elements[second] = temp;
+    }
+}
@@ -0,0 +1,29 @@
+package sortingalgorithms;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Interface RecordCodec turns records into a fixed number of bytes and back, so that
+ * {@link ExternalSort} can read and write them in files.
+ *
+ * @param <T> The data type of the records.
+ */
+public interface RecordCodec<T> {
+
+    /**
+     * Returns the number of bytes of every encoded record.
+     */
+    int recordSize();
+
+    /**
+     * Reads one record from the given buffer, which has at least recordSize bytes
+     * remaining, and moves its position past the record.
+     */
+    T decode(ByteBuffer buffer);
+
+    /**
+     * Writes the given record to the given buffer, which has at least recordSize bytes
+     * remaining, and moves its position past the record.
+     */
+    void encode(T record, ByteBuffer buffer);
+}
@@ -0,0 +1,458 @@
+package sortingalgorithms;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.IntConsumer;
+
+/**
+ * Custom parallel Sample Sort that can be used with the Sort and PrimitiveSort classes.
+ *
+ * A random sample of the array is sorted, and evenly spaced elements of the sample are
+ * picked as splitters, which cut the range of values into buckets of about the same
+ * number of elements. Every element that is equal to a splitter goes to a bucket of its
+ * own, so duplicated values never make a bucket too big, and these buckets need no sort.
+ *
+ * The array is cut into one block per thread. Every thread first finds the bucket of
+ * each element of its block with a binary search over the splitters and counts the
+ * elements of every bucket. Prefix sums of these histograms give every thread the place
+ * of its share of every bucket, so each thread then moves the elements of its block into
+ * a scratch array in a single pass, without any synchronization. Finally the buckets are
+ * sorted in parallel and copied back.
+ *
+ * Moving the elements keeps their order within a bucket, so the sort is stable when
+ * the buckets are sorted with a stable sort.
+ */
+abstract class SampleSort {
+    private static final int SEQUENTIAL_THRESHOLD = 1 << 14;    // Smaller arrays are sorted by one thread.
+    private static final int MAX_SPLITTERS = 127;               // Keeps the bucket of every element in a byte.
+    private static final int BUCKETS_PER_THREAD = 4;
+    private static final int OVERSAMPLING = 32;                 // The number of sampled elements per splitter.
+    final int length;                                           // The number of elements to sort.
+    final byte[] bucketOf;                                      // The bucket of every element.
+    final Random random;
+
+    /**
+     * Constructs a SampleSort of the given number of elements.
+     */
+    SampleSort(int length) {
+        this.length = length;
+        this.bucketOf = new byte[length];
+        this.random = new Random();
+    }
+
+    /**
+     * Sorts the given array with the given number of threads, stably.
+     */
+    static <T extends Comparable<? super T>> void sort(T[] elements, int parallelism) {
+        if (elements.length < SEQUENTIAL_THRESHOLD || parallelism == 1) {
+            TimSort.naturalOrder(elements).sort();
+        } else {
+            new ObjectSampleSort<>(elements).run(parallelism);
+        }
+    }
+
+    /**
+     * Sorts the given array with the given number of threads.
+     */
+    static void sort(int[] elements, int parallelism) {
+        if (elements.length < SEQUENTIAL_THRESHOLD || parallelism == 1) {
+            PrimitiveSort.sort(elements);
+        } else {
+            new IntSampleSort(elements).run(parallelism);
+        }
+    }
+
+    /**
+     * Sorts the given array with the given number of threads.
+     */
+    static void sort(long[] elements, int parallelism) {
+        if (elements.length < SEQUENTIAL_THRESHOLD || parallelism == 1) {
+            PrimitiveSort.sort(elements);
+        } else {
+            new LongSampleSort(elements).run(parallelism);
+        }
+    }
+
+    /**
+     * Sorts the given array with the given number of threads.
+     */
+    static void sort(double[] elements, int parallelism) {
+        if (elements.length < SEQUENTIAL_THRESHOLD || parallelism == 1) {
+            PrimitiveSort.sort(elements);
+        } else {
+            new DoubleSampleSort(elements).run(parallelism);
+        }
+    }
+
+    /**
+     * Picks at most maxSplitters distinct splitters out of sampleSize random elements,
+     * in ascending order, and returns how many there are.
+     */
+    abstract int chooseSplitters(int sampleSize, int maxSplitters);
+
+    /**
+     * Finds the bucket of every element from low inclusive to high exclusive, and counts
+     * the elements of every bucket in the given array.
+     */
+    abstract void classify(int low, int high, int[] counts);
+
+    /**
+     * Moves every element from low inclusive to high exclusive to the scratch array, at
+     * the next index of its bucket in the given array.
+     */
+    abstract void scatter(int low, int high, int[] nextIndices);
+
+    /**
+     * Sorts the bucket of the scratch array from low inclusive to high exclusive unless
+     * all its elements are equal, and copies it back to the array.
+     */
+    abstract void sortBucket(int low, int high, boolean allEqual);
+
+    /**
+     * Sorts the array with the given number of threads.
+     */
+    void run(int parallelism) {
+        int maxSplitters = Math.min(MAX_SPLITTERS, BUCKETS_PER_THREAD * parallelism - 1);
+        int splitters = chooseSplitters(OVERSAMPLING * (maxSplitters + 1), maxSplitters);
+        int bucketCount = 2 * splitters + 1;
+        int blockLength = (length + parallelism - 1) / parallelism;
+        int blockCount = (length + blockLength - 1) / blockLength;
+        int[][] counts = new int[blockCount][bucketCount];
+        int[] bucketStart = new int[bucketCount + 1];
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            forEach(pool, blockCount,
+                    block -> classify(block * blockLength, Math.min(length, (block + 1) * blockLength), counts[block]));
+            // Turns the counts into the index where every block puts its first element of every bucket.
+            int sum = 0;
+            for (int bucket = 0; bucket < bucketCount; bucket++) {
+                bucketStart[bucket] = sum;
+                for (int block = 0; block < blockCount; block++) {
+                    int count = counts[block][bucket];
+                    counts[block][bucket] = sum;
+                    sum += count;
+                }
+            }
+            bucketStart[bucketCount] = length;
+            forEach(pool, blockCount,
+                    block -> scatter(block * blockLength, Math.min(length, (block + 1) * blockLength), counts[block]));
+            forEach(pool, bucketCount,
+                    bucket -> sortBucket(bucketStart[bucket], bucketStart[bucket + 1], bucket % 2 == 1));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Runs the given task for every index from 0 inclusive to count exclusive in the given pool,
+     * and waits for all of them.
+     */
+    private static void forEach(ForkJoinPool pool, int count, IntConsumer task) {
+        pool.invoke(new RecursiveAction() {
+            @Override
+            protected void compute() {
+                List<ForkJoinTask<?>> tasks = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    int index = i;
+                    tasks.add(ForkJoinTask.adapt(() -> task.accept(index)));
+                }
+                invokeAll(tasks);
+            }
+        });
+    }
+
+    /**
+     * Returns the bucket of an element, given the number of distinct splitters that are
+     * less than it, and whether the next splitter is equal to it. Buckets of even index
+     * hold the elements between two splitters, and buckets of odd index the elements
+     * equal to a splitter.
+     */
+    static int bucket(int splittersBelow, boolean equal) {
+        return 2 * splittersBelow + (equal ? 1 : 0);
+    }
+
+    /**
+     * Class ObjectSampleSort sorts an array of Comparable elements, stably.
+     */
+    private static class ObjectSampleSort<T extends Comparable<? super T>> extends SampleSort {
+        private final T[] elements;
+        private final T[] scratch;
+        private T[] splitters;
+
+        ObjectSampleSort(T[] elements) {
+            super(elements.length);
+            this.elements = elements;
+            this.scratch = (T[]) new Comparable[elements.length];
+        }
+
+        @Override
+        int chooseSplitters(int sampleSize, int maxSplitters) {
+            T[] sample = (T[]) new Comparable[sampleSize];
+            for (int i = 0; i < sampleSize; i++) {
+                sample[i] = elements[random.nextInt(length)];
+            }
+            TimSort.naturalOrder(sample).sort();
+            T[] chosen = (T[]) new Comparable[maxSplitters];
+            int count = 0;
+            for (int i = 1; i <= maxSplitters; i++) {
+                T splitter = sample[i * sampleSize / (maxSplitters + 1)];
+                if (count == 0 || chosen[count - 1].compareTo(splitter) < 0) {
+                    chosen[count++] = splitter;
+                }
+            }
+            splitters = Arrays.copyOf(chosen, count);
+            return count;
+        }
+
+        @Override
+        void classify(int low, int high, int[] counts) {
+            T[] splitters = this.splitters;
+            for (int i = low; i < high; i++) {
+                T element = elements[i];
+                int left = 0;
+                int right = splitters.length;
+                while (left < right) {
+                    int middle = (left + right) >>> 1;
+                    if (splitters[middle].compareTo(element) < 0) {
+                        left = middle + 1;
+                    } else {
+                        right = middle;
+                    }
+                }
+                int bucket = bucket(left, left < splitters.length && splitters[left].compareTo(element) == 0);
+                bucketOf[i] = (byte) bucket;
+                counts[bucket]++;
+            }
+        }
+
+        @Override
+        void scatter(int low, int high, int[] nextIndices) {
+            for (int i = low; i < high; i++) {
+                scratch[nextIndices[bucketOf[i] & 0xFF]++] = elements[i];
+            }
+        }
+
+        @Override
+        void sortBucket(int low, int high, boolean allEqual) {
+            if (!allEqual) {
+                TimSort.naturalOrder(scratch).sort(low, high);
+            }
+            System.arraycopy(scratch, low, elements, low, high - low);
+        }
+    }
+
+    /**
+     * Class IntSampleSort sorts an array of ints.
+     */
+    private static class IntSampleSort extends SampleSort {
+        private final int[] elements;
+        private final int[] scratch;
+        private int[] splitters;
+
+        IntSampleSort(int[] elements) {
+            super(elements.length);
+            this.elements = elements;
+            this.scratch = new int[elements.length];
+        }
+
+        @Override
+        int chooseSplitters(int sampleSize, int maxSplitters) {
+            int[] sample = new int[sampleSize];
+            for (int i = 0; i < sampleSize; i++) {
+                sample[i] = elements[random.nextInt(length)];
+            }
+            PrimitiveSort.sort(sample);
+            int[] chosen = new int[maxSplitters];
+            int count = 0;
+            for (int i = 1; i <= maxSplitters; i++) {
+                int splitter = sample[i * sampleSize / (maxSplitters + 1)];
+                if (count == 0 || chosen[count - 1] < splitter) {
+                    chosen[count++] = splitter;
+                }
+            }
+            splitters = Arrays.copyOf(chosen, count);
+            return count;
+        }
+
+        @Override
+        void classify(int low, int high, int[] counts) {
+            int[] splitters = this.splitters;
+            for (int i = low; i < high; i++) {
+                int element = elements[i];
+                int left = 0;
+                int right = splitters.length;
+                while (left < right) {
+                    int middle = (left + right) >>> 1;
+                    if (splitters[middle] < element) {
+                        left = middle + 1;
+                    } else {
+                        right = middle;
+                    }
+                }
+                int bucket = bucket(left, left < splitters.length && splitters[left] == element);
+                bucketOf[i] = (byte) bucket;
+                counts[bucket]++;
+            }
+        }
+
+        @Override
+        void scatter(int low, int high, int[] nextIndices) {
+            for (int i = low; i < high; i++) {
+                scratch[nextIndices[bucketOf[i] & 0xFF]++] = elements[i];
+            }
+        }
+
+        @Override
+        void sortBucket(int low, int high, boolean allEqual) {
+            if (!allEqual) {
+                PrimitiveSort.sort(scratch, elements, low, high);
+            }
+            System.arraycopy(scratch, low, elements, low, high - low);
+        }
+    }
+
+    /**
+     * Class LongSampleSort sorts an array of longs.
+     */
+    private static class LongSampleSort extends SampleSort {
+        private final long[] elements;
+        private final long[] scratch;
+        private long[] splitters;
+
+        LongSampleSort(long[] elements) {
+            super(elements.length);
+            this.elements = elements;
+            this.scratch = new long[elements.length];
+        }
+
+        @Override
+        int chooseSplitters(int sampleSize, int maxSplitters) {
+            long[] sample = new long[sampleSize];
+            for (int i = 0; i < sampleSize; i++) {
+                sample[i] = elements[random.nextInt(length)];
+            }
+            PrimitiveSort.sort(sample);
+            long[] chosen = new long[maxSplitters];
+            int count = 0;
+            for (int i = 1; i <= maxSplitters; i++) {
+                long splitter = sample[i * sampleSize / (maxSplitters + 1)];
+                if (count == 0 || chosen[count - 1] < splitter) {
+                    chosen[count++] = splitter;
+                }
+            }
+            splitters = Arrays.copyOf(chosen, count);
+            return count;
+        }
+
+        @Override
+        void classify(int low, int high, int[] counts) {
+            long[] splitters = this.splitters;
+            for (int i = low; i < high; i++) {
+                long element = elements[i];
+                int left = 0;
+                int right = splitters.length;
+                while (left < right) {
+                    int middle = (left + right) >>> 1;
+                    if (splitters[middle] < element) {
+                        left = middle + 1;
+                    } else {
+                        right = middle;
+                    }
+                }
+                int bucket = bucket(left, left < splitters.length && splitters[left] == element);
+                bucketOf[i] = (byte) bucket;
+                counts[bucket]++;
+            }
+        }
+
+        @Override
+        void scatter(int low, int high, int[] nextIndices) {
+            for (int i = low; i < high; i++) {
+                scratch[nextIndices[bucketOf[i] & 0xFF]++] = elements[i];
+            }
+        }
+
+        @Override
+        void sortBucket(int low, int high, boolean allEqual) {
+            if (!allEqual) {
+                PrimitiveSort.sort(scratch, elements, low, high);
+            }
+            System.arraycopy(scratch, low, elements, low, high - low);
+        }
+    }
+
+    /**
+     * Class DoubleSampleSort sorts an array of doubles, in the order of {@link PrimitiveSort#keyOf(double)}.
+     */
+    private static class DoubleSampleSort extends SampleSort {
+        private final double[] elements;
+        private final double[] scratch;
+        private long[] splitters;                       // The keys of the splitters.
+
+        DoubleSampleSort(double[] elements) {
+            super(elements.length);
+            this.elements = elements;
+            this.scratch = new double[elements.length];
+        }
+
+        @Override
+        int chooseSplitters(int sampleSize, int maxSplitters) {
+            long[] sample = new long[sampleSize];
+            for (int i = 0; i < sampleSize; i++) {
+                sample[i] = PrimitiveSort.keyOf(elements[random.nextInt(length)]);
+            }
+            PrimitiveSort.sort(sample);
+            long[] chosen = new long[maxSplitters];
+            int count = 0;
+            for (int i = 1; i <= maxSplitters; i++) {
+                long splitter = sample[i * sampleSize / (maxSplitters + 1)];
+                if (count == 0 || chosen[count - 1] < splitter) {
+                    chosen[count++] = splitter;
+                }
+            }
+            splitters = Arrays.copyOf(chosen, count);
+            return count;
+        }
+
+        @Override
+        void classify(int low, int high, int[] counts) {
+            long[] splitters = this.splitters;
+            for (int i = low; i < high; i++) {
+                long key = PrimitiveSort.keyOf(elements[i]);
+                int left = 0;
+                int right = splitters.length;
+                while (left < right) {
+                    int middle = (left + right) >>> 1;
+                    if (splitters[middle] < key) {
+                        left = middle + 1;
+                    } else {
+                        right = middle;
+                    }
+                }
+                int bucket = bucket(left, left < splitters.length && splitters[left] == key);
+                bucketOf[i] = (byte) bucket;
+                counts[bucket]++;
+            }
+        }
+
+        @Override
+        void scatter(int low, int high, int[] nextIndices) {
+            for (int i = low; i < high; i++) {
+                scratch[nextIndices[bucketOf[i] & 0xFF]++] = elements[i];
+            }
+        }
+
+        @Override
+        void sortBucket(int low, int high, boolean allEqual) {
+            if (!allEqual) {
+                PrimitiveSort.sort(scratch, elements, low, high);
+            }
+            System.arraycopy(scratch, low, elements, low, high - low);
+        }
+    }
+}
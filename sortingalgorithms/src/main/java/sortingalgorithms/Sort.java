@@ -1,7 +1,15 @@
 package sortingalgorithms;
 
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * Class Sort is used to sort an array of elements is ascending order.
@@ -9,6 +17,11 @@ import java.util.List;
  * @param <T> The data type of the element.
  */
 public class Sort<T extends Comparable<? super T>> {
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 8192;
+    public static final int MAX_CACHED_SCRATCH_LENGTH = 1 << 20;
+    private static final int INSERTION_SORT_THRESHOLD = 32;
+    private static final int MERGE_THRESHOLD = 8192;
+    private static final ThreadLocal<Comparable[]> SCRATCH_BUFFER = ThreadLocal.withInitial(() -> new Comparable[0]);
     private T[] elements;       // The elements to compare.
 
     /**
@@ -55,7 +68,7 @@ public class Sort<T extends Comparable<? super T>> {
     }
 
     /**
-     * Uses HeapSort to sort the array.
+     * Uses HeapSort to sort the array, in place, in O(n log n) in the worst case.
      */
     public void heapSort() {
         MaxHeap<T> heap = new MaxHeap<>(elements);
@@ -63,62 +76,489 @@ public class Sort<T extends Comparable<? super T>> {
     }
 
     /**
-     * Uses the Merge Sort Algorithm to sort the array.
+     * Uses HeapSort to sort the array, with a heap where every node has the given number
+     * of children. A 4-ary heap is half as deep as a binary one, which makes fewer cache
+     * misses on big arrays.
+     *
+     * @param arity the number of children of every node, usually 2 or 4.
+     * @throws IllegalArgumentException if the arity is less than 2.
+     */
+    public void heapSort(int arity) {
+        MaxHeap<T> heap = new MaxHeap<>(elements, arity);
+        heap.buildHeap();
+    }
+
+    /**
+     * Uses a pattern-defeating Quick Sort to sort the array, in place. It picks the median
+     * of three or of nine elements as pivot, partitions with block partitioning to avoid
+     * mispredicted branches, and falls back to HeapSort after too many bad partitions, so
+     * it takes O(n log n) in the worst case, and O(n) on sorted input or on many duplicates.
+     * The sort is not stable.
+     */
+    public void quickSort() {
+        PdqSort<T> pdqSort = new PdqSort<>(elements);
+        pdqSort.sort();
+    }
+
+    /**
+     * Returns the k-th smallest element, counting from 0, in O(n) on average. The array is
+     * rearranged so that this element is at index k, the elements before it are not
+     * greater, and the elements after it are not less.
+     *
+     * @throws IllegalArgumentException if k is not an index of the array.
+     */
+    public T select(int k) {
+        if (k < 0 || k >= elements.length) {
+            throw new IllegalArgumentException();
+        }
+        PdqSort<T> pdqSort = new PdqSort<>(elements);
+        pdqSort.select(new int[] {k});
+        return elements[k];
+    }
+
+    /**
+     * Sorts the k smallest elements into the first k indices of the array, in O(n + k log k)
+     * on average. The other elements are left after them in no particular order.
+     *
+     * @throws IllegalArgumentException if k is negative or greater than the length of the array.
+     */
+    public void partialSort(int k) {
+        if (k < 0 || k > elements.length) {
+            throw new IllegalArgumentException();
+        }
+        if (k == 0) {
+            return;
+        }
+        PdqSort<T> pdqSort = new PdqSort<>(elements);
+        if (k < elements.length) {
+            pdqSort.select(new int[] {k - 1});
+        }
+        pdqSort.sort(0, k);
+    }
+
+    /**
+     * Returns the elements at the given percentiles, in the same order, using the nearest
+     * rank: the p-th percentile is the element at index ceil(p * n / 100) - 1 of the sorted
+     * array, or the smallest element for p = 0. The rank is computed exactly from the
+     * decimal value of p, so p = 99.9 of 1000 elements is the 999th one and not the
+     * 1000th. All of them are found in one pass of recursive partitioning, which only
+     * partitions again the parts that contain one of the wanted indices, without sorting
+     * the array. The array is rearranged.
+     *
+     * @param percentiles the percentiles, between 0 and 100.
+     * @throws IllegalArgumentException if the array is empty or a percentile is not
+     *         between 0 and 100.
+     */
+    public List<T> percentiles(double... percentiles) {
+        if (elements.length == 0) {
+            throw new IllegalArgumentException();
+        }
+        int[] ranks = new int[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            double percentile = percentiles[i];
+            if (!(percentile >= 0 && percentile <= 100)) {
+                throw new IllegalArgumentException();
+            }
+            ranks[i] = Math.max(0, nearestRank(percentile, elements.length) - 1);
+        }
+        int[] distinctRanks = Arrays.stream(ranks).sorted().distinct().toArray();
+        PdqSort<T> pdqSort = new PdqSort<>(elements);
+        pdqSort.select(distinctRanks);
+        List<T> result = new ArrayList<>(ranks.length);
+        for (int rank : ranks) {
+            result.add(elements[rank]);
+        }
+        return result;
+    }
+
+    /**
+     * Returns ceil(percentile * n / 100). It is computed on the shortest decimal that
+     * represents the given percentile, because the rounding error of doing it with
+     * doubles can push an exact product just above an integer, such as 16.1 * 1000 =
+     * 16100.000000000002.
+     */
+    private static int nearestRank(double percentile, int n) {
+        return BigDecimal.valueOf(percentile)
+                .multiply(BigDecimal.valueOf(n))
+                .movePointLeft(2)
+                .setScale(0, RoundingMode.CEILING)
+                .intValueExact();
+    }
+
+    /**
+     * Uses TimSort, an adaptive natural Merge Sort, to sort the array. It merges the runs
+     * that are already in order in the array, so it takes O(n) on sorted or nearly sorted
+     * input and O(n log n) otherwise. The sort is stable.
+     */
+    public void timSort() {
+        TimSort<T> timSort = TimSort.naturalOrder(elements);
+        timSort.sort();
+    }
+
+    /**
+     * Sorts the given array in the order of the given comparator, with TimSort. The
+     * elements do not have to be Comparable. The sort is stable.
+     *
+     * @throws IllegalArgumentException if the comparator is null.
+     */
+    public static <E> void sort(E[] elements, Comparator<? super E> comparator) {
+        if (comparator == null) {
+            throw new IllegalArgumentException();
+        }
+        TimSort<E> timSort = new TimSort<>(elements, comparator);
+        timSort.sort();
+    }
+
+    /**
+     * Sorts the given array in ascending order of the long key of every element. The key
+     * extractor is called once per element instead of once per comparison, and no element
+     * is compared: the keys are radix sorted together with the index of their element, and
+     * the elements are then moved to their place. The sort is stable.
+     *
+     * @throws IllegalArgumentException if the key extractor is null.
+     */
+    public static <E> void sortByLong(E[] elements, ToLongFunction<? super E> keyExtractor) {
+        permute(elements, sortedIndicesByLong(elements, keyExtractor));
+    }
+
+    /**
+     * Sorts the given array in ascending order of the int key of every element, like
+     * {@link #sortByLong(Object[], ToLongFunction)}. The sort is stable.
+     *
+     * @throws IllegalArgumentException if the key extractor is null.
+     */
+    public static <E> void sortByInt(E[] elements, ToIntFunction<? super E> keyExtractor) {
+        permute(elements, sortedIndicesByInt(elements, keyExtractor));
+    }
+
+    /**
+     * Returns the indices of the elements of the given array in ascending order of their
+     * long key, without modifying the array, so that other arrays can be reordered the
+     * same way. Elements with equal keys keep their order.
+     *
+     * @throws IllegalArgumentException if the key extractor is null.
+     */
+    public static <E> int[] sortedIndicesByLong(E[] elements, ToLongFunction<? super E> keyExtractor) {
+        if (keyExtractor == null) {
+            throw new IllegalArgumentException();
+        }
+        long[] keys = new long[elements.length];
+        int[] indices = new int[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            keys[i] = keyExtractor.applyAsLong(elements[i]);
+            indices[i] = i;
+        }
+        PrimitiveSort.sortByKey(keys, indices);
+        return indices;
+    }
+
+    /**
+     * Returns the indices of the elements of the given array in ascending order of their
+     * int key, without modifying the array. Every key is packed with its index in a single
+     * long, so sorting the longs sorts the keys and breaks ties by index. Elements with
+     * equal keys keep their order.
+     *
+     * @throws IllegalArgumentException if the key extractor is null.
+     */
+    public static <E> int[] sortedIndicesByInt(E[] elements, ToIntFunction<? super E> keyExtractor) {
+        if (keyExtractor == null) {
+            throw new IllegalArgumentException();
+        }
+        long[] keysAndIndices = new long[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            keysAndIndices[i] = ((long) keyExtractor.applyAsInt(elements[i]) << 32) | i;
+        }
+        PrimitiveSort.sort(keysAndIndices);
+        int[] indices = new int[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            indices[i] = (int) keysAndIndices[i];
+        }
+        return indices;
+    }
+
+    /**
+     * Utility method that reorders the given array so that the element at every index is
+     * the one that was at the given index of the same position.
+     */
+    private static <E> void permute(E[] elements, int[] indices) {
+        E[] copy = elements.clone();
+        for (int i = 0; i < elements.length; i++) {
+            elements[i] = copy[indices[i]];
+        }
+    }
+
+    /**
+     * Uses a parallel Sample Sort to sort the array. Splitters picked from a random sample
+     * cut the array into buckets, every thread moves the elements of its part of the array
+     * to their bucket in a single pass, and the buckets are then sorted in parallel with
+     * TimSort. Small arrays are sorted by a single thread. The sort is stable.
+     *
+     * @param parallelism the number of threads to use.
+     * @throws IllegalArgumentException if the parallelism is not positive.
+     */
+    public void parallelSampleSort(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException();
+        }
+        SampleSort.sort(elements, parallelism);
+    }
+
+    /**
+     * Uses the Merge Sort Algorithm to sort the array, allocating a temporary array.
+     *
+     * @see #mergeSort(Comparable[])
      */
     public void mergeSort() {
         T[] tmpArray = (T[]) new Comparable[elements.length];
-        int left = 0;
-        int right = elements.length - 1;
-        mergeSort(elements, tmpArray, left, right);
+        mergeSort(tmpArray);
     }
 
     /**
-     * Internal method that merges two sorted halves of a subarray.
+     * Uses the Merge Sort Algorithm to sort the array, with the given scratch buffer
+     * instead of allocating one, so the same buffer can be reused by every sort. The
+     * array and the buffer take turns being the source and the destination of the
+     * merges, so nothing is copied back, and two halves that are already in order are
+     * copied instead of merged, which makes sorted input take O(n) comparisons. The sort
+     * is stable.
      *
-     * @param elements an array of Comparable items.
-     * @param tmpArray an array to place the merge result.
-     * @param left the left-most index of the subarray.
-     * @param right the right most-index of the subarray.
+     * @param scratch an array at least as long as the array to sort, whose content is overwritten.
+     * @throws IllegalArgumentException if the buffer is null, too short, or the array itself.
      */
-    private void mergeSort(T[] elements, T[] tmpArray, int left, int right) {
-        if (left < right) {
-            int center = (left + right) / 2;
-            mergeSort(elements, tmpArray, left, center);
-            mergeSort(elements, tmpArray, center + 1, right);
-            merge(elements, tmpArray, left, center + 1, right);
+    public void mergeSort(T[] scratch) {
+        if (scratch == null || scratch.length < elements.length || scratch == elements) {
+            throw new IllegalArgumentException();
         }
+        mergeSort(elements, scratch, 0, elements.length, false);
     }
 
     /**
-     * Internal method that merges two sorted halves of a subarray.
+     * Uses the Merge Sort Algorithm to sort the array, like {@link #mergeSort(Comparable[])},
+     * with a scratch buffer kept by the current thread and reused by its next sorts, so
+     * that sorting does not allocate once the buffer is big enough. The used part of the
+     * buffer is cleared afterwards so it does not keep the elements alive. Buffers longer
+     * than MAX_CACHED_SCRATCH_LENGTH are not kept.
+     */
+    public void threadLocalMergeSort() {
+        Comparable[] scratch = SCRATCH_BUFFER.get();
+        if (scratch.length < elements.length) {
+            scratch = new Comparable[elements.length];
+            if (elements.length <= MAX_CACHED_SCRATCH_LENGTH) {
+                SCRATCH_BUFFER.set(scratch);
+            }
+        }
+        try {
+            mergeSort(elements, (T[]) scratch, 0, elements.length, false);
+        } finally {
+            Arrays.fill(scratch, 0, elements.length, null);
+        }
+    }
+
+    /**
+     * Uses a parallel Merge Sort to sort the array, with the default threshold.
      *
-     * @param elements an array of Comparable items.
-     * @param tmpArray an array to place the merge result.
-     * @param leftPos the left-most index of the subarray.
-     * @param rightPos the index of the start of the second half.
-     * @param rightEnd the right-most index of the subarray.
-     */
-    private void merge(T[] elements, T[] tmpArray, int leftPos, int rightPos, int rightEnd) {
-        int leftEnd = rightPos - 1;
-        int tmpPos = leftPos;
-        int numElements = rightEnd - leftPos + 1;
-        while (leftPos <= leftEnd && rightPos <= rightEnd) {
-            if (elements[leftPos].compareTo(elements[rightPos]) <= 0) {
-                tmpArray[tmpPos++] = elements[leftPos++];
+     * @param parallelism the number of threads to use.
+     * @throws IllegalArgumentException if the parallelism is not positive.
+     * @see #parallelMergeSort(int, int)
+     */
+    public void parallelMergeSort(int parallelism) {
+        parallelMergeSort(parallelism, DEFAULT_PARALLEL_THRESHOLD);
+    }
+
+    /**
+     * Uses a parallel Merge Sort to sort the array. The array is split in halves that
+     * are sorted by different threads of a fork/join pool until they have at most
+     * threshold elements; smaller subarrays are merge sorted by a single thread, down
+     * to insertion sort for the smallest ones. Two sorted halves are merged in parallel
+     * too, by splitting the longer one in the middle and binary searching the matching
+     * position in the other. The sort is stable.
+     *
+     * Instead of copying the merged result back at every level, the array and the
+     * temporary array take turns being the source and the destination of the merges.
+     *
+     * @param parallelism the number of threads to use.
+     * @param threshold the number of elements under which a subarray is sorted by one thread.
+     * @throws IllegalArgumentException if the parallelism or the threshold is not positive.
+     */
+    public void parallelMergeSort(int parallelism, int threshold) {
+        if (parallelism <= 0 || threshold <= 0) {
+            throw new IllegalArgumentException();
+        }
+        if (elements.length < 2) {
+            return;
+        }
+        T[] tmpArray = (T[]) new Comparable[elements.length];
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            pool.invoke(new SortTask(elements, tmpArray, 0, elements.length, false, threshold));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Internal method that merge sorts the subarray of source from low inclusive to high
+     * exclusive, where other is the array of the same length used for merging. The sorted
+     * subarray ends up in other if intoOther is true, and in source otherwise.
+     */
+    private void mergeSort(T[] source, T[] other, int low, int high, boolean intoOther) {
+        if (high - low <= INSERTION_SORT_THRESHOLD) {
+            insertionSort(source, low, high);
+            if (intoOther) {
+                System.arraycopy(source, low, other, low, high - low);
+            }
+            return;
+        }
+        int middle = (low + high) >>> 1;
+        mergeSort(source, other, low, middle, !intoOther);
+        mergeSort(source, other, middle, high, !intoOther);
+        T[] from = intoOther ? source : other;
+        T[] to = intoOther ? other : source;
+        if (from[middle - 1].compareTo(from[middle]) <= 0) {
+            System.arraycopy(from, low, to, low, high - low);   // The halves are already in order.
+        } else {
+            merge(from, to, low, middle, middle, high, low);
+        }
+    }
+
+    /**
+     * Internal method that sorts the subarray from low inclusive to high exclusive using
+     * insertion sort, moving a hole instead of swapping.
+     */
+    private void insertionSort(T[] array, int low, int high) {
+        for (int i = low + 1; i < high; i++) {
+            T temp = array[i];
+            int j = i;
+            while (j > low && temp.compareTo(array[j - 1]) < 0) {
+                array[j] = array[j - 1];
+                j--;
+            }
+            array[j] = temp;
+        }
+    }
+
+    /**
+     * Internal method that merges the sorted runs of source from leftLow to leftHigh and
+     * from rightLow to rightHigh, all high indices being exclusive, into destination
+     * starting at the index destinationLow. Elements of the left run come first on ties.
+     */
+    private void merge(T[] source, T[] destination, int leftLow, int leftHigh, int rightLow, int rightHigh,
+                       int destinationLow) {
+        while (leftLow < leftHigh && rightLow < rightHigh) {
+            if (source[leftLow].compareTo(source[rightLow]) <= 0) {
+                destination[destinationLow++] = source[leftLow++];
             } else {
-                tmpArray[tmpPos++] = elements[rightPos++];
+                destination[destinationLow++] = source[rightLow++];
             }
         }
-        while (leftPos <= leftEnd) {
-            tmpArray[tmpPos++] = elements[leftPos++];
+        System.arraycopy(source, leftLow, destination, destinationLow, leftHigh - leftLow);
+        destinationLow += leftHigh - leftLow;
+        System.arraycopy(source, rightLow, destination, destinationLow, rightHigh - rightLow);
+    }
+
+    /**
+     * Returns the index of the first element of the sorted subarray from low inclusive
+     * to high exclusive that is greater than or equal to the given value if strict is
+     * false, or strictly greater than it if strict is true.
+     */
+    private int binarySearch(T[] array, int low, int high, T value, boolean strict) {
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            int compare = array[middle].compareTo(value);
+            if (compare < 0 || (strict && compare == 0)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
         }
-        while (rightPos <= rightEnd) {
-            tmpArray[tmpPos++] = elements[rightPos++];
+        return low;
+    }
+
+    /**
+     * Class SortTask is the fork/join task that sorts a subarray for
+     * {@link #parallelMergeSort(int, int)}, like {@link #mergeSort(Comparable[], Comparable[], int, int, boolean)}.
+     */
+    private class SortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final T[] source;
+        private final T[] other;
+        private final int low;
+        private final int high;
+        private final boolean intoOther;
+        private final int threshold;
+
+        SortTask(T[] source, T[] other, int low, int high, boolean intoOther, int threshold) {
+            this.source = source;
+            this.other = other;
+            this.low = low;
+            this.high = high;
+            this.intoOther = intoOther;
+            this.threshold = threshold;
+        }
+
+        @Override
+        protected void compute() {
+            if (high - low <= threshold) {
+                mergeSort(source, other, low, high, intoOther);
+                return;
+            }
+            int middle = (low + high) >>> 1;
+            invokeAll(new SortTask(source, other, low, middle, !intoOther, threshold),
+                    new SortTask(source, other, middle, high, !intoOther, threshold));
+            if (intoOther) {
+                new MergeTask(source, other, low, middle, middle, high, low).compute();
+            } else {
+                new MergeTask(other, source, low, middle, middle, high, low).compute();
+            }
+        }
+    }
+
+    /**
+     * Class MergeTask is the fork/join task that merges two sorted runs for
+     * {@link #parallelMergeSort(int, int)}, like {@link #merge(Comparable[], Comparable[], int, int, int, int, int)}.
+     */
+    private class MergeTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final T[] source;
+        private final T[] destination;
+        private final int leftLow;
+        private final int leftHigh;
+        private final int rightLow;
+        private final int rightHigh;
+        private final int destinationLow;
+
+        MergeTask(T[] source, T[] destination, int leftLow, int leftHigh, int rightLow, int rightHigh,
+                  int destinationLow) {
+            this.source = source;
+            this.destination = destination;
+            this.leftLow = leftLow;
+            this.leftHigh = leftHigh;
+            this.rightLow = rightLow;
+            this.rightHigh = rightHigh;
+            this.destinationLow = destinationLow;
         }
-        // Copies the tmpArray back.
-        for (int i = 0; i < numElements; i++) {
-            elements[rightEnd] = tmpArray[rightEnd];
-            rightEnd--;
+
+        @Override
+        protected void compute() {
+            int leftLength = leftHigh - leftLow;
+            int rightLength = rightHigh - rightLow;
+            if (leftLength + rightLength <= MERGE_THRESHOLD) {
+                merge(source, destination, leftLow, leftHigh, rightLow, rightHigh, destinationLow);
+                return;
+            }
+            int leftSplit;
+            int rightSplit;
+            if (leftLength >= rightLength) {
+                // Elements of the right run equal to the pivot go after it to stay stable.
+                leftSplit = (leftLow + leftHigh) >>> 1;
+                rightSplit = binarySearch(source, rightLow, rightHigh, source[leftSplit], false);
+            } else {
+                // Elements of the left run equal to the pivot go before it to stay stable.
+                rightSplit = (rightLow + rightHigh) >>> 1;
+                leftSplit = binarySearch(source, leftLow, leftHigh, source[rightSplit], true);
+            }
+            int destinationSplit = destinationLow + (leftSplit - leftLow) + (rightSplit - rightLow);
+            invokeAll(new MergeTask(source, destination, leftLow, leftSplit, rightLow, rightSplit, destinationLow),
+                    new MergeTask(source, destination, leftSplit, leftHigh, rightSplit, rightHigh, destinationSplit));
         }
     }
 }
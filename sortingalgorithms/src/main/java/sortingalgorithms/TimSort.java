@@ -0,0 +1,535 @@
+package sortingalgorithms;
+
+import java.util.Comparator;
+
+/**
+ * Custom adaptive natural Merge Sort that can be used with the TimSort Algorithm.
+ *
+ * The array is scanned for runs that are already in order, and strictly descending
+ * runs are reversed. Runs shorter than a minimum length are extended with binary
+ * insertion sort, and then pushed on a stack of pending runs, which are merged while
+ * keeping the lengths on the stack decreasing quickly so that merges stay balanced.
+ * Merging first gallops to skip the prefix of the first run and the suffix of the
+ * second run that are already in place, so two runs that are in order are not merged
+ * at all, and switches to galloping whenever one run keeps winning.
+ *
+ * It is stable, takes O(n) comparisons on sorted input and O(n log n) in the worst
+ * case, and only allocates a temporary array, of at most half the length of the array,
+ * when two runs actually have to be merged. The elements are compared with a
+ * Comparator, which is {@link Comparator#naturalOrder()} for Comparable elements.
+ *
+ * @param <T> The data type of the elements.
+ */
+class TimSort<T> {
+    private static final int MIN_MERGE = 32;            // Shorter arrays are only binary insertion sorted.
+    private static final int MIN_GALLOP = 7;            // The number of wins in a row that starts galloping.
+    private static final int INITIAL_TMP_LENGTH = 256;
+    private final T[] elements;                         // Contains all elements.
+    private final Comparator<? super T> comparator;     // The order of the elements.
+    private T[] tmpArray;                               // Null until two runs have to be merged.
+    private int minGallop;                              // Lower when galloping pays off, higher otherwise.
+    private final int[] runBase;                        // The start of every pending run.
+    private final int[] runLength;                      // The length of every pending run.
+    private int stackSize;                              // The number of pending runs.
+
+    /**
+     * Returns a TimSort of the given elements, in their natural order.
+     *
+     * @param elements the array that contains all the elements to sort.
+     */
+    static <T extends Comparable<? super T>> TimSort<T> naturalOrder(T[] elements) {
+        return new TimSort<>(elements, Comparator.naturalOrder());
+    }
+
+    /**
+     * Constructs a TimSort with the given elements, in the order of the given comparator.
+     *
+     * @param elements the array that contains all the elements to sort.
+     * @param comparator the order of the elements.
+     */
+    TimSort(T[] elements, Comparator<? super T> comparator) {
+        this.elements = elements;
+        this.comparator = comparator;
+        this.minGallop = MIN_GALLOP;
+        int length = elements.length;
+        // The invariants on the run lengths bound how many runs can be pending.
+        int stackLength = length < 120 ? 5 : length < 1542 ? 10 : length < 119151 ? 24 : 49;
+        runBase = new int[stackLength];
+        runLength = new int[stackLength];
+        stackSize = 0;
+    }
+
+    /**
+     * Sorts the array.
+     */
+    void sort() {
+        sort(0, elements.length);
+    }
+
+    /**
+     * Sorts the subarray from low inclusive to high exclusive.
+     */
+    void sort(int low, int high) {
+        int remaining = high - low;
+        if (remaining < 2) {
+            return;
+        }
+        if (remaining < MIN_MERGE) {
+            int initialRunLength = countRunAndMakeAscending(low, high);
+            binarySort(low, high, low + initialRunLength);
+            return;
+        }
+        int minRun = minRunLength(remaining);
+        do {
+            int length = countRunAndMakeAscending(low, high);
+            if (length < minRun) {
+                int forced = Math.min(remaining, minRun);
+                binarySort(low, low + forced, low + length);
+                length = forced;
+            }
+            pushRun(low, length);
+            mergeCollapse();
+            low += length;
+            remaining -= length;
+        } while (remaining != 0);
+        mergeForceCollapse();
+    }
+
+    /**
+     * Sorts the subarray from low inclusive to high exclusive, whose elements before
+     * start are already sorted, by inserting every following element at the position
+     * found with a binary search.
+     */
+    private void binarySort(int low, int high, int start) {
+        if (start == low) {
+            start++;
+        }
+        for (; start < high; start++) {
+            T pivot = elements[start];
+            int left = low;
+            int right = start;
+            while (left < right) {
+                int middle = (left + right) >>> 1;
+                if (comparator.compare(pivot, elements[middle]) < 0) {
+                    right = middle;
+                } else {
+                    left = middle + 1;
+                }
+            }
+            System.arraycopy(elements, left, elements, left + 1, start - left);
+            elements[left] = pivot;
+        }
+    }
+
+    /**
+     * Returns the length of the run that starts at low, reversing it if it is strictly
+     * descending. A run that is not strictly descending may contain equal elements, which
+     * keeps the sort stable.
+     */
+    private int countRunAndMakeAscending(int low, int high) {
+        int runHigh = low + 1;
+        if (runHigh == high) {
+            return 1;
+        }
+        if (comparator.compare(elements[runHigh++], elements[low]) < 0) {
+            while (runHigh < high && comparator.compare(elements[runHigh], elements[runHigh - 1]) < 0) {
+                runHigh++;
+            }
+            reverseRange(low, runHigh);
+        } else {
+            while (runHigh < high && comparator.compare(elements[runHigh], elements[runHigh - 1]) >= 0) {
+                runHigh++;
+            }
+        }
+        return runHigh - low;
+    }
+
+    /**
+     * Reverses the subarray from low inclusive to high exclusive.
+     */
+    private void reverseRange(int low, int high) {
+        high--;
+        while (low < high) {
+            T temp = elements[low];
+            elements[low++] = elements[high];
+            elements[high--] = temp;
+        }
+    }
+
+    /**
+     * Returns the minimum length of a run, between MIN_MERGE / 2 and MIN_MERGE, chosen
+     * so that the number of runs is a power of two or a bit less than one.
+     */
+    private static int minRunLength(int length) {
+        int lowBits = 0;
+        while (length >= MIN_MERGE) {
+            lowBits |= length & 1;
+            length >>= 1;
+        }
+        return length + lowBits;
+    }
+
+    /**
+     * Pushes the given run on the stack of pending runs.
+     */
+    private void pushRun(int base, int length) {
+        runBase[stackSize] = base;
+        runLength[stackSize] = length;
+        stackSize++;
+    }
+
+    /**
+     * Merges pending runs until the length of every run is bigger than the sum of the
+     * lengths of the two runs above it, and bigger than the length of the run above it.
+     */
+    private void mergeCollapse() {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if (n > 0 && runLength[n - 1] <= runLength[n] + runLength[n + 1]
+                    || n > 1 && runLength[n - 2] <= runLength[n] + runLength[n - 1]) {
+                if (runLength[n - 1] < runLength[n + 1]) {
+                    n--;
+                }
+            } else if (runLength[n] > runLength[n + 1]) {
+                break;
+            }
+            mergeAt(n);
+        }
+    }
+
+    /**
+     * Merges every pending run until only one is left.
+     */
+    private void mergeForceCollapse() {
+        while (stackSize > 1) {
+            int n = stackSize - 2;
+            if (n > 0 && runLength[n - 1] < runLength[n + 1]) {
+                n--;
+            }
+            mergeAt(n);
+        }
+    }
+
+    /**
+     * Merges the pending runs at the given index and the one after it. Elements of the
+     * first run that are already before the second run, and elements of the second run
+     * that are already after the first run, are left in place.
+     */
+    private void mergeAt(int index) {
+        int base1 = runBase[index];
+        int length1 = runLength[index];
+        int base2 = runBase[index + 1];
+        int length2 = runLength[index + 1];
+        runLength[index] = length1 + length2;
+        if (index == stackSize - 3) {
+            runBase[index + 1] = runBase[index + 2];
+            runLength[index + 1] = runLength[index + 2];
+        }
+        stackSize--;
+        int skipped = gallopRight(elements[base2], elements, base1, length1, 0);
+        base1 += skipped;
+        length1 -= skipped;
+        if (length1 == 0) {
+            return;
+        }
+        length2 = gallopLeft(elements[base1 + length1 - 1], elements, base2, length2, length2 - 1);
+        if (length2 == 0) {
+            return;
+        }
+        if (length1 <= length2) {
+            mergeLow(base1, length1, base2, length2);
+        } else {
+            mergeHigh(base1, length1, base2, length2);
+        }
+    }
+
+    /**
+     * Returns the position where the given key would be inserted, before any equal element,
+     * in the sorted subarray of the given length starting at base. The search starts near
+     * base + hint, and tries positions at exponentially growing distances before a
+     * binary search.
+     */
+    private int gallopLeft(T key, T[] array, int base, int length, int hint) {
+        int lastOffset = 0;
+        int offset = 1;
+        if (comparator.compare(key, array[base + hint]) > 0) {
+            int maxOffset = length - hint;
+            while (offset < maxOffset && comparator.compare(key, array[base + hint + offset]) > 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            offset = Math.min(offset, maxOffset);
+            lastOffset += hint;
+            offset += hint;
+        } else {
+            int maxOffset = hint + 1;
+            while (offset < maxOffset && comparator.compare(key, array[base + hint - offset]) <= 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            offset = Math.min(offset, maxOffset);
+            int temp = lastOffset;
+            lastOffset = hint - offset;
+            offset = hint - temp;
+        }
+        lastOffset++;
+        while (lastOffset < offset) {
+            int middle = lastOffset + ((offset - lastOffset) >>> 1);
+            if (comparator.compare(key, array[base + middle]) > 0) {
+                lastOffset = middle + 1;
+            } else {
+                offset = middle;
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * Returns the position where the given key would be inserted, after any equal element,
+     * in the sorted subarray of the given length starting at base. Searches like
+     * {@link #gallopLeft}.
+     */
+    private int gallopRight(T key, T[] array, int base, int length, int hint) {
+        int lastOffset = 0;
+        int offset = 1;
+        if (comparator.compare(key, array[base + hint]) < 0) {
+            int maxOffset = hint + 1;
+            while (offset < maxOffset && comparator.compare(key, array[base + hint - offset]) < 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            offset = Math.min(offset, maxOffset);
+            int temp = lastOffset;
+            lastOffset = hint - offset;
+            offset = hint - temp;
+        } else {
+            int maxOffset = length - hint;
+            while (offset < maxOffset && comparator.compare(key, array[base + hint + offset]) >= 0) {
+                lastOffset = offset;
+                offset = (offset << 1) + 1;
+                if (offset <= 0) {
+                    offset = maxOffset;
+                }
+            }
+            offset = Math.min(offset, maxOffset);
+            lastOffset += hint;
+            offset += hint;
+        }
+        lastOffset++;
+        while (lastOffset < offset) {
+            int middle = lastOffset + ((offset - lastOffset) >>> 1);
+            if (comparator.compare(key, array[base + middle]) < 0) {
+                offset = middle;
+            } else {
+                lastOffset = middle + 1;
+            }
+        }
+        return offset;
+    }
+
+    /**
+     * Merges two adjacent runs from left to right, where the first run is not longer than
+     * the second one, its first element is greater than the first element of the second
+     * run, and its last element is greater than every element of the second run. Only the
+     * first run is copied to the temporary array.
+     */
+    private void mergeLow(int base1, int length1, int base2, int length2) {
+        T[] tmp = ensureCapacity(length1);
+        System.arraycopy(elements, base1, tmp, 0, length1);
+        int cursor1 = 0;
+        int cursor2 = base2;
+        int destination = base1;
+        elements[destination++] = elements[cursor2++];
+        if (--length2 == 0) {
+            System.arraycopy(tmp, cursor1, elements, destination, length1);
+            return;
+        }
+        if (length1 == 1) {
+            System.arraycopy(elements, cursor2, elements, destination, length2);
+            elements[destination + length2] = tmp[cursor1];
+            return;
+        }
+        int minGallop = this.minGallop;
+        outer:
+        while (true) {
+            int count1 = 0;                 // The number of times in a row the first run won.
+            int count2 = 0;                 // The number of times in a row the second run won.
+            do {
+                if (comparator.compare(elements[cursor2], tmp[cursor1]) < 0) {
+                    elements[destination++] = elements[cursor2++];
+                    count2++;
+                    count1 = 0;
+                    if (--length2 == 0) {
+                        break outer;
+                    }
+                } else {
+                    elements[destination++] = tmp[cursor1++];
+                    count1++;
+                    count2 = 0;
+                    if (--length1 == 1) {
+                        break outer;
+                    }
+                }
+            } while ((count1 | count2) < minGallop);
+            do {
+                count1 = gallopRight(elements[cursor2], tmp, cursor1, length1, 0);
+                if (count1 != 0) {
+                    System.arraycopy(tmp, cursor1, elements, destination, count1);
+                    destination += count1;
+                    cursor1 += count1;
+                    length1 -= count1;
+                    if (length1 <= 1) {
+                        break outer;
+                    }
+                }
+                elements[destination++] = elements[cursor2++];
+                if (--length2 == 0) {
+                    break outer;
+                }
+                count2 = gallopLeft(tmp[cursor1], elements, cursor2, length2, 0);
+                if (count2 != 0) {
+                    System.arraycopy(elements, cursor2, elements, destination, count2);
+                    destination += count2;
+                    cursor2 += count2;
+                    length2 -= count2;
+                    if (length2 == 0) {
+                        break outer;
+                    }
+                }
+                elements[destination++] = tmp[cursor1++];
+                if (--length1 == 1) {
+                    break outer;
+                }
+                minGallop--;
+            } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+            minGallop = Math.max(minGallop, 0) + 2;     // Penalize leaving galloping mode.
+        }
+        this.minGallop = Math.max(minGallop, 1);
+        if (length1 == 1) {
+            System.arraycopy(elements, cursor2, elements, destination, length2);
+            elements[destination + length2] = tmp[cursor1];
+        } else if (length1 == 0) {
+            throw new IllegalArgumentException("Comparison method violates its general contract!");
+        } else {
+            System.arraycopy(tmp, cursor1, elements, destination, length1);
+        }
+    }
+
+    /**
+     * Merges two adjacent runs from right to left, where the second run is not longer
+     * than the first one, like {@link #mergeLow}. Only the second run is copied to the
+     * temporary array.
+     */
+    private void mergeHigh(int base1, int length1, int base2, int length2) {
+        T[] tmp = ensureCapacity(length2);
+        System.arraycopy(elements, base2, tmp, 0, length2);
+        int cursor1 = base1 + length1 - 1;
+        int cursor2 = length2 - 1;
+        int destination = base2 + length2 - 1;
+        elements[destination--] = elements[cursor1--];
+        if (--length1 == 0) {
+            System.arraycopy(tmp, 0, elements, destination - (length2 - 1), length2);
+            return;
+        }
+        if (length2 == 1) {
+            destination -= length1;
+            cursor1 -= length1;
+            System.arraycopy(elements, cursor1 + 1, elements, destination + 1, length1);
+            elements[destination] = tmp[cursor2];
+            return;
+        }
+        int minGallop = this.minGallop;
+        outer:
+        while (true) {
+            int count1 = 0;                 // The number of times in a row the first run won.
+            int count2 = 0;                 // The number of times in a row the second run won.
+            do {
+                if (comparator.compare(tmp[cursor2], elements[cursor1]) < 0) {
+                    elements[destination--] = elements[cursor1--];
+                    count1++;
+                    count2 = 0;
+                    if (--length1 == 0) {
+                        break outer;
+                    }
+                } else {
+                    elements[destination--] = tmp[cursor2--];
+                    count2++;
+                    count1 = 0;
+                    if (--length2 == 1) {
+                        break outer;
+                    }
+                }
+            } while ((count1 | count2) < minGallop);
+            do {
+                count1 = length1 - gallopRight(tmp[cursor2], elements, base1, length1, length1 - 1);
+                if (count1 != 0) {
+                    destination -= count1;
+                    cursor1 -= count1;
+                    length1 -= count1;
+                    System.arraycopy(elements, cursor1 + 1, elements, destination + 1, count1);
+                    if (length1 == 0) {
+                        break outer;
+                    }
+                }
+                elements[destination--] = tmp[cursor2--];
+                if (--length2 == 1) {
+                    break outer;
+                }
+                count2 = length2 - gallopLeft(elements[cursor1], tmp, 0, length2, length2 - 1);
+                if (count2 != 0) {
+                    destination -= count2;
+                    cursor2 -= count2;
+                    length2 -= count2;
+                    System.arraycopy(tmp, cursor2 + 1, elements, destination + 1, count2);
+                    if (length2 <= 1) {
+                        break outer;
+                    }
+                }
+                elements[destination--] = elements[cursor1--];
+                if (--length1 == 0) {
+                    break outer;
+                }
+                minGallop--;
+            } while (count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+            minGallop = Math.max(minGallop, 0) + 2;     // Penalize leaving galloping mode.
+        }
+        this.minGallop = Math.max(minGallop, 1);
+        if (length2 == 1) {
+            destination -= length1;
+            cursor1 -= length1;
+            System.arraycopy(elements, cursor1 + 1, elements, destination + 1, length1);
+            elements[destination] = tmp[cursor2];
+        } else if (length2 == 0) {
+            throw new IllegalArgumentException("Comparison method violates its general contract!");
+        } else {
+            System.arraycopy(tmp, 0, elements, destination - (length2 - 1), length2);
+        }
+    }
+
+    /**
+     * Returns the temporary array, grown if needed so it has at least the given length.
+     * It grows to powers of two, but never beyond half the length of the array.
+     */
+    private T[] ensureCapacity(int minLength) {
+        if (tmpArray == null || tmpArray.length < minLength) {
+            int newLength = Math.max(minLength, INITIAL_TMP_LENGTH);
+            newLength = Integer.highestOneBit(newLength - 1) << 1;
+            if (newLength < 0) {
+                newLength = minLength;
+            } else {
+                newLength = Math.max(minLength, Math.min(newLength, elements.length >>> 1));
+            }
+            tmpArray = (T[]) new Object[newLength];
+        }
+        return tmpArray;
+    }
+}
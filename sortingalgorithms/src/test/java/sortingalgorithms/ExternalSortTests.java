@@ -0,0 +1,177 @@
+package sortingalgorithms;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class ExternalSortTests {
+
+    /**
+     * Codec of a Long as 8 bytes.
+     */
+    private static class LongCodec implements RecordCodec<Long> {
+        @Override
+        public int recordSize() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public Long decode(ByteBuffer buffer) {
+            return buffer.getLong();
+        }
+
+        @Override
+        public void encode(Long record, ByteBuffer buffer) {
+            buffer.putLong(record);
+        }
+    }
+
+    /**
+     * Record whose order only depends on its key, so that equal records can be told apart by their id.
+     */
+    private static class KeyAndId implements Comparable<KeyAndId> {
+        final int key;
+        final int id;
+
+        KeyAndId(int key, int id) {
+            this.key = key;
+            this.id = id;
+        }
+
+        @Override
+        public int compareTo(KeyAndId other) {
+            return Integer.compare(key, other.key);
+        }
+    }
+
+    /**
+     * Codec of a KeyAndId as 8 bytes.
+     */
+    private static class KeyAndIdCodec implements RecordCodec<KeyAndId> {
+        @Override
+        public int recordSize() {
+            return 2 * Integer.BYTES;
+        }
+
+        @Override
+        public KeyAndId decode(ByteBuffer buffer) {
+            return new KeyAndId(buffer.getInt(), buffer.getInt());
+        }
+
+        @Override
+        public void encode(KeyAndId record, ByteBuffer buffer) {
+            buffer.putInt(record.key).putInt(record.id);
+        }
+    }
+
+    @TempDir
+    Path directory;
+
+    private long[] sortLongs(long[] values, long memoryBudget) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(Long.BYTES * values.length);
+        for (long value : values) {
+            buffer.putLong(value);
+        }
+        Path input = directory.resolve("input");
+        Path output = directory.resolve("output");
+        Files.write(input, buffer.array());
+        new ExternalSort<>(new LongCodec(), memoryBudget, directory).sort(input, output);
+        ByteBuffer sorted = ByteBuffer.wrap(Files.readAllBytes(output));
+        long[] result = new long[sorted.capacity() / Long.BYTES];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = sorted.getLong();
+        }
+        return result;
+    }
+
+    @Test
+    void assert_ExternalSort_EmptyFile_works() throws IOException {
+        assertThat(sortLongs(new long[0], 1024)).isEmpty();
+    }
+
+    @Test
+    void assert_ExternalSort_ThreeRecords_works() throws IOException {
+        assertThat(sortLongs(new long[] {3, -2, 1}, 1024)).containsExactly(-2, 1, 3);
+    }
+
+    @Test
+    void assert_ExternalSort_100000RandomRecords_InOneChunk_Orders_Correctly() throws IOException {
+        Random random = new Random(42);
+        long[] values = new long[100000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextLong();
+        }
+        long[] expected = values.clone();
+        Arrays.sort(expected);
+        assertThat(sortLongs(values, 10_000_000)).containsExactly(expected);
+    }
+
+    @Test
+    void assert_ExternalSort_100000RandomRecords_WithSeveralMergePasses_Orders_Correctly() throws IOException {
+        Random random = new Random(42);
+        long[] values = new long[100000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextLong();
+        }
+        long[] expected = values.clone();
+        Arrays.sort(expected);
+        // Chunks of a few hundred records, and merges of only a few runs at a time.
+        assertThat(sortLongs(values, 4096)).containsExactly(expected);
+    }
+
+    @Test
+    void assert_ExternalSort_TemporaryFiles_AreDeleted() throws IOException {
+        sortLongs(new long[] {5, 4, 3, 2, 1, 0, -1, -2, -3, -4}, 64);
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files).containsExactlyInAnyOrder(directory.resolve("input"), directory.resolve("output"));
+        }
+    }
+
+    @Test
+    void assert_ExternalSort_20000RecordsWithFewKeys_IsStable() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(2 * Integer.BYTES * 20000);
+        for (int i = 0; i < 20000; i++) {
+            buffer.putInt((int) (Math.random() * 10)).putInt(i);
+        }
+        Path input = directory.resolve("input");
+        Path output = directory.resolve("output");
+        Files.write(input, buffer.array());
+        KeyAndIdCodec codec = new KeyAndIdCodec();
+        new ExternalSort<>(codec, 2048, directory).sort(input, output);
+        ByteBuffer sorted = ByteBuffer.wrap(Files.readAllBytes(output));
+        assertThat(sorted.capacity()).isEqualTo(buffer.capacity());
+        KeyAndId previous = codec.decode(sorted);
+        while (sorted.hasRemaining()) {
+            KeyAndId record = codec.decode(sorted);
+            assertThat(record.key).isGreaterThanOrEqualTo(previous.key);
+            if (record.key == previous.key) {
+                assertThat(record.id).isGreaterThan(previous.id);
+            }
+            previous = record;
+        }
+    }
+
+    @Test
+    void assert_ExternalSort_PartialRecord_throwsIllegalArgument() throws IOException {
+        Path input = directory.resolve("input");
+        Files.write(input, new byte[13]);
+        ExternalSort<Long> externalSort = new ExternalSort<>(new LongCodec(), 1024, directory);
+        assertThatThrownBy(() -> externalSort.sort(input, directory.resolve("output")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void assert_ExternalSort_TooSmallBudget_throwsIllegalArgument() {
+        assertThatThrownBy(() -> new ExternalSort<>(new LongCodec(), 16)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,126 @@
+package sortingalgorithms;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PrimitiveSortTests {
+
+    /**----------------------------------- Int Sort Tests -------------------------------**/
+    @Test
+    void assert_IntSort_ThreeElements_works() {
+        int[] array = new int[] {3, -2, 1};
+        PrimitiveSort.sort(array);
+        assertThat(array).containsExactly(-2, 1, 3);
+    }
+
+    @Test
+    void assert_IntSort_100000RandomElements_Orders_Correctly() {
+        Random random = new Random(42);
+        int[] array = new int[100000];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = random.nextInt();
+        }
+        PrimitiveSort.sort(array);
+        assertThat(array).isSorted();
+    }
+
+    /**----------------------------------- Long Sort Tests -------------------------------**/
+    @Test
+    void assert_LongSort_ThreeElements_works() {
+        long[] array = new long[] {Long.MAX_VALUE, Long.MIN_VALUE, 0};
+        PrimitiveSort.sort(array);
+        assertThat(array).containsExactly(Long.MIN_VALUE, 0, Long.MAX_VALUE);
+    }
+
+    @Test
+    void assert_LongSort_100000RandomElements_WithScratch_Orders_Correctly() {
+        Random random = new Random(42);
+        long[] array = new long[100000];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = random.nextLong();
+        }
+        PrimitiveSort.sort(array, new long[array.length]);
+        assertThat(array).isSorted();
+    }
+
+    @Test
+    void assert_LongSort_ShortScratch_throwsIllegalArgument() {
+        long[] array = new long[5000];
+        assertThatThrownBy(() -> PrimitiveSort.sort(array, new long[10])).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**----------------------------------- Double Sort Tests -------------------------------**/
+    @Test
+    void assert_DoubleSort_SpecialValues_Orders_LikeArraysSort() {
+        double[] array = new double[2000];
+        double[] specialValues = {Double.NaN, 0.0, -0.0, -1.5, 1.5, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY};
+        for (int i = 0; i < array.length; i++) {
+            array[i] = specialValues[i % specialValues.length];
+        }
+        double[] expected = array.clone();
+        Arrays.sort(expected);
+        PrimitiveSort.sort(array);
+        assertThat(array).containsExactly(expected);
+    }
+
+    @Test
+    void assert_DoubleSort_20RandomElements_Orders_Correctly() {
+        double[] array = new double[20];
+        for (int i = 0; i < 20; i++) {
+            array[i] = Math.random() * 20 - 10;
+        }
+        PrimitiveSort.sort(array);
+        assertThat(array).isSorted();
+    }
+
+    /**----------------------------------- Parallel Sort Tests -------------------------------**/
+    @Test
+    void assert_ParallelIntSort_100000RandomElements_Orders_Correctly() {
+        Random random = new Random(42);
+        int[] array = new int[100000];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = random.nextInt();
+        }
+        int[] expected = array.clone();
+        Arrays.sort(expected);
+        PrimitiveSort.parallelSort(array, 4);
+        assertThat(array).containsExactly(expected);
+    }
+
+    @Test
+    void assert_ParallelLongSort_100000ElementsWithFewValues_Orders_Correctly() {
+        Random random = new Random(42);
+        long[] array = new long[100000];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = random.nextInt(5) - 2;
+        }
+        long[] expected = array.clone();
+        Arrays.sort(expected);
+        PrimitiveSort.parallelSort(array, 4);
+        assertThat(array).containsExactly(expected);
+    }
+
+    @Test
+    void assert_ParallelDoubleSort_SpecialValues_Orders_LikeArraysSort() {
+        Random random = new Random(42);
+        double[] array = new double[100000];
+        double[] specialValues = {Double.NaN, 0.0, -0.0, -1.5, 1.5, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY};
+        for (int i = 0; i < array.length; i++) {
+            array[i] = i % 2 == 0 ? specialValues[i % specialValues.length] : random.nextGaussian();
+        }
+        double[] expected = array.clone();
+        Arrays.sort(expected);
+        PrimitiveSort.parallelSort(array, 4);
+        assertThat(array).containsExactly(expected);
+    }
+
+    @Test
+    void assert_ParallelSort_NonPositiveParallelism_throwsIllegalArgument() {
+        assertThatThrownBy(() -> PrimitiveSort.parallelSort(new int[10], 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
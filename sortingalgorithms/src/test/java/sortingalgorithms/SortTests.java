@@ -2,7 +2,12 @@ package sortingalgorithms;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 public class SortTests {
 
@@ -114,6 +119,42 @@ public class SortTests {
         assertThat(array).isSorted();
     }
 
+    @Test
+    void assert_HeapSort_10000RandomElements_Orders_Correctly() {
+        Integer[] array = new Integer[10000];
+        for (int i = 0; i < 10000; i++) {
+            array[i] = Integer.valueOf((int) (Math.random() * 100));
+        }
+        Sort sort = new Sort(array);
+        sort.heapSort();
+        assertThat(array).isSorted();
+    }
+
+    @Test
+    void assert_FourAryHeapSort_10000RandomElements_Orders_Correctly() {
+        Integer[] array = new Integer[10000];
+        for (int i = 0; i < 10000; i++) {
+            array[i] = Integer.valueOf((int) (Math.random() * 10000));
+        }
+        Sort sort = new Sort(array);
+        sort.heapSort(4);
+        assertThat(array).isSorted();
+    }
+
+    @Test
+    void assert_FourAryHeapSort_TwoElements_works() {
+        Integer[] array = new Integer[] {2, 1};
+        Sort sort = new Sort(array);
+        sort.heapSort(4);
+        assertThat(array).isSorted();
+    }
+
+    @Test
+    void assert_HeapSort_ArityOne_throwsIllegalArgument() {
+        Sort sort = new Sort(new Integer[] {2, 1});
+        assertThatThrownBy(() -> sort.heapSort(1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
     /**----------------------------------- Merge Sort Tests -------------------------------**/
     @Test
     void assert_MergeSort_OneElement_works() {
@@ -149,4 +190,367 @@ public class SortTests {
         sort.mergeSort();
         assertThat(array).isSorted();
     }
+
+    @Test
+    void assert_MergeSort_WithScratch_10000RandomElements_Orders_Stably() {
+        // Every element is a different String object, so equal elements can be told apart.
+        String[] array = new String[10000];
+        for (int i = 0; i < 10000; i++) {
+            array[i] = String.valueOf((int) (Math.random() * 100));
+        }
+        String[] expected = array.clone();
+        Arrays.sort(expected);
+        Sort sort = new Sort(array);
+        sort.mergeSort(new String[10000]);
+        for (int i = 0; i < 10000; i++) {
+            assertThat(array[i]).isSameAs(expected[i]);
+        }
+    }
+
+    @Test
+    void assert_MergeSort_ShortScratch_throwsIllegalArgument() {
+        Sort sort = new Sort(new Integer[] {3, 2, 1});
+        assertThatThrownBy(() -> sort.mergeSort(new Integer[2])).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void assert_ThreadLocalMergeSort_ReusedBuffer_Orders_Correctly() {
+        for (int length : new int[] {1000, 10, 5000}) {
+            Integer[] array = new Integer[length];
+            for (int i = 0; i < length; i++) {
+                array[i] = Integer.valueOf((int) (Math.random() * length));
+            }
+            Sort sort = new Sort(array);
+            sort.threadLocalMergeSort();
+            assertThat(array).isSorted();
+        }
+    }
+
+    /**----------------------------------- Parallel Merge Sort Tests -------------------------------**/
+    @Test
+    void assert_ParallelMergeSort_OneElement_works() {
+        Integer[] array = new Integer[] {1};
+        Sort sort = new Sort(array);
+        sort.parallelMergeSort(4);
+        assertThat(array).isSorted();
+    }
+
+    @Test
+    void assert_ParallelMergeSort_TwoElements_works() {
+        Integer[] array = new Integer[] {2, 1};
+        Sort sort = new Sort(array);
+        sort.parallelMergeSort(4);
+        assertThat(array).isSorted();
+    }
+
+    @Test
+    void assert_ParallelMergeSort_ThreeElements_works() {
+        Integer[] array = new Integer[] {3, 2, 1};
+        Sort sort = new Sort(array);
+        sort.parallelMergeSort(4);
+        assertThat(array).isSorted();
+    }
+
+    @Test
+    void assert_ParallelMergeSort_100000RandomElements_Orders_Correctly() {
+        Integer[] array = new Integer[100000];
+        for (int i = 0; i < 100000; i++) {
+            array[i] = Integer.valueOf((int) (Math.random() * 1000 + 1));
+        }
+        Sort sort = new Sort(array);
+        sort.parallelMergeSort(4, 1000);
+        assertThat(array).isSorted();
+    }
+
+    /**----------------------------------- Quick Sort Tests -------------------------------**/
+    @Test
+    void assert_QuickSort_OneElement_works() {
+        Integer[] array = new Integer[] {1};
+        Integer[] sorted = array.clone();
+        Arrays.sort(sorted);
+        Sort sort = new Sort(array);
+        sort.quickSort();
+        assertThat(array).containsExactly(sorted);
+    }
+
+    @Test
+    void assert_QuickSort_TwoElements_works() {
+        Integer[] array = new Integer[] {2, 1};
+        Integer[] sorted = array.clone();
+        Arrays.sort(sorted);
+        Sort sort = new Sort(array);
+        sort.quickSort();
+        assertThat(array).containsExactly(sorted);
+    }
+
+    @Test
+    void assert_QuickSort_ThreeElements_works() {
+        Integer[] array = new Integer[] {3, 2, 1};
+        Integer[] sorted = array.clone();
+        Arrays.sort(sorted);
+        Sort sort = new Sort(array);
+        sort.quickSort();
+        assertThat(array).containsExactly(sorted);
+    }
+
+    @Test
+    void assert_QuickSort_20RandomElements_Orders_Correctly() {
+        Integer[] array = new Integer[20];
+        for (int i = 0; i < 20; i++) {
+            array[i] = Integer.valueOf((int) (Math.random() * 20 + 1));
+        }
+        Integer[] sorted = array.clone();
+        Arrays.sort(sorted);
+        Sort sort = new Sort(array);
+        sort.quickSort();
+        assertThat(array).containsExactly(sorted);
+    }
+
+    @Test
+    void assert_QuickSort_10000RandomElements_Orders_Correctly() {
+        Integer[] array = new Integer[10000];
+        for (int i = 0; i < 10000; i++) {
+            array[i] = Integer.valueOf((int) (Math.random() * 1000000));
+        }
+        Integer[] sorted = array.clone();
+        Arrays.sort(sorted);
+        Sort sort = new Sort(array);
+        sort.quickSort();
+        assertThat(array).containsExactly(sorted);
+    }
+
+    @Test
+    void assert_QuickSort_10000ElementsWithFewValues_Orders_Correctly() {
+        Integer[] array = new Integer[10000];
+        for (int i = 0; i < 10000; i++) {
+            array[i] = Integer.valueOf((int) (Math.random() * 3));
+        }
+        Integer[] sorted = array.clone();
+        Arrays.sort(sorted);
+        Sort sort = new Sort(array);
+        sort.quickSort();
+        assertThat(array).containsExactly(sorted);
+    }
+
+    @Test
+    void assert_QuickSort_10000DescendingAndOrganPipeElements_Orders_Correctly() {
+        Integer[] descending = new Integer[10000];
+        Integer[] organPipe = new Integer[10000];
+        for (int i = 0; i < 10000; i++) {
+            descending[i] = Integer.valueOf(10000 - i);
+            organPipe[i] = Integer.valueOf(i < 5000 ? i : 10000 - i);
+        }
+        Integer[] sortedDescending = descending.clone();
+        Integer[] sortedOrganPipe = organPipe.clone();
+        Arrays.sort(sortedDescending);
+        Arrays.sort(sortedOrganPipe);
+        new Sort(descending).quickSort();
+        new Sort(organPipe).quickSort();
+        assertThat(descending).containsExactly(sortedDescending);
+        assertThat(organPipe).containsExactly(sortedOrganPipe);
+    }
+
+    /**----------------------------------- Selection Tests -------------------------------**/
+    @Test
+    void assert_Select_10000RandomElements_Returns_KthSmallest() {
+        Integer[] array = new Integer[10000];
+        for (int i = 0; i < 10000; i++) {
+            array[i] = Integer.valueOf((int) (Math.random() * 1000));
+        }
+        Integer[] sorted = array.clone();
+        Arrays.sort(sorted);
+        Sort sort = new Sort(array);
+        assertThat(sort.select(1234)).isEqualTo(sorted[1234]);
+        for (int i = 0; i < 1234; i++) {
+            assertThat(array[i]).isLessThanOrEqualTo(sorted[1234]);
+        }
+        for (int i = 1235; i < 10000; i++) {
+            assertThat(array[i]).isGreaterThanOrEqualTo(sorted[1234]);
+        }
+    }
+
+    @Test
+    void assert_Select_OutOfBounds_throwsIllegalArgument() {
+        Sort sort = new Sort(new Integer[] {2, 1});
+        assertThatThrownBy(() -> sort.select(2)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void assert_PartialSort_10000RandomElements_Sorts_KSmallest() {
+        Integer[] array = new Integer[10000];
+        for (int i = 0; i < 10000; i++) {
+            array[i] = Integer.valueOf((int) (Math.random() * 1000000));
+        }
+        Integer[] sorted = array.clone();
+        Arrays.sort(sorted);
+        Sort sort = new Sort(array);
+        sort.partialSort(100);
+        assertThat(Arrays.copyOf(array, 100)).containsExactly(Arrays.copyOf(sorted, 100));
+    }
+
+    @Test
+    void assert_Percentiles_1To1000_Returns_NearestRanks() {
+        Integer[] array = new Integer[1000];
+        for (int i = 0; i < 1000; i++) {
+            array[i] = Integer.valueOf(1000 - i);
+        }
+        Sort<Integer> sort = new Sort<>(array);
+        assertThat(sort.percentiles(99, 50, 0, 100, 99.9)).containsExactly(990, 500, 1, 1000, 999);
+        assertThat(sort.percentiles(16.1, 64.9)).containsExactly(161, 649);
+    }
+
+    @Test
+    void assert_Percentiles_NonRoundSizes_Returns_NearestRanks() {
+        assertThat(percentilesOf1To(1001, 50, 99, 99.9, 0.1)).containsExactly(501, 991, 1000, 2);
+        assertThat(percentilesOf1To(5000, 0.14, 50, 99.9)).containsExactly(7, 2500, 4995);
+        assertThat(percentilesOf1To(20000, 32.7, 99.9, 99.99)).containsExactly(6540, 19980, 19998);
+        assertThat(percentilesOf1To(70000, 33.3, 99.9, 99.99)).containsExactly(23310, 69930, 69993);
+        assertThat(percentilesOf1To(7, 50, 99.9, 14.3)).containsExactly(4, 7, 2);
+    }
+
+    private static List<Integer> percentilesOf1To(int n, double... percentiles) {
+        Integer[] array = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            array[i] = Integer.valueOf(n - i);
+        }
+        return new Sort<>(array).percentiles(percentiles);
+    }
+
+    @Test
+    void assert_Percentiles_OutOfRange_throwsIllegalArgument() {
+        Sort sort = new Sort(new Integer[] {2, 1});
+        assertThatThrownBy(() -> sort.percentiles(101)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**----------------------------------- Tim Sort Tests -------------------------------**/
+    @Test
+    void assert_TimSort_OneElement_works() {
+        Integer[] array = new Integer[] {1};
+        Sort sort = new Sort(array);
+        sort.timSort();
+        assertThat(array).isSorted();
+    }
+
+    @Test
+    void assert_TimSort_TwoElements_works() {
+        Integer[] array = new Integer[] {2, 1};
+        Sort sort = new Sort(array);
+        sort.timSort();
+        assertThat(array).isSorted();
+    }
+
+    @Test
+    void assert_TimSort_ThreeElements_works() {
+        Integer[] array = new Integer[] {3, 2, 1};
+        Sort sort = new Sort(array);
+        sort.timSort();
+        assertThat(array).isSorted();
+    }
+
+    @Test
+    void assert_TimSort_20RandomElements_Orders_Correctly() {
+        Integer[] array = new Integer[20];
+        for (int i = 0; i < 20; i++) {
+            array[i] = Integer.valueOf((int) (Math.random() * 20 + 1));
+        }
+        Sort sort = new Sort(array);
+        sort.timSort();
+        assertThat(array).isSorted();
+    }
+
+    @Test
+    void assert_TimSort_10000NearlySortedElements_Orders_Correctly() {
+        Integer[] array = new Integer[10000];
+        for (int i = 0; i < 10000; i++) {
+            array[i] = i % 100 == 0 ? Integer.valueOf((int) (Math.random() * 10000)) : Integer.valueOf(i);
+        }
+        Sort sort = new Sort(array);
+        sort.timSort();
+        assertThat(array).isSorted();
+    }
+
+    /**----------------------------------- Parallel Sample Sort Tests -------------------------------**/
+    @Test
+    void assert_ParallelSampleSort_ThreeElements_works() {
+        Integer[] array = new Integer[] {3, 2, 1};
+        Sort sort = new Sort(array);
+        sort.parallelSampleSort(4);
+        assertThat(array).isSorted();
+    }
+
+    @Test
+    void assert_ParallelSampleSort_100000RandomElements_Orders_Correctly() {
+        Integer[] array = new Integer[100000];
+        for (int i = 0; i < 100000; i++) {
+            array[i] = Integer.valueOf((int) (Math.random() * 100000));
+        }
+        Sort sort = new Sort(array);
+        sort.parallelSampleSort(4);
+        assertThat(array).isSorted();
+    }
+
+    @Test
+    void assert_ParallelSampleSort_100000ElementsWithFewValues_IsStable() {
+        // Every element is a different String object, so equal elements can be told apart.
+        String[] array = new String[100000];
+        for (int i = 0; i < 100000; i++) {
+            array[i] = String.valueOf((int) (Math.random() * 10));
+        }
+        String[] expected = array.clone();
+        Arrays.sort(expected);
+        Sort sort = new Sort(array);
+        sort.parallelSampleSort(3);
+        for (int i = 0; i < 100000; i++) {
+            assertThat(array[i]).isSameAs(expected[i]);
+        }
+    }
+
+    @Test
+    void assert_ParallelSampleSort_NonPositiveParallelism_throwsIllegalArgument() {
+        Sort sort = new Sort(new Integer[] {2, 1});
+        assertThatThrownBy(() -> sort.parallelSampleSort(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**----------------------------------- Comparator and Key Sort Tests -------------------------------**/
+    @Test
+    void assert_ComparatorSort_ReverseOrder_works() {
+        Integer[] array = new Integer[] {1, 3, 2};
+        Sort.sort(array, Comparator.reverseOrder());
+        assertThat(array).containsExactly(3, 2, 1);
+    }
+
+    @Test
+    void assert_ComparatorSort_NullComparator_throwsIllegalArgument() {
+        assertThatThrownBy(() -> Sort.sort(new Integer[] {2, 1}, null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void assert_SortByLong_10000RandomElements_Orders_Stably() {
+        // The key is the length of the String, so Strings of the same length keep their order.
+        String[] array = new String[10000];
+        for (int i = 0; i < 10000; i++) {
+            array[i] = String.valueOf((int) Math.pow(10, Math.random() * 6));
+        }
+        String[] expected = array.clone();
+        Arrays.sort(expected, Comparator.comparingLong(String::length));
+        Sort.sortByLong(array, String::length);
+        assertThat(array).containsExactly(expected);
+    }
+
+    @Test
+    void assert_SortByInt_NegativeKeys_Orders_Stably() {
+        String[] array = new String[] {"a", "b", "c", "d", "e", "f"};
+        int[] keys = new int[] {3, Integer.MIN_VALUE, -1, 3, Integer.MAX_VALUE, -1};
+        List<String> letters = Arrays.asList(array.clone());
+        Sort.sortByInt(array, letter -> keys[letters.indexOf(letter)]);
+        assertThat(array).containsExactly("b", "c", "f", "a", "d", "e");
+    }
+
+    @Test
+    void assert_SortedIndicesByLong_LeavesArrayUnchanged() {
+        Long[] array = new Long[] {30L, -10L, 20L};
+        int[] indices = Sort.sortedIndicesByLong(array, Long::longValue);
+        assertThat(indices).containsExactly(1, 2, 0);
+        assertThat(array).containsExactly(30L, -10L, 20L);
+    }
 }